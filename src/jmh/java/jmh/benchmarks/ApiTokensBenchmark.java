@@ -0,0 +1,62 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jmh.benchmarks;
+
+import jenkins.benchmark.jmh.JmhBenchmark;
+import jenkins.benchmark.jmh.JmhBenchmarkState;
+import org.jenkinsci.plugins.registry.notification.token.ApiTokens;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Checking the API token of a web hook request against a varying number of configured tokens.
+ */
+@JmhBenchmark
+public class ApiTokensBenchmark {
+
+    public static class Tokens extends JmhBenchmarkState {
+        @Param({"1", "10", "100", "1000"})
+        public int tokens;
+
+        String matching;
+
+        @Override
+        public void setup() throws Exception {
+            ApiTokens apiTokens = ApiTokens.get();
+            for (int i = 0; i < tokens; i++) {
+                matching = apiTokens.generateApiToken("token-" + i).getString("value");
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean matching(Tokens state) {
+        return ApiTokens.get().hasMatchingApiToken(state.matching);
+    }
+
+    @Benchmark
+    public boolean notMatching(Tokens state) {
+        return ApiTokens.get().hasMatchingApiToken("0123456789abcdef0123456789abcdef");
+    }
+}
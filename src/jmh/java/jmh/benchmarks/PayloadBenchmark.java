@@ -0,0 +1,79 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jmh.benchmarks;
+
+import jenkins.benchmark.jmh.JmhBenchmark;
+import net.sf.json.JSONObject;
+import org.apache.commons.io.IOUtils;
+import org.jenkinsci.plugins.registry.notification.webhook.RegistryEventDecoder;
+import org.jenkinsci.plugins.registry.notification.webhook.WebHookPayload;
+import org.jenkinsci.plugins.registry.notification.webhook.acr.ACRWebHookPayload;
+import org.jenkinsci.plugins.registry.notification.webhook.dockerhub.DockerHubWebHookPayload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parsing of the Docker Hub and ACR payloads in {@code src/test/resources}, from the request body to the push notifications.
+ * Doesn't need a running Jenkins.
+ */
+@JmhBenchmark
+@State(Scope.Benchmark)
+public class PayloadBenchmark {
+
+    private String dockerHub;
+    private String acr;
+    private byte[] acrBytes;
+
+    @Setup
+    public void setup() throws IOException {
+        dockerHub = resource("/own-repository-payload.json");
+        acr = resource("/acr-payload-valid.json");
+        acrBytes = acr.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String resource(String name) throws IOException {
+        return IOUtils.toString(PayloadBenchmark.class.getResourceAsStream(name), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public WebHookPayload dockerHub() {
+        return new DockerHubWebHookPayload(JSONObject.fromObject(dockerHub));
+    }
+
+    @Benchmark
+    public WebHookPayload acrJson() {
+        return new ACRWebHookPayload(JSONObject.fromObject(acr));
+    }
+
+    @Benchmark
+    public WebHookPayload acrDecoded() throws IOException {
+        return new ACRWebHookPayload(RegistryEventDecoder.decodeEvent(new ByteArrayInputStream(acrBytes), "UTF-8"));
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jmh.benchmarks;
+
+import jenkins.benchmark.jmh.JmhBenchmark;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import org.jenkinsci.plugins.registry.notification.webhook.RegistryEventDecoder;
+import org.jenkinsci.plugins.registry.notification.webhook.WebHookPayload;
+import org.jenkinsci.plugins.registry.notification.webhook.dockerregistry.DockerRegistryWebHookPayload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parsing of registry notification envelopes with a varying number of events,
+ * made from copies of the event in {@code private-registry-payload-1-repository.json} with different tags.
+ * Both the {@link JSONObject} path and the streaming {@link RegistryEventDecoder} are measured.
+ */
+@JmhBenchmark
+@State(Scope.Benchmark)
+public class RegistryPayloadBenchmark {
+
+    @Param({"1", "10", "500"})
+    public int events;
+
+    private String json;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() throws IOException {
+        JSONObject template = JSONObject.fromObject(PayloadBenchmark.resource("/private-registry-payload-1-repository.json"));
+        JSONObject event = template.getJSONArray("events").getJSONObject(0);
+        JSONArray all = new JSONArray();
+        for (int i = 0; i < events; i++) {
+            JSONObject copy = JSONObject.fromObject(event);
+            copy.getJSONObject("target").put("tag", "v" + i);
+            all.add(copy);
+        }
+        JSONObject envelope = new JSONObject();
+        envelope.put("events", all);
+        json = envelope.toString();
+        bytes = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public WebHookPayload json() {
+        return new DockerRegistryWebHookPayload(JSONObject.fromObject(json));
+    }
+
+    @Benchmark
+    public WebHookPayload decoded() throws IOException {
+        return new DockerRegistryWebHookPayload(RegistryEventDecoder.decodeEnvelope(new ByteArrayInputStream(bytes), "UTF-8"));
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jmh.benchmarks;
+
+import hudson.model.FreeStyleProject;
+import hudson.model.TopLevelItem;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import jenkins.benchmark.jmh.JmhBenchmarkState;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.registry.notification.DockerHubTrigger;
+import org.jenkinsci.plugins.registry.notification.TriggerViewFilter;
+import org.jenkinsci.plugins.registry.notification.opt.impl.TriggerOnSpecifiedImageNames;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link DockerHubTrigger#getAllRepoNames()} and {@link TriggerViewFilter#filter} over a varying number of jobs,
+ * every other one with a trigger on one image.
+ */
+@JmhBenchmark
+public class TriggerBenchmark {
+
+    public static class Jobs extends JmhBenchmarkState {
+        @Param({"10", "100", "1000"})
+        public int jobs;
+
+        DockerHubTrigger trigger;
+        List<TopLevelItem> items;
+        TriggerViewFilter filter;
+
+        @Override
+        public void setup() throws Exception {
+            Jenkins jenkins = getJenkins();
+            for (int i = 0; i < jobs; i++) {
+                FreeStyleProject project = jenkins.createProject(FreeStyleProject.class, "job-" + i);
+                if (i % 2 == 0) {
+                    DockerHubTrigger t = new DockerHubTrigger(new TriggerOnSpecifiedImageNames("org/image-" + i, "org/base"));
+                    project.addTrigger(t);
+                    trigger = t;
+                }
+            }
+            items = new ArrayList<>(jenkins.getItems());
+            filter = new TriggerViewFilter(Collections.singletonList("org/image-1.*"));
+        }
+    }
+
+    @Benchmark
+    public Set<String> repoNamesMemoized(Jobs state) {
+        return state.trigger.getAllRepoNames();
+    }
+
+    @Benchmark
+    public Set<String> repoNamesComputed(Jobs state) {
+        state.trigger.invalidateRepoNames();
+        return state.trigger.getAllRepoNames();
+    }
+
+    @Benchmark
+    public List<TopLevelItem> viewFilter(Jobs state) {
+        return state.filter.filter(Collections.<TopLevelItem>emptyList(), state.items, null);
+    }
+}
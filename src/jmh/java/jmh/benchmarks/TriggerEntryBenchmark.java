@@ -0,0 +1,82 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jmh.benchmarks;
+
+import hudson.model.Fingerprint;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import jenkins.benchmark.jmh.JmhBenchmarkState;
+import org.jenkinsci.plugins.registry.notification.TriggerStore;
+import org.jenkinsci.plugins.registry.notification.TriggerStore.TriggerEntry;
+import org.jenkinsci.plugins.registry.notification.TriggerStore.TriggerEntry.RunEntry;
+import org.jenkinsci.plugins.registry.notification.webhook.PushNotification;
+import org.jenkinsci.plugins.registry.notification.webhook.dockerhub.DockerHubWebHookPayload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Updates of a {@link TriggerEntry} for one push triggering a varying number of jobs:
+ * every build starting and finishing, and looking up the build of a job.
+ */
+@JmhBenchmark
+public class TriggerEntryBenchmark {
+
+    public static class FanOut extends JmhBenchmarkState {
+        @Param({"1", "10", "100", "1000"})
+        public int fanOut;
+
+        PushNotification push;
+        Fingerprint fingerprint;
+        String[] jobNames;
+        TriggerEntry full;
+
+        @Override
+        public void setup() throws Exception {
+            push = new DockerHubWebHookPayload("org/image").getPushNotifications().get(0);
+            fingerprint = TriggerStore.getInstance().getBackend().getOrCreate(push, push.sha()).getFingerprint();
+            jobNames = new String[fanOut];
+            full = new TriggerEntry(fingerprint, push);
+            for (int i = 0; i < fanOut; i++) {
+                jobNames[i] = "folder/job-" + i;
+                full.putEntry(new RunEntry(jobNames[i], "1"));
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean startAndFinish(FanOut state) {
+        TriggerEntry entry = new TriggerEntry(state.fingerprint, state.push);
+        for (String jobName : state.jobNames) {
+            entry.putEntry(new RunEntry(jobName, "1"));
+        }
+        for (String jobName : state.jobNames) {
+            entry.getEntry(jobName).setDone(true);
+        }
+        return entry.areAllDone();
+    }
+
+    @Benchmark
+    public RunEntry lookup(FanOut state) {
+        return state.full.getEntry(state.jobNames[state.fanOut / 2]);
+    }
+}
@@ -27,17 +27,25 @@ import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
 import hudson.ExtensionList;
+import hudson.model.Cause;
 import hudson.model.Job;
+import hudson.model.Queue;
 import hudson.model.Run;
 import hudson.model.TaskListener;
 import hudson.model.listeners.RunListener;
+import hudson.model.queue.QueueListener;
 import jenkins.model.Jenkins;
+import jenkins.util.Timer;
 import org.jenkinsci.plugins.registry.notification.webhook.PushNotification;
 import org.jenkinsci.plugins.registry.notification.webhook.WebHookCause;
 import org.jenkinsci.plugins.registry.notification.webhook.dockerhub.DockerHubCallbackPayload;
 import org.jenkinsci.plugins.registry.notification.webhook.dockerhub.DockerHubWebHookCause;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -54,33 +62,88 @@ public class Coordinator extends RunListener<Run<?, ?>> {
         TriggerStore.getInstance().triggered(pushNotification, job);
     }
 
+    /**
+     * All jobs scheduled for one push, recorded together.
+     *
+     * @param jobs             the scheduled jobs
+     * @param pushNotification the push
+     */
+    public void onTriggered(@NonNull List<? extends Job<?, ?>> jobs, @NonNull PushNotification pushNotification) {
+        if (logger.isLoggable(Level.FINER)) {
+            for (Job<?, ?> job : jobs) {
+                logger.log(Level.FINER, "Job {0} triggered for payload: {1}", new Object[]{job.getFullDisplayName(), pushNotification});
+            }
+        }
+        TriggerStore.getInstance().triggered(pushNotification, jobs);
+    }
+
+    /**
+     * The queue item of a triggered job was cancelled before a build started.
+     * When that was the last outstanding run of the push, the callback is sent for the builds that did run.
+     *
+     * @param job              the job
+     * @param pushNotification the push
+     */
+    public void onCancelled(@NonNull Job<?, ?> job, @NonNull PushNotification pushNotification) {
+        logger.log(Level.FINER, "Job {0} cancelled for payload: {1}", new Object[]{job.getFullDisplayName(), pushNotification});
+        TriggerStore.TriggerEntry entry = TriggerStore.getInstance().cancelled(pushNotification, job);
+        if (entry != null && entry.areAllDone()) {
+            Run<?, ?> last = null;
+            for (TriggerStore.TriggerEntry.RunEntry runEntry : entry.getEntries()) {
+                Run<?, ?> run = runEntry.getRun();
+                if (run != null) {
+                    last = run;
+                }
+            }
+            if (last == null) {
+                logger.log(Level.FINE, "No builds ran for [{0}], no callback to send", pushNotification);
+                return;
+            }
+            try {
+                sendResponse(pushNotification, last);
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Failed to update Docker Hub!", e);
+            }
+        }
+    }
+
+    /**
+     * Pushes whose queue items were merged into one build all get their causes on that build.
+     */
     @Override
     public void onStarted(@NonNull Run<?, ?> run, @NonNull TaskListener listener) {
-        DockerHubWebHookCause cause = run.getCause(DockerHubWebHookCause.class);
-        if (cause != null) {
-            logger.log(Level.FINER, "Build {0} started for cause: {1}", new Object[]{run.getFullDisplayName(), cause});
-            TriggerStore.getInstance().started(cause.getPushNotification(), run);
+        for (Cause c : run.getCauses()) {
+            if (c instanceof DockerHubWebHookCause) {
+                DockerHubWebHookCause cause = (DockerHubWebHookCause) c;
+                logger.log(Level.FINER, "Build {0} started for cause: {1}", new Object[]{run.getFullDisplayName(), cause});
+                TriggerStore.getInstance().started(cause.getPushNotification(), run);
+            }
         }
     }
 
     @Override
     public void onFinalized(@NonNull Run<?, ?> run) {
-        WebHookCause cause = run.getCause(WebHookCause.class);
-        if (cause != null) {
-            logger.log(Level.FINER, "Build {0} done for cause: [{1}]", new Object[]{run.getFullDisplayName(), cause});
-            TriggerStore.TriggerEntry entry = TriggerStore.getInstance().finalized(cause.getPushNotification(), run);
-            if (entry != null) {
-                if(entry.areAllDone()) {
-                    logger.log(Level.FINE, "All builds for [{0}] are done, preparing callback to Docker Hub", cause);
-                    try {
-                        sendResponse(cause.getPushNotification(), run);
-                    } catch (Exception e) {
-                        logger.log(Level.SEVERE, "Failed to update Docker Hub!", e);
-                    }
+        for (Cause c : run.getCauses()) {
+            if (c instanceof WebHookCause) {
+                finalized(run, (WebHookCause) c);
+            }
+        }
+    }
+
+    private void finalized(@NonNull Run<?, ?> run, @NonNull WebHookCause cause) {
+        logger.log(Level.FINER, "Build {0} done for cause: [{1}]", new Object[]{run.getFullDisplayName(), cause});
+        TriggerStore.TriggerEntry entry = TriggerStore.getInstance().finalized(cause.getPushNotification(), run);
+        if (entry != null) {
+            if(entry.areAllDone()) {
+                logger.log(Level.FINE, "All builds for [{0}] are done, preparing callback to Docker Hub", cause);
+                try {
+                    sendResponse(cause.getPushNotification(), run);
+                } catch (Exception e) {
+                    logger.log(Level.SEVERE, "Failed to update Docker Hub!", e);
                 }
-            } else {
-                logger.log(Level.INFO, "Failed to do final evaluation of builds for cause [{0}]", cause);
             }
+        } else {
+            logger.log(Level.INFO, "Failed to do final evaluation of builds for cause [{0}]", cause);
         }
     }
 
@@ -108,5 +171,41 @@ public class Coordinator extends RunListener<Run<?, ?>> {
         return null;
     }
 
+    /**
+     * Finishes the runs of queue items that are cancelled, they would otherwise stay outstanding for ever.
+     */
+    @Extension
+    @Restricted(NoExternalUse.class)
+    public static class QueueListenerImpl extends QueueListener {
+        @Override
+        public void onLeft(Queue.LeftItem li) {
+            if (!li.isCancelled() || !(li.task instanceof Job)) {
+                return;
+            }
+            final Job<?, ?> job = (Job<?, ?>) li.task;
+            final List<PushNotification> pushes = new ArrayList<>();
+            for (Cause cause : li.getCauses()) {
+                if (cause instanceof WebHookCause) {
+                    pushes.add(((WebHookCause) cause).getPushNotification());
+                }
+            }
+            if (pushes.isEmpty()) {
+                return;
+            }
+            // onLeft is called with the queue lock held
+            Timer.get().submit(new Runnable() {
+                @Override
+                public void run() {
+                    Coordinator coordinator = getInstance();
+                    if (coordinator != null) {
+                        for (PushNotification push : pushes) {
+                            coordinator.onCancelled(job, push);
+                        }
+                    }
+                }
+            });
+        }
+    }
+
     private static final Logger logger = Logger.getLogger(Coordinator.class.getName());
 }
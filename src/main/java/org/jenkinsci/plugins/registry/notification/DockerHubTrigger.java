@@ -39,7 +39,10 @@ import hudson.util.DescribableList;
 import hudson.util.XStream2;
 import jenkins.model.Jenkins;
 import jenkins.model.ParameterizedJobMixIn;
+import net.jcip.annotations.GuardedBy;
 import net.sf.json.JSONObject;
+import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.plugins.registry.notification.metrics.Metrics;
 import org.jenkinsci.plugins.registry.notification.opt.TriggerOption;
 import org.jenkinsci.plugins.registry.notification.opt.TriggerOptionDescriptor;
 import org.jenkinsci.plugins.registry.notification.opt.impl.TriggerForAllUsedInJob;
@@ -56,10 +59,12 @@ import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -68,8 +73,30 @@ import java.util.logging.Logger;
  */
 public class DockerHubTrigger extends Trigger<Job<?, ?>> {
 
+    private static final LongAdder REPO_NAMES_HITS = new LongAdder();
+    private static final LongAdder REPO_NAMES_MISSES = new LongAdder();
+
+    static {
+        Metrics.counter(Metrics.REPO_NAMES_CACHE_HITS, REPO_NAMES_HITS::sum);
+        Metrics.counter(Metrics.REPO_NAMES_CACHE_MISSES, REPO_NAMES_MISSES::sum);
+    }
+
     private List<TriggerOption> options;
 
+    /**
+     * Memoized {@link #getAllRepoNames()}, null until computed or after {@link #invalidateRepoNames()}.
+     */
+    private transient volatile Set<String> allRepoNames;
+    /**
+     * Incremented on each invalidation so that a computation racing with it is not memoized.
+     */
+    @GuardedBy("this")
+    private transient int repoNamesGeneration;
+    /**
+     * Compiled {@link #getAllRepoPatterns()}, null until needed or after {@link #invalidateRepoNames()}.
+     */
+    private transient volatile RepoPatternTrie<String> repoPatterns;
+
     @DataBoundConstructor
     public DockerHubTrigger(List<TriggerOption> options) {
         this.options = options;
@@ -82,7 +109,20 @@ public class DockerHubTrigger extends Trigger<Job<?, ?>> {
     @Override
     public void start(Job job, boolean newInstance) {
         this.job = job;
+        invalidateRepoNames();
         // TODO register jenkins instance to dockerhub hook
+        TriggerIndex index = TriggerIndex.getInstance();
+        if (index != null && job != null) {
+            index.index(job.getFullName(), getAllRepoNames(), getAllRepoPatterns());
+        }
+    }
+
+    @Override
+    public void stop() {
+        TriggerIndex index = TriggerIndex.getInstance();
+        if (index != null && job != null) {
+            index.remove(job.getFullName());
+        }
     }
 
     public List<TriggerOption> getOptions() {
@@ -97,19 +137,129 @@ public class DockerHubTrigger extends Trigger<Job<?, ?>> {
     @DataBoundSetter
     public void setOptions(List<TriggerOption> options) {
         this.options = options;
+        invalidateRepoNames();
     }
 
+    /**
+     * All repository names the job is triggered by, according to all {@link #getOptions()}.
+     * The names are computed once and then reused until {@link #invalidateRepoNames()}.
+     *
+     * @return an unmodifiable set of the names
+     */
     @NonNull
     public Set<String> getAllRepoNames() {
-        Set<String> all = new HashSet<String>();
+        Set<String> all = allRepoNames;
+        if (all != null) {
+            REPO_NAMES_HITS.increment();
+            return all;
+        }
+        REPO_NAMES_MISSES.increment();
+        int generation;
+        synchronized (this) {
+            generation = repoNamesGeneration;
+        }
+        Set<String> computed = new HashSet<String>();
         if (options != null) {
             for (TriggerOption option : options) {
-                all.addAll(option.getRepoNames(this.job));
+                for (String name : option.getRepoNames(this.job)) {
+                    if (name != null) {
+                        computed.add(name.intern());
+                    }
+                }
+            }
+        }
+        // keeps the iteration order of the set the names were collected in
+        all = Collections.unmodifiableSet(new LinkedHashSet<String>(computed));
+        synchronized (this) {
+            if (generation == repoNamesGeneration) {
+                allRepoNames = all;
             }
         }
         return all;
     }
 
+    /**
+     * All glob patterns of repository names the job is triggered by, according to all {@link #getOptions()}.
+     *
+     * @return the patterns
+     * @see RepoPatternTrie
+     */
+    @NonNull
+    public Set<String> getAllRepoPatterns() {
+        Set<String> all = new LinkedHashSet<String>();
+        if (options != null) {
+            for (TriggerOption option : options) {
+                for (String pattern : option.getRepoPatterns(this.job)) {
+                    if (!StringUtils.isBlank(pattern)) {
+                        all.add(pattern.trim());
+                    }
+                }
+            }
+        }
+        return all;
+    }
+
+    /**
+     * If a push to the repository should trigger the job,
+     * i.e. it is one of {@link #getAllRepoNames()} or matches one of {@link #getAllRepoPatterns()}.
+     *
+     * @param repoName the repository name of the push
+     * @return true if so
+     */
+    public boolean isTriggeredBy(@CheckForNull String repoName) {
+        if (repoName == null) {
+            return false;
+        }
+        if (getAllRepoNames().contains(repoName)) {
+            return true;
+        }
+        RepoPatternTrie<String> patterns = repoPatterns;
+        if (patterns == null) {
+            int generation;
+            synchronized (this) {
+                generation = repoNamesGeneration;
+            }
+            patterns = new RepoPatternTrie<String>();
+            for (String pattern : getAllRepoPatterns()) {
+                patterns.add(pattern, pattern);
+            }
+            synchronized (this) {
+                if (generation == repoNamesGeneration) {
+                    repoPatterns = patterns;
+                }
+            }
+        }
+        return patterns.size() > 0 && patterns.matches(repoName);
+    }
+
+    /**
+     * Forgets the memoized {@link #getAllRepoNames()} and compiled {@link #getAllRepoPatterns()},
+     * e.g. when the job configuration has changed or a build might have discovered new images.
+     */
+    public synchronized void invalidateRepoNames() {
+        repoNamesGeneration++;
+        allRepoNames = null;
+        repoPatterns = null;
+    }
+
+    /**
+     * Number of times {@link #getAllRepoNames()} was served from memory, by all triggers.
+     *
+     * @return the number of hits
+     */
+    public static long getRepoNamesCacheHits() {
+        return REPO_NAMES_HITS.sum();
+    }
+
+    /**
+     * Number of times {@link #getAllRepoNames()} had to be computed, by all triggers.
+     *
+     * @return the number of misses
+     */
+    public static long getRepoNamesCacheMisses() {
+        return REPO_NAMES_MISSES.sum();
+    }
+
     @CheckForNull
     public static DockerHubTrigger getTrigger(ParameterizedJobMixIn.ParameterizedJob job) {
         Jenkins jenkins = Jenkins.getInstance();
@@ -31,11 +31,14 @@ import hudson.model.EnvironmentContributor;
 import hudson.model.ParameterValue;
 import hudson.model.Run;
 import hudson.model.TaskListener;
+import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.plugins.registry.notification.webhook.PushNotification;
 import org.jenkinsci.plugins.registry.notification.webhook.WebHookCause;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -51,10 +54,16 @@ public class EnvContributor extends EnvironmentContributor {
     public void buildEnvironmentFor(@NonNull Run r, @NonNull EnvVars envs, @NonNull TaskListener listener) throws IOException, InterruptedException {
         WebHookCause cause = (WebHookCause)r.getCause(WebHookCause.class);
         if (cause != null) {
-            Set<ParameterValue> parameters = cause.getPushNotification().getRunParameters();
+            PushNotification pushNotification = cause.getPushNotification();
+            Set<ParameterValue> parameters = pushNotification.getRunParameters();
             for (ParameterValue parameter : parameters) {
                 parameter.buildEnvironment(r, envs);
             }
+            // like the other values of the push this is not a build parameter, which the job would have to define
+            List<String> tags = pushNotification.getCoalescedTags();
+            if (!tags.isEmpty()) {
+                envs.put(PushNotification.KEY_TAGS, StringUtils.join(tags, ","));
+            }
         }
     }
 }
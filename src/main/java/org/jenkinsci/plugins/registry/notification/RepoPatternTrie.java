@@ -0,0 +1,296 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import net.jcip.annotations.GuardedBy;
+import org.apache.commons.lang.StringUtils;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Glob patterns of repository names compiled into one trie of {@code /} separated segments.
+ *
+ * A segment of a pattern can be a literal, contain {@code *} (any characters within the segment) and {@code ?}
+ * (one character), or be {@code **} which matches any number of segments, including none.
+ * E.g. {@code registry.local/team-*}{@code /base} or {@code myorg/**}.
+ * Each pattern maps to a set of values, and looking up a repository name walks the trie segment by segment,
+ * so the cost depends on the length of the name and the number of wildcard edges on the way, not on the number of patterns.
+ *
+ * @param <V> the type of the values
+ */
+@Restricted(NoExternalUse.class)
+public class RepoPatternTrie<V> {
+    private static final String SEPARATOR = "/";
+    private static final String ANY_SEGMENTS = "**";
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    @GuardedBy("lock")
+    private final Node<V> root = new Node<>(null);
+    @GuardedBy("lock")
+    private int size = 0;
+
+    /**
+     * If the string contains any glob characters.
+     *
+     * @param pattern the string
+     * @return true if it is a pattern and not a literal name
+     */
+    public static boolean isPattern(@CheckForNull String pattern) {
+        return pattern != null && (pattern.indexOf('*') >= 0 || pattern.indexOf('?') >= 0);
+    }
+
+    /**
+     * Adds a value for the pattern.
+     *
+     * @param pattern the pattern
+     * @param value   the value
+     */
+    public void add(@NonNull String pattern, @NonNull V value) {
+        String[] segments = split(pattern);
+        if (segments.length == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Node<V> node = root;
+            for (String segment : segments) {
+                node = node.child(segment, true);
+            }
+            if (node.values.add(value)) {
+                size++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a value for the pattern, and the nodes that are no longer needed.
+     *
+     * @param pattern the pattern
+     * @param value   the value
+     */
+    public void remove(@NonNull String pattern, @NonNull V value) {
+        String[] segments = split(pattern);
+        if (segments.length == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            List<Node<V>> path = new ArrayList<>(segments.length + 1);
+            Node<V> node = root;
+            path.add(node);
+            for (String segment : segments) {
+                node = node.child(segment, false);
+                if (node == null) {
+                    return;
+                }
+                path.add(node);
+            }
+            if (!node.values.remove(value)) {
+                return;
+            }
+            size--;
+            for (int i = path.size() - 1; i > 0; i--) {
+                Node<V> child = path.get(i);
+                if (!child.isEmpty()) {
+                    break;
+                }
+                path.get(i - 1).removeChild(child);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The values of all patterns matching the repository name.
+     *
+     * @param repoName the name
+     * @return the values, empty if none
+     */
+    @NonNull
+    public Set<V> match(@CheckForNull String repoName) {
+        String[] segments = split(repoName);
+        if (segments.length == 0) {
+            return Collections.emptySet();
+        }
+        Set<V> result = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            match(root, segments, 0, result);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * If any pattern matches the repository name.
+     *
+     * @param repoName the name
+     * @return true if so
+     */
+    public boolean matches(@CheckForNull String repoName) {
+        return !match(repoName).isEmpty();
+    }
+
+    /**
+     * Number of pattern and value pairs.
+     *
+     * @return the size
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @GuardedBy("lock")
+    private static <V> void match(@NonNull Node<V> node, @NonNull String[] segments, int index, @NonNull Set<V> result) {
+        if (node.anySegments != null) {
+            // ** consumes zero or more of the remaining segments
+            for (int i = index; i <= segments.length; i++) {
+                match(node.anySegments, segments, i, result);
+            }
+        }
+        if (index == segments.length) {
+            result.addAll(node.values);
+            return;
+        }
+        String segment = segments[index];
+        Node<V> literal = node.literals.get(segment);
+        if (literal != null) {
+            match(literal, segments, index + 1, result);
+        }
+        for (Node<V> glob : node.globs.values()) {
+            if (glob.matcher.matcher(segment).matches()) {
+                match(glob, segments, index + 1, result);
+            }
+        }
+    }
+
+    @NonNull
+    private static String[] split(@CheckForNull String name) {
+        if (StringUtils.isBlank(name)) {
+            return new String[0];
+        }
+        return StringUtils.split(name.trim(), SEPARATOR);
+    }
+
+    /**
+     * Compiles a segment with {@code *} and {@code ?} into a regular expression.
+     */
+    @NonNull
+    static Pattern compileSegment(@NonNull String segment) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : segment.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? "[^/]*" : "[^/]");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static final class Node<V> {
+        /**
+         * The segment of the edge to this node.
+         */
+        @CheckForNull
+        private final String segment;
+        /**
+         * For glob segments, how to match it.
+         */
+        @CheckForNull
+        private final Pattern matcher;
+        private final Map<String, Node<V>> literals = new HashMap<>();
+        private final Map<String, Node<V>> globs = new HashMap<>();
+        @CheckForNull
+        private Node<V> anySegments;
+        private final Set<V> values = new HashSet<>();
+
+        Node(@CheckForNull String segment) {
+            this.segment = segment;
+            this.matcher = segment != null && !ANY_SEGMENTS.equals(segment) && isPattern(segment) ? compileSegment(segment) : null;
+        }
+
+        @CheckForNull
+        Node<V> child(@NonNull String segment, boolean create) {
+            Node<V> child;
+            if (ANY_SEGMENTS.equals(segment)) {
+                if (anySegments == null && create) {
+                    anySegments = new Node<>(segment);
+                }
+                return anySegments;
+            }
+            Map<String, Node<V>> edges = isPattern(segment) ? globs : literals;
+            child = edges.get(segment);
+            if (child == null && create) {
+                child = new Node<>(segment);
+                edges.put(segment, child);
+            }
+            return child;
+        }
+
+        void removeChild(@NonNull Node<V> child) {
+            if (child == anySegments) {
+                anySegments = null;
+            } else if (child.matcher != null) {
+                globs.remove(child.segment);
+            } else {
+                literals.remove(child.segment);
+            }
+        }
+
+        boolean isEmpty() {
+            return values.isEmpty() && literals.isEmpty() && globs.isEmpty() && anySegments == null;
+        }
+    }
+}
@@ -36,6 +36,8 @@ import java.util.Collections;
 
 /**
  * Extracts the explicitly stated images used by {@link DockerHubTrigger}.
+ * Repository patterns, see {@link DockerHubTrigger#getAllRepoPatterns()}, are left out as they do not name an image.
+ * Neither are the names of the other options, as those are in turn extracted from the job.
  *
  * @author Robert Sandell &lt;rsandell@cloudbees.com&gt;.
  * @see DockerHubTrigger#getAllRepoNames()
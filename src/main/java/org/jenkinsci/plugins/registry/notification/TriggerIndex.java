@@ -0,0 +1,398 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.model.Item;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import jenkins.model.Jenkins;
+import jenkins.model.ParameterizedJobMixIn;
+import net.jcip.annotations.GuardedBy;
+import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.plugins.registry.notification.opt.TriggerOption;
+import org.jenkinsci.plugins.registry.notification.opt.impl.TriggerForAllUsedInJob;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Index of which jobs are triggered by which repository name.
+ *
+ * Lets a web hook look up the jobs interested in a push directly instead of walking every item in Jenkins.
+ * It is maintained by {@link DockerHubTrigger#start(Job, boolean)}/{@link DockerHubTrigger#stop()}
+ * and the item listeners below, and rebuilt in full once all jobs are loaded.
+ */
+@Extension
+@Restricted(NoExternalUse.class)
+public class TriggerIndex {
+    private static final Logger logger = Logger.getLogger(TriggerIndex.class.getName());
+
+    /**
+     * Normalized repository name to the full names of the jobs triggered by it. The values are immutable
+     * and replaced on change so that lookups can be done without locking.
+     */
+    private final Map<String, Set<String>> jobsByRepo = new ConcurrentHashMap<>();
+
+    /**
+     * Job full name to the normalized repository names it is currently indexed under.
+     */
+    @GuardedBy("this")
+    private final Map<String, Set<String>> reposByJob = new HashMap<>();
+
+    /**
+     * The repository name patterns of all jobs, to the full names of the jobs triggered by them.
+     */
+    private final RepoPatternTrie<String> jobsByPattern = new RepoPatternTrie<>();
+
+    /**
+     * Job full name to the patterns it is currently indexed under.
+     */
+    @GuardedBy("this")
+    private final Map<String, Set<String>> patternsByJob = new HashMap<>();
+
+    private volatile boolean ready = false;
+
+    /**
+     * The singleton instance.
+     *
+     * @return the index, or null if Jenkins isn't running.
+     */
+    @CheckForNull
+    public static TriggerIndex getInstance() {
+        if (Jenkins.getInstanceOrNull() == null) {
+            return null;
+        }
+        ExtensionList<TriggerIndex> list = ExtensionList.lookup(TriggerIndex.class);
+        return list.isEmpty() ? null : list.get(0);
+    }
+
+    /**
+     * If the index has been fully built and can be trusted for lookups.
+     *
+     * @return true when all jobs have been loaded and indexed.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * The jobs that might be triggered by a push to the given repository.
+     * The caller is expected to run as {@link ACL#SYSTEM2} and to verify the trigger configuration of each candidate.
+     *
+     * @param repoName the repository name of the push
+     * @return the candidate jobs
+     */
+    @NonNull
+    public List<ParameterizedJobMixIn.ParameterizedJob> getJobs(@CheckForNull String repoName) {
+        String key = normalize(repoName);
+        if (key == null) {
+            return Collections.emptyList();
+        }
+        Set<String> names = jobsByRepo.get(key);
+        Set<String> matching = jobsByPattern.match(key);
+        if (!matching.isEmpty()) {
+            if (names != null) {
+                matching.addAll(names);
+            }
+            names = matching;
+        }
+        if (names == null || names.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Jenkins jenkins = Jenkins.get();
+        List<ParameterizedJobMixIn.ParameterizedJob> jobs = new ArrayList<>(names.size());
+        for (String name : names) {
+            Job job = jenkins.getItemByFullName(name, Job.class);
+            if (job instanceof ParameterizedJobMixIn.ParameterizedJob) {
+                jobs.add((ParameterizedJobMixIn.ParameterizedJob)job);
+            } else {
+                logger.log(Level.FINE, "Indexed job {0} is gone", name);
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * (Re)indexes the job according to its current {@link DockerHubTrigger} configuration.
+     *
+     * @param job the job
+     */
+    public void reindex(@NonNull Job<?, ?> job) {
+        DockerHubTrigger trigger = null;
+        if (job instanceof ParameterizedJobMixIn.ParameterizedJob) {
+            trigger = DockerHubTrigger.getTrigger((ParameterizedJobMixIn.ParameterizedJob)job);
+        }
+        if (trigger == null) {
+            remove(job.getFullName());
+        } else {
+            trigger.invalidateRepoNames();
+            index(job.getFullName(), trigger.getAllRepoNames(), trigger.getAllRepoPatterns());
+        }
+    }
+
+    /**
+     * Sets the repository names that the job is triggered by.
+     *
+     * @param jobFullName the full name of the job
+     * @param repoNames   the repository names
+     */
+    public void index(@NonNull String jobFullName, @NonNull Collection<String> repoNames) {
+        index(jobFullName, repoNames, Collections.<String>emptySet());
+    }
+
+    /**
+     * Sets the repository names and name patterns that the job is triggered by.
+     *
+     * @param jobFullName the full name of the job
+     * @param repoNames   the repository names
+     * @param patterns    the repository name patterns
+     * @see RepoPatternTrie
+     */
+    public synchronized void index(@NonNull String jobFullName, @NonNull Collection<String> repoNames,
+                                   @NonNull Collection<String> patterns) {
+        indexPatterns(jobFullName, patterns);
+        Set<String> normalized = new HashSet<>();
+        for (String name : repoNames) {
+            String key = normalize(name);
+            if (key != null) {
+                normalized.add(key);
+            }
+        }
+        Set<String> previous = reposByJob.put(jobFullName, normalized);
+        if (previous != null) {
+            for (String repo : previous) {
+                if (!normalized.contains(repo)) {
+                    unlink(repo, jobFullName);
+                }
+            }
+        }
+        for (String repo : normalized) {
+            if (previous == null || !previous.contains(repo)) {
+                link(repo, jobFullName);
+            }
+        }
+    }
+
+    /**
+     * Removes the job from the index.
+     *
+     * @param jobFullName the full name of the job
+     */
+    public synchronized void remove(@NonNull String jobFullName) {
+        Set<String> previous = reposByJob.remove(jobFullName);
+        if (previous != null) {
+            for (String repo : previous) {
+                unlink(repo, jobFullName);
+            }
+        }
+        Set<String> previousPatterns = patternsByJob.remove(jobFullName);
+        if (previousPatterns != null) {
+            for (String pattern : previousPatterns) {
+                jobsByPattern.remove(pattern, jobFullName);
+            }
+        }
+    }
+
+    @GuardedBy("this")
+    private void indexPatterns(String jobFullName, Collection<String> patterns) {
+        Set<String> normalized = new HashSet<>();
+        for (String pattern : patterns) {
+            String key = normalize(pattern);
+            if (key != null) {
+                normalized.add(key);
+            }
+        }
+        Set<String> previous = normalized.isEmpty() ? patternsByJob.remove(jobFullName)
+                                                    : patternsByJob.put(jobFullName, normalized);
+        if (previous != null) {
+            for (String pattern : previous) {
+                if (!normalized.contains(pattern)) {
+                    jobsByPattern.remove(pattern, jobFullName);
+                }
+            }
+        }
+        for (String pattern : normalized) {
+            if (previous == null || !previous.contains(pattern)) {
+                jobsByPattern.add(pattern, jobFullName);
+            }
+        }
+    }
+
+    @GuardedBy("this")
+    private void link(String repo, String jobFullName) {
+        Set<String> current = jobsByRepo.get(repo);
+        Set<String> updated = current == null ? new HashSet<String>() : new HashSet<>(current);
+        updated.add(jobFullName);
+        jobsByRepo.put(repo, Collections.unmodifiableSet(updated));
+    }
+
+    @GuardedBy("this")
+    private void unlink(String repo, String jobFullName) {
+        Set<String> current = jobsByRepo.get(repo);
+        if (current == null || !current.contains(jobFullName)) {
+            return;
+        }
+        if (current.size() == 1) {
+            jobsByRepo.remove(repo);
+        } else {
+            Set<String> updated = new HashSet<>(current);
+            updated.remove(jobFullName);
+            jobsByRepo.put(repo, Collections.unmodifiableSet(updated));
+        }
+    }
+
+    /**
+     * Rebuilds the whole index from scratch.
+     */
+    public void rebuild() {
+        Jenkins jenkins = Jenkins.get();
+        synchronized (this) {
+            for (String jobFullName : new ArrayList<>(patternsByJob.keySet())) {
+                indexPatterns(jobFullName, Collections.<String>emptySet());
+            }
+            reposByJob.clear();
+            jobsByRepo.clear();
+            try (ACLContext ctx = ACL.as2(ACL.SYSTEM2)) {
+                for (Job job : jenkins.getAllItems(Job.class)) {
+                    reindex(job);
+                }
+            }
+            ready = true;
+        }
+        logger.log(Level.FINE, "Indexed {0} repositories and {1} repository patterns",
+                   new Object[]{jobsByRepo.size(), jobsByPattern.size()});
+    }
+
+    /**
+     * Normalizes a repository name the same way for indexing and lookup.
+     *
+     * @param repoName the name
+     * @return the normalized name or null if it is blank.
+     */
+    @CheckForNull
+    static String normalize(@CheckForNull String repoName) {
+        if (StringUtils.isBlank(repoName)) {
+            return null;
+        }
+        return repoName.trim();
+    }
+
+    @Initializer(after = InitMilestone.JOB_LOADED)
+    @Restricted(NoExternalUse.class)
+    public static void buildIndex() {
+        TriggerIndex index = getInstance();
+        if (index != null) {
+            index.rebuild();
+        }
+    }
+
+    @Extension
+    public static class ItemListenerImpl extends hudson.model.listeners.ItemListener {
+        @Override
+        public void onCreated(Item item) {
+            if (item instanceof Job) {
+                TriggerIndex index = getInstance();
+                if (index != null) {
+                    index.reindex((Job<?, ?>)item);
+                }
+            }
+        }
+
+        @Override
+        public void onUpdated(Item item) {
+            // triggers are started before the rest of the job config is submitted, so recheck what they extract now
+            onCreated(item);
+        }
+
+        @Override
+        public void onDeleted(Item item) {
+            if (item instanceof Job) {
+                TriggerIndex index = getInstance();
+                if (index != null) {
+                    index.remove(item.getFullName());
+                }
+            }
+        }
+
+        @Override
+        public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+            if (item instanceof Job) {
+                TriggerIndex index = getInstance();
+                if (index != null) {
+                    index.remove(oldFullName);
+                    index.reindex((Job<?, ?>)item);
+                }
+            }
+        }
+    }
+
+    /**
+     * Images used by a job can be discovered by its builds, e.g. in a Pipeline,
+     * so jobs that trigger on any image they use are reindexed when a build completes.
+     */
+    @Extension
+    public static class RunListenerImpl extends RunListener<Run<?, ?>> {
+        @Override
+        public void onCompleted(Run<?, ?> run, @NonNull TaskListener listener) {
+            Job<?, ?> job = run.getParent();
+            if (!(job instanceof ParameterizedJobMixIn.ParameterizedJob)) {
+                return;
+            }
+            DockerHubTrigger trigger = DockerHubTrigger.getTrigger((ParameterizedJobMixIn.ParameterizedJob)job);
+            if (trigger == null || trigger.getOptions() == null) {
+                return;
+            }
+            for (TriggerOption option : trigger.getOptions()) {
+                if (option instanceof TriggerForAllUsedInJob) {
+                    TriggerIndex index = getInstance();
+                    if (index != null) {
+                        index.reindex(job);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
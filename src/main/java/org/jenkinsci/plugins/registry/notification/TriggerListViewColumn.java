@@ -35,6 +35,7 @@ import org.kohsuke.stapler.DataBoundSetter;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -65,11 +66,18 @@ public class TriggerListViewColumn extends ListViewColumn {
         return Messages.TriggerListViewColumn_ColumnCaption();
     }
 
+    /**
+     * The repository names and patterns that the job triggers on, names first.
+     *
+     * @param item the job
+     * @return the names and patterns, at most {@link #getShowMax()} if set
+     */
     public Collection<String> getImageNames(TopLevelItem item) {
         if (item instanceof ParameterizedJobMixIn.ParameterizedJob) {
             DockerHubTrigger trigger = DockerHubTrigger.getTrigger((ParameterizedJobMixIn.ParameterizedJob)item);
             if (trigger != null) {
-                Set<String> names = trigger.getAllRepoNames();
+                Set<String> names = new LinkedHashSet<String>(trigger.getAllRepoNames());
+                names.addAll(trigger.getAllRepoPatterns());
                 if (showMax <= 0 || names.size() <= showMax) {
                     return names;
                 } else {
@@ -26,101 +26,442 @@ package org.jenkinsci.plugins.registry.notification;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
+import hudson.ExtensionList;
 import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.init.Terminator;
 import hudson.model.*;
 import hudson.security.ACL;
 import hudson.security.ACLContext;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
 import jenkins.model.FingerprintFacet;
 import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+import jenkins.util.Timer;
+import net.jcip.annotations.GuardedBy;
 import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.plugins.registry.notification.metrics.Metrics;
+import org.jenkinsci.plugins.registry.notification.metrics.TriggerLatency;
+import org.jenkinsci.plugins.registry.notification.store.FingerprintTriggerStoreBackend;
+import org.jenkinsci.plugins.registry.notification.store.JobIndex;
+import org.jenkinsci.plugins.registry.notification.store.TriggerRetention;
+import org.jenkinsci.plugins.registry.notification.store.TriggerStoreBackend;
+import org.jenkinsci.plugins.registry.notification.store.TriggerStoreBackend.Change;
 import org.jenkinsci.plugins.registry.notification.webhook.PushNotification;
+import org.jenkinsci.plugins.registry.notification.webhook.WebHookCause;
 import org.jenkinsci.plugins.registry.notification.webhook.dockerhub.DockerHubCallbackPayload;
 import org.jenkinsci.plugins.registry.notification.webhook.dockerhub.DockerHubWebHookPayload;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
 
-import jakarta.inject.Inject;
 import java.io.IOException;
 import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Store of all triggered builds.
+ *
+ * Updates are serialized per push, by locking one of {@link #LOCK_STRIPES} locks chosen by {@link PushNotification#sha()},
+ * so that saving the entry of one push doesn't block the bookkeeping of builds triggered by other pushes.
+ *
+ * When {@link #WRITE_BEHIND_MILLIS} is set, {@link #save(TriggerEntry)} only marks the entry as dirty
+ * and each dirty entry is written at most once per interval by {@link WriteBehind}, and on shutdown.
+ *
+ * The entries are persisted by the {@link TriggerStoreBackend} named by {@link #BACKEND},
+ * by default as {@link Fingerprint} facets.
+ *
+ * Which pushes reference which job is kept in the {@link JobIndex}, so that renaming a job only rewrites the entries
+ * that reference it.
+ *
+ * Entries of pushes with builds that are not done are kept in memory until all builds are done, see {@link #getPendingCount()}.
+ * Changes made by the {@link Coordinator} update that entry and are persisted in order by a background thread,
+ * so that finishing a build and deciding if a callback should be sent doesn't wait for the disk.
+ * The pending entries are rebuilt from the queue and the running builds at startup.
  */
 @Extension
 public final class TriggerStore extends Descriptor<TriggerStore>
         implements Describable<TriggerStore> {
 
-    @Inject
-    Jenkins jenkins;
-    
+    /**
+     * Number of locks that pushes are spread over.
+     */
+    static /*almost final*/ int LOCK_STRIPES = SystemProperties.getInteger(TriggerStore.class.getName() + ".lockStripes", 64);
+    /**
+     * When greater than 0, how often dirty entries are written. 0 writes each change immediately.
+     */
+    static /*almost final*/ long WRITE_BEHIND_MILLIS = SystemProperties.getLong(TriggerStore.class.getName() + ".writeBehindMillis", 0L);
+    /**
+     * The {@link TriggerStoreBackend#getName()} of the backend to use.
+     */
+    static /*almost final*/ String BACKEND = SystemProperties.getString(TriggerStore.class.getName() + ".backend", FingerprintTriggerStoreBackend.NAME);
+    /**
+     * How long renaming a job waits for the {@link JobIndex} to be ready before scanning the whole store instead.
+     */
+    static /*almost final*/ long JOB_INDEX_WAIT_MILLIS = SystemProperties.getLong(TriggerStore.class.getName() + ".jobIndexWaitMillis", 60000L);
+
+    private final Object[] locks;
+
+    /**
+     * Entries changed but not yet written, by sha. Holding the entry also keeps its fingerprint from being
+     * evicted from the {@link FingerprintMap} cache, so later changes are made to the same instance.
+     */
+    private final Map<String, TriggerEntry> dirty = new ConcurrentHashMap<>();
+
+    /**
+     * Entries of pushes with builds that are not done, or with changes not yet persisted, by sha.
+     */
+    private final Map<String, TriggerEntry> pending = new ConcurrentHashMap<>();
+
+    @GuardedBy("this")
+    private ThreadPoolExecutor persister;
+
+    @CheckForNull
+    private volatile TriggerStoreBackend backend;
+
     public TriggerStore() {
         super(TriggerStore.class);
+        locks = new Object[Math.max(1, LOCK_STRIPES)];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * The lock guarding the entry of the push with the given sha.
+     *
+     * @param sha the {@link PushNotification#sha()}
+     * @return the lock
+     */
+    @NonNull
+    private Object lockFor(@CheckForNull String sha) {
+        int hash = sha == null ? 0 : sha.hashCode();
+        hash ^= (hash >>> 16);
+        return locks[(hash & Integer.MAX_VALUE) % locks.length];
+    }
+
+    /**
+     * The backend selected by {@link #BACKEND}, falling back to the {@link FingerprintTriggerStoreBackend}.
+     *
+     * @return the backend
+     */
+    @NonNull
+    public TriggerStoreBackend getBackend() {
+        TriggerStoreBackend current = backend;
+        if (current == null || !current.getName().equals(BACKEND)) {
+            current = TriggerStoreBackend.byName(BACKEND);
+            if (current == null) {
+                logger.log(Level.WARNING, "Unknown trigger store backend {0}, using {1}",
+                           new Object[]{BACKEND, FingerprintTriggerStoreBackend.NAME});
+                current = ExtensionList.lookupSingleton(FingerprintTriggerStoreBackend.class);
+            }
+            backend = current;
+        }
+        return current;
     }
 
-    public synchronized void triggered(@NonNull final PushNotification pushNotification, Job<?, ?> job) {
+    public void triggered(@NonNull final PushNotification pushNotification, Job<?, ?> job) {
         try {
-            TriggerEntry entry = getOrCreateEntry(pushNotification);
-            entry.addEntry(job);
-            save(entry);
+            final String sha = pushNotification.sha();
+            TriggerLatency.received(pushNotification);
+            synchronized (lockFor(sha)) {
+                TriggerEntry entry = getOrCreateEntry(pushNotification, sha);
+                entry.addEntry(job);
+                persist(entry, Collections.singletonList(new Change(Change.Type.TRIGGERED, job.getFullName(), null, false)));
+            }
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Failed to update triggered info for " + job.getFullDisplayName(), e);
         }
     }
 
-    public synchronized void started(@NonNull final PushNotification pushNotification, Run<?, ?> run) {
+    /**
+     * Records all jobs triggered by the push with one lookup and one save of the entry.
+     *
+     * @param pushNotification the push
+     * @param jobs             the triggered jobs
+     */
+    public void triggered(@NonNull final PushNotification pushNotification, @NonNull Collection<? extends Job<?, ?>> jobs) {
+        if (jobs.isEmpty()) {
+            return;
+        }
         try {
-            TriggerEntry entry = getOrCreateEntry(pushNotification);
-            entry.updateEntry(run);
-            save(entry);
+            final String sha = pushNotification.sha();
+            TriggerLatency.received(pushNotification);
+            synchronized (lockFor(sha)) {
+                TriggerEntry entry = getOrCreateEntry(pushNotification, sha);
+                List<Change> changes = new ArrayList<>(jobs.size());
+                for (Job<?, ?> job : jobs) {
+                    entry.addEntry(job);
+                    changes.add(new Change(Change.Type.TRIGGERED, job.getFullName(), null, false));
+                }
+                persist(entry, changes);
+            }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Failed to update triggered info for " + jobs.size() + " jobs triggered by " + pushNotification.getRepoName(), e);
+        }
+    }
+
+    public void started(@NonNull final PushNotification pushNotification, Run<?, ?> run) {
+        try {
+            final String sha = pushNotification.sha();
+            synchronized (lockFor(sha)) {
+                TriggerEntry entry = getOrCreateEntry(pushNotification, sha);
+                TriggerEntry.RunEntry runEntry = entry.updateEntry(run);
+                timed(pushNotification, runEntry, run);
+                persist(entry, Collections.singletonList(new Change(Change.Type.STARTED, runEntry)));
+            }
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Failed to update started info for " + run.getFullDisplayName(), e);
         }
     }
 
     @CheckForNull
-    public synchronized TriggerEntry finalized(@NonNull final PushNotification pushNotification, Run<?, ?> run) {
+    public TriggerEntry finalized(@NonNull final PushNotification pushNotification, Run<?, ?> run) {
         try {
-            TriggerEntry entry = getOrCreateEntry(pushNotification);
-            entry.updateEntry(run);
-            save(entry);
-            return entry;
+            final String sha = pushNotification.sha();
+            synchronized (lockFor(sha)) {
+                TriggerEntry entry = getOrCreateEntry(pushNotification, sha);
+                TriggerEntry.RunEntry runEntry = entry.updateEntry(run);
+                timed(pushNotification, runEntry, run);
+                persist(entry, Collections.singletonList(new Change(Change.Type.FINALIZED, runEntry)));
+                return entry;
+            }
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Failed to update finalized info for " + run.getFullDisplayName(), e);
             return null;
         }
     }
 
+    /**
+     * Fills in the timestamps of the run that are not known yet and records the latencies of the stages they end.
+     * Builds of a registry or ACR push are only seen when they are finalized, so everything is filled in then.
+     */
+    private static void timed(@NonNull PushNotification pushNotification, @NonNull TriggerEntry.RunEntry runEntry, @NonNull Run<?, ?> run) {
+        if (runEntry.getStarted() == 0) {
+            WebHookCause cause = run.getCause(WebHookCause.class);
+            if (cause != null) {
+                runEntry.setQueued(cause.getQueuedAt());
+            }
+            runEntry.setStarted(run.getStartTimeInMillis());
+            TriggerLatency.started(pushNotification, runEntry);
+        }
+        if (runEntry.getFinished() == 0 && !run.isBuilding()) {
+            runEntry.setFinished(run.getStartTimeInMillis() + run.getDuration());
+            TriggerLatency.finished(pushNotification, runEntry);
+        }
+    }
+
     /**
      * When a build has been removed from jenkins it should also be removed from this store.
      *
      * @param payload the payload
      * @param run the build.
      */
-    public synchronized void removed(@NonNull final PushNotification payload, Run<?, ?> run) {
+    public void removed(@NonNull final PushNotification payload, Run<?, ?> run) {
         try {
-            TriggerEntry entry = getEntry(payload.sha());
-            if (entry != null) {
-                entry.removeEntry(run);
-                if (entry.getEntries().isEmpty()) {
-                    // TODO: FingerprintFacet should have isAlive() method to let it report its liveness.
+            final String sha = payload.sha();
+            synchronized (lockFor(sha)) {
+                TriggerEntry entry = getEntry(sha);
+                if (entry != null) {
+                    entry.removeEntry(run);
+                    if (entry.getEntries().isEmpty()) {
+                        removeEmpty(sha, entry);
+                    } else {
+                        persist(entry, Collections.singletonList(new Change(Change.Type.REMOVED, run.getParent().getFullName(), run.getId(), false)));
+                    }
                 }
-                save(entry);
             }
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Failed to remove info for build " + run.getFullDisplayName(), e);
         }
     }
 
+    /**
+     * Deletes the entry of a push once its last run is gone.
+     * Without write-behind the changes already queued for the entry are written first, by the same thread.
+     * The caller must hold {@link #lockFor(String)} of the push.
+     */
+    private void removeEmpty(@NonNull final String sha, @NonNull final TriggerEntry entry) throws IOException, InterruptedException {
+        if (WRITE_BEHIND_MILLIS > 0) {
+            remove(sha);
+            return;
+        }
+        Runnable removal = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (lockFor(sha)) {
+                    TriggerEntry current = pending.get(sha);
+                    if (!entry.getEntries().isEmpty() || (current != null && current != entry)) {
+                        // triggered again since
+                        return;
+                    }
+                    try {
+                        remove(sha);
+                    } catch (IOException | InterruptedException | RuntimeException e) {
+                        logger.log(Level.WARNING, "Failed to remove triggered info for " + sha, e);
+                    }
+                }
+            }
+        };
+        try {
+            getPersister().execute(removal);
+        } catch (RejectedExecutionException e) {
+            // shutting down
+            removal.run();
+        }
+    }
+
+    /**
+     * Deletes the entry of a push.
+     *
+     * @param sha the {@link PushNotification#sha()}
+     * @return approximate number of bytes reclaimed, 0 if there was no entry
+     * @throws IOException          if so
+     * @throws InterruptedException if so
+     */
+    public long remove(@NonNull String sha) throws IOException, InterruptedException {
+        synchronized (lockFor(sha)) {
+            dirty.remove(sha);
+            pending.remove(sha);
+            JobIndex index = JobIndex.getInstance();
+            if (index != null) {
+                index.removeSha(sha);
+            }
+            return getBackend().remove(sha);
+        }
+    }
+
+    /**
+     * Gets or creates the entry of the push. The caller must hold {@link #lockFor(String)} of the push
+     * so that only one entry is created.
+     */
     @NonNull
-    private synchronized TriggerEntry getOrCreateEntry(@NonNull final PushNotification pushNotification) throws IOException, InterruptedException {
-        Fingerprint fingerprint = jenkins.getFingerprintMap().getOrCreate(null, pushNotification.getRepoName(), pushNotification.sha());
-        TriggerEntry entry = fingerprint.getFacet(TriggerEntry.class);
-        if (entry==null)    fingerprint.getFacets().add(entry=new TriggerEntry(fingerprint,pushNotification));
+    private TriggerEntry getOrCreateEntry(@NonNull final PushNotification pushNotification, @NonNull String sha) throws IOException, InterruptedException {
+        TriggerEntry entry = pending.get(sha);
+        if (entry == null) {
+            entry = dirty.get(sha);
+        }
+        if (entry != null) {
+            return entry;
+        }
+        entry = getBackend().getOrCreate(pushNotification, sha);
+        List<Change> changes = finishStale(entry);
+        if (!changes.isEmpty()) {
+            persist(entry, changes);
+        }
         return entry;
     }
 
+    /**
+     * Marks the runs of an entry that was not pending as done when they are recorded as not done
+     * but are no longer building, e.g. because Jenkins went down while they were running.
+     *
+     * @param sha the {@link PushNotification#sha()}
+     * @return the entry, or null if there is no such entry
+     * @throws IOException          if so
+     * @throws InterruptedException if so
+     */
+    @CheckForNull
+    @Restricted(NoExternalUse.class)
+    public TriggerEntry repair(@NonNull String sha) throws IOException, InterruptedException {
+        synchronized (lockFor(sha)) {
+            TriggerEntry entry = getEntry(sha);
+            if (entry == null || pending.containsKey(sha) || dirty.containsKey(sha)) {
+                return entry;
+            }
+            List<Change> changes = finishStale(entry);
+            if (!changes.isEmpty()) {
+                persist(entry, changes);
+            }
+            return entry;
+        }
+    }
+
+    @NonNull
+    private static List<Change> finishStale(@NonNull TriggerEntry entry) {
+        if (entry.areAllDone()) {
+            return Collections.emptyList();
+        }
+        String sha = entry.getFingerprint().getHashString();
+        List<Change> changes = new ArrayList<>();
+        for (TriggerEntry.RunEntry run : entry.getEntries()) {
+            if (!run.isDone()) {
+                Run<?, ?> build = run.getRun();
+                if (build == null && run.getBuildId() == null && isQueued(sha, run.getJob())) {
+                    continue;
+                }
+                if (build == null || !build.isBuilding()) {
+                    run.setDone(true);
+                    changes.add(new Change(Change.Type.FINALIZED, run.getJobName(), run.getBuildId(), true));
+                }
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * If the job has a queue item caused by the push.
+     */
+    private static boolean isQueued(@NonNull String sha, @CheckForNull Job<?, ?> job) {
+        if (!(job instanceof Queue.Task)) {
+            return false;
+        }
+        for (Queue.Item item : Jenkins.get().getQueue().getItems((Queue.Task) job)) {
+            for (Cause cause : item.getCauses()) {
+                if (cause instanceof WebHookCause && sha.equals(((WebHookCause) cause).getPushNotification().sha())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Marks the run of a job as done when its queue item was cancelled before a build started.
+     *
+     * @param pushNotification the push
+     * @param job              the job
+     * @return the entry if the run was marked as done, null if there was nothing to do
+     */
+    @CheckForNull
+    public TriggerEntry cancelled(@NonNull final PushNotification pushNotification, @NonNull Job<?, ?> job) {
+        try {
+            final String sha = pushNotification.sha();
+            synchronized (lockFor(sha)) {
+                TriggerEntry entry = getEntry(sha);
+                TriggerEntry.RunEntry runEntry = entry != null ? entry.getEntry(job) : null;
+                if (runEntry == null || runEntry.isDone() || runEntry.getBuildId() != null) {
+                    return null;
+                }
+                runEntry.setDone(true);
+                persist(entry, Collections.singletonList(new Change(Change.Type.FINALIZED, runEntry)));
+                return entry;
+            }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Failed to update cancelled info for " + job.getFullDisplayName(), e);
+            return null;
+        }
+    }
+
     /**
      * Gets an existing {@link TriggerEntry}, or null if no such thing exists.
      *
@@ -130,40 +471,374 @@ public final class TriggerStore extends Descriptor<TriggerStore>
      * @throws InterruptedException if so
      */
     @CheckForNull
-    public synchronized TriggerEntry getEntry(String sha) throws IOException, InterruptedException {
-        Fingerprint fingerprint = jenkins.getFingerprintMap().get(sha);
-        if (fingerprint==null)  return null;
-        return fingerprint.getFacet(TriggerEntry.class);
-    }
-
-    private synchronized void onLocationChanged(@NonNull Job<?,?> item, @NonNull String oldFullName, @NonNull String newFullName) {
-        // no efficient way to do this in fingerprint. But hey, cool job names do not change http://www.w3.org/Provider/Style/URI.html
-//        try {
-//            //This could be quite many, but I have no better ideas
-//            List<String> shas = getAllStoredShas();
-//            for (String sha : shas) {
-//                TriggerEntry entry = getEntry(sha);
-//                if (entry != null) {
-//                    boolean updated = false;
-//                    for (TriggerEntry.RunEntry run : entry.getEntries()) {
-//                        if (oldFullName.equals(run.getJobName())) {
-//                            run.setJobName(newFullName);
-//                            updated = true;
-//                        }
-//                    }
-//                    if (updated) {
-//                        save(entry);
-//                    }
-//                }
-//            }
-//        } catch (Exception e) {
-//            logger.log(Level.WARNING, "Failed to update a potentially stored job reference \'"+oldFullName+"\' to \'"+newFullName+"\'", e);
-//            e.printStackTrace();
-//        }
-    }
-
-    public synchronized void save(@NonNull final TriggerEntry entry) throws IOException, InterruptedException {
-        entry.getFingerprint().save();
+    public TriggerEntry getEntry(String sha) throws IOException, InterruptedException {
+        TriggerEntry entry = pending.get(sha);
+        if (entry == null) {
+            entry = dirty.get(sha);
+        }
+        if (entry != null) {
+            return entry;
+        }
+        return getBackend().get(sha);
+    }
+
+    /**
+     * The entries of all pushes that triggered the job, as recorded by the {@link JobIndex}.
+     * While the index is not ready the whole store is scanned.
+     *
+     * @param jobFullName the {@link Job#getFullName()}
+     * @return the entries, in no particular order
+     */
+    @NonNull
+    public List<TriggerEntry> getEntries(@NonNull String jobFullName) {
+        JobIndex index = JobIndex.getInstance();
+        if (index == null) {
+            return Collections.emptyList();
+        }
+        Set<String> shas;
+        try {
+            shas = getShas(index, jobFullName, 0);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to list triggered info of " + jobFullName, e);
+            return Collections.emptyList();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Collections.emptyList();
+        }
+        List<TriggerEntry> entries = new ArrayList<>();
+        for (String sha : shas) {
+            try {
+                TriggerEntry entry = getEntry(sha);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            } catch (IOException | InterruptedException e) {
+                logger.log(Level.WARNING, "Failed to load triggered info for " + sha, e);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * The pushes that reference the job, from the {@link JobIndex} when it is ready within the timeout,
+     * otherwise by scanning the whole store.
+     */
+    @NonNull
+    private Set<String> getShas(@NonNull JobIndex index, @NonNull String jobFullName, long timeoutMillis) throws IOException, InterruptedException {
+        if (index.awaitReady(timeoutMillis)) {
+            return index.getShas(jobFullName);
+        }
+        logger.log(Level.FINE, "The job index is not ready, scanning all triggered entries for {0}", jobFullName);
+        Set<String> shas = new HashSet<>();
+        for (String sha : getBackend().getShas()) {
+            try {
+                TriggerEntry entry = getEntry(sha);
+                if (entry != null && entry.getEntry(jobFullName) != null) {
+                    shas.add(sha);
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.FINE, "Failed to read triggered entry " + sha, e);
+            }
+        }
+        return shas;
+    }
+
+    /**
+     * Rewrites the job name in all entries referencing the job, found through the {@link JobIndex}.
+     * Waits up to {@link #JOB_INDEX_WAIT_MILLIS} for the index to be ready, then scans the whole store instead.
+     *
+     * @param oldFullName the old {@link Job#getFullName()}
+     * @param newFullName the new {@link Job#getFullName()}
+     * @return the number of rewritten entries
+     */
+    public int renameJob(@NonNull String oldFullName, @NonNull String newFullName) {
+        JobIndex index = JobIndex.getInstance();
+        if (index == null) {
+            return 0;
+        }
+        Set<String> shas;
+        try {
+            shas = getShas(index, oldFullName, JOB_INDEX_WAIT_MILLIS);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to find the stored job references to '" + oldFullName + "'", e);
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+        int updated = 0;
+        for (String sha : shas) {
+            try {
+                synchronized (lockFor(sha)) {
+                    TriggerEntry entry = getEntry(sha);
+                    if (entry == null) {
+                        continue;
+                    }
+                    boolean changed = false;
+                    for (TriggerEntry.RunEntry run : entry.getEntries()) {
+                        if (oldFullName.equals(run.getJobName())) {
+                            run.setJobName(newFullName);
+                            changed = true;
+                        }
+                    }
+                    if (changed) {
+                        save(entry);
+                        updated++;
+                    }
+                }
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Failed to update a stored job reference '" + oldFullName + "' to '" + newFullName + "' in " + sha, e);
+            }
+        }
+        index.rename(oldFullName, newFullName);
+        return updated;
+    }
+
+    public void save(@NonNull final TriggerEntry entry) throws IOException, InterruptedException {
+        final String sha = entry.getFingerprint().getHashString();
+        synchronized (lockFor(sha)) {
+            JobIndex index = JobIndex.getInstance();
+            if (index != null) {
+                for (TriggerEntry.RunEntry run : entry.getEntries()) {
+                    index.add(run.getJobName(), sha);
+                }
+            }
+            if (WRITE_BEHIND_MILLIS > 0) {
+                dirty.put(sha, entry);
+            } else {
+                dirty.remove(sha);
+                long start = System.nanoTime();
+                getBackend().save(entry);
+                recordSave(start);
+            }
+        }
+    }
+
+    private void recordSave(long startNanos) {
+        Metrics.histogram(Metrics.STORE_SAVE_SECONDS, "backend", getBackend().getName()).recordNanosSince(startNanos);
+    }
+
+    /**
+     * Keeps the entry in memory while it is pending and queues the change to be persisted,
+     * or marks it as dirty in write-behind mode.
+     * The caller must hold {@link #lockFor(String)} of the entry.
+     */
+    private void persist(@NonNull final TriggerEntry entry, @NonNull List<Change> changes) throws IOException, InterruptedException {
+        final String sha = entry.getFingerprint().getHashString();
+        JobIndex index = JobIndex.getInstance();
+        if (index != null) {
+            for (Change change : changes) {
+                if (change.getType() == Change.Type.REMOVED) {
+                    if (entry.getEntry(change.getJobName()) == null) {
+                        index.remove(change.getJobName(), sha);
+                    }
+                } else {
+                    index.add(change.getJobName(), sha);
+                }
+            }
+        }
+        if (WRITE_BEHIND_MILLIS > 0) {
+            dirty.put(sha, entry);
+            if (entry.areAllDone()) {
+                pending.remove(sha, entry);
+            } else {
+                pending.put(sha, entry);
+            }
+            return;
+        }
+        pending.put(sha, entry);
+        try {
+            getPersister().execute(new Runnable() {
+                @Override
+                public void run() {
+                    write(sha, entry, changes);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // shutting down
+            write(sha, entry, changes);
+        }
+    }
+
+    /**
+     * Persists queued changes to the entry and forgets it once all its builds are done.
+     */
+    private void write(@NonNull String sha, @NonNull TriggerEntry entry, @NonNull List<Change> changes) {
+        synchronized (lockFor(sha)) {
+            try {
+                long start = System.nanoTime();
+                if (dirty.remove(sha) != null) {
+                    // write-behind was just disabled, or a previous write failed; the entry has other unsaved changes
+                    getBackend().save(entry);
+                } else {
+                    getBackend().changed(entry, changes);
+                }
+                recordSave(start);
+            } catch (IOException | InterruptedException | RuntimeException e) {
+                logger.log(Level.WARNING, "Failed to save triggered info for " + sha + ", will retry", e);
+                dirty.putIfAbsent(sha, entry);
+            }
+            if (entry.areAllDone()) {
+                pending.remove(sha, entry);
+            }
+        }
+    }
+
+    @NonNull
+    private synchronized ThreadPoolExecutor getPersister() {
+        if (persister == null) {
+            persister = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new NamingThreadFactory(new DaemonThreadFactory(), "DockerHub triggered builds persister"));
+            persister.allowCoreThreadTimeOut(true);
+        }
+        return persister;
+    }
+
+    /**
+     * Waits for all queued changes to be persisted.
+     *
+     * @param timeoutMillis max time to wait
+     * @return false if there were still changes queued after the timeout
+     * @throws InterruptedException if so
+     */
+    public boolean awaitPersisted(long timeoutMillis) throws InterruptedException {
+        ThreadPoolExecutor executor;
+        synchronized (this) {
+            executor = persister;
+        }
+        if (executor == null) {
+            return true;
+        }
+        Future<?> marker = executor.submit(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+        try {
+            marker.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    private void shutdownPersister() throws InterruptedException {
+        ThreadPoolExecutor executor;
+        synchronized (this) {
+            executor = persister;
+            persister = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.log(Level.WARNING, "{0} changes to triggered builds were not saved before shutdown",
+                           executor.getQueue().size());
+            }
+        }
+    }
+
+    /**
+     * Number of pushes with builds that are not done, or with changes that are not yet persisted.
+     *
+     * @return the number of pending entries
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Adds the pushes of queued and running builds to the pending entries.
+     * Only those can have builds that are not done; the store itself is not scanned.
+     * Queued builds are tracked with the entries already recorded for them when they were triggered.
+     * Runs that are recorded as not done but are no longer building, e.g. because of a crash,
+     * are marked as done when their entry is next changed, or by the {@link TriggerRetention} sweep.
+     */
+    void rebuildPending() {
+        int count = 0;
+        Jenkins jenkins = Jenkins.get();
+        for (Queue.Item item : jenkins.getQueue().getItems()) {
+            for (Cause cause : item.getCauses()) {
+                if (cause instanceof WebHookCause) {
+                    count += track(((WebHookCause) cause).getPushNotification());
+                }
+            }
+        }
+        for (Computer computer : jenkins.getComputers()) {
+            for (Executor executor : computer.getAllExecutors()) {
+                Queue.Executable executable = executor.getCurrentExecutable();
+                if (executable instanceof Run) {
+                    Run<?, ?> run = (Run<?, ?>) executable;
+                    for (Cause cause : run.getCauses()) {
+                        if (cause instanceof WebHookCause) {
+                            started(((WebHookCause) cause).getPushNotification(), run);
+                        }
+                    }
+                }
+            }
+        }
+        logger.log(Level.FINE, "Rebuilt {0} pending triggered entries", count);
+    }
+
+    /**
+     * Keeps the entry of a queued push in memory until its builds are done, without creating one.
+     *
+     * @return 1 if the entry was added to the pending entries
+     */
+    private int track(@NonNull PushNotification pushNotification) {
+        final String sha = pushNotification.sha();
+        synchronized (lockFor(sha)) {
+            if (pending.containsKey(sha)) {
+                return 0;
+            }
+            try {
+                TriggerEntry entry = getEntry(sha);
+                if (entry == null || entry.areAllDone()) {
+                    // not recorded, e.g. scheduled before the store was written, or the job already built this push
+                    return 0;
+                }
+                pending.put(sha, entry);
+                return 1;
+            } catch (IOException | InterruptedException e) {
+                logger.log(Level.WARNING, "Failed to load triggered info for " + sha, e);
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Writes all entries changed since the last flush.
+     *
+     * @return the number of written entries
+     */
+    public int flush() {
+        int written = 0;
+        for (String sha : new ArrayList<>(dirty.keySet())) {
+            synchronized (lockFor(sha)) {
+                TriggerEntry entry = dirty.remove(sha);
+                if (entry == null) {
+                    continue;
+                }
+                try {
+                    long start = System.nanoTime();
+                    getBackend().save(entry);
+                    recordSave(start);
+                    written++;
+                } catch (IOException | InterruptedException e) {
+                    logger.log(Level.WARNING, "Failed to save triggered info for " + sha + ", will retry", e);
+                    dirty.putIfAbsent(sha, entry);
+                }
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Number of entries changed but not yet written.
+     *
+     * @return the number of dirty entries
+     */
+    public int getDirtyCount() {
+        return dirty.size();
     }
 
     /**
@@ -194,6 +869,93 @@ public final class TriggerStore extends Descriptor<TriggerStore>
         return this;
     }
 
+    @Initializer(after = InitMilestone.JOB_LOADED)
+    @Restricted(NoExternalUse.class)
+    public static void registerMetrics() {
+        // looks up the instance on each read so that the registry never holds on to an old one
+        Metrics.gauge(Metrics.TRIGGER_STORE_PENDING, () -> {
+            TriggerStore store = getInstanceOrNull();
+            return store != null ? store.getPendingCount() : 0;
+        });
+        Metrics.gauge(Metrics.TRIGGER_STORE_DIRTY, () -> {
+            TriggerStore store = getInstanceOrNull();
+            return store != null ? store.getDirtyCount() : 0;
+        });
+    }
+
+    @Initializer(after = InitMilestone.COMPLETED)
+    @Restricted(NoExternalUse.class)
+    public static void rebuildPendingOnStartup() {
+        final TriggerStore store = TriggerStore.getInstance();
+        Timer.get().submit(new Runnable() {
+            @Override
+            public void run() {
+                store.rebuildPending();
+            }
+        });
+    }
+
+    @CheckForNull
+    private static TriggerStore getInstanceOrNull() {
+        Jenkins instance = Jenkins.getInstanceOrNull();
+        return instance != null ? instance.getDescriptorByType(TriggerStore.class) : null;
+    }
+
+    @Terminator
+    @Restricted(NoExternalUse.class)
+    public static void flushOnShutdown() throws InterruptedException {
+        TriggerStore store = getInstanceOrNull();
+        if (store != null) {
+            store.shutdownPersister();
+            int written = store.flush();
+            logger.log(Level.FINE, "Saved {0} triggered entries on shutdown", written);
+            try {
+                store.getBackend().close();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to close the trigger store", e);
+            }
+        }
+    }
+
+    /**
+     * Writes dirty entries every {@link #WRITE_BEHIND_MILLIS}.
+     */
+    @Extension
+    @Restricted(NoExternalUse.class)
+    public static class WriteBehind extends AsyncPeriodicWork {
+        public WriteBehind() {
+            super("DockerHub triggered builds write-behind");
+        }
+
+        @Override
+        public long getRecurrencePeriod() {
+            return WRITE_BEHIND_MILLIS > 0 ? Math.max(1000L, WRITE_BEHIND_MILLIS) : TimeUnit.MINUTES.toMillis(1);
+        }
+
+        @Override
+        protected void execute(TaskListener listener) {
+            Jenkins instance = Jenkins.get();
+            if (instance.getInitLevel().compareTo(InitMilestone.JOB_LOADED) < 0) {
+                return;
+            }
+            TriggerStore store = instance.getDescriptorByType(TriggerStore.class);
+            if (store != null) {
+                // also picks up entries left when write-behind was disabled at runtime
+                int written = store.flush();
+                if (written > 0) {
+                    listener.getLogger().println("Saved " + written + " triggered entries");
+                }
+            }
+        }
+    }
+
+    /**
+     * The builds triggered by one push.
+     *
+     * The runs are persisted as a list, in the order they were started. An index by job name and a count of runs that
+     * are not done are kept next to it, so that lookups and {@link #areAllDone()} don't scan the list.
+     * Use {@link #putEntry(RunEntry)} and {@link #removeEntry(String)} to change the runs.
+     */
     public static class TriggerEntry extends FingerprintFacet {
         @NonNull
         private PushNotification pushNotification;
@@ -202,43 +964,67 @@ public final class TriggerStore extends Descriptor<TriggerStore>
         @CheckForNull
         private DockerHubCallbackPayload callbackData;
 
+        private transient Map<String, RunEntry> entriesByJob;
+        private transient int outstanding;
+
         public TriggerEntry(Fingerprint fingerprint, @NonNull PushNotification pushNotification) {
             super(fingerprint, pushNotification.getReceived());
             this.pushNotification = pushNotification;
             entries = new LinkedList<RunEntry>();
+            entriesByJob = new HashMap<>();
         }
 
+        /**
+         * Adds a run for a triggered job that is not done until its build is, so that {@link #areAllDone()}
+         * stays false while the build is still queued. An existing run of the job is kept.
+         *
+         * @param job the triggered job
+         * @return the run of the job
+         */
         @NonNull
         public RunEntry addEntry(Job<?, ?> job) {
             RunEntry entry = getEntry(job.getFullName());
             if (entry == null) {
                 entry = new RunEntry(job.getFullName());
+                putEntry(entry);
             }
             return entry;
         }
 
+        /**
+         * Adds a run, replacing any run of the same job.
+         *
+         * @param entry the run
+         */
+        public void putEntry(@NonNull RunEntry entry) {
+            removeEntry(entry.getJobName());
+            entries.add(entry);
+            entriesByJob.put(entry.getJobName(), entry);
+            entry.owner = this;
+            if (!entry.isDone()) {
+                outstanding++;
+            }
+        }
+
         public RunEntry getEntry(@NonNull Job<?, ?> job) {
             return getEntry(job.getFullName());
         }
 
         public RunEntry getEntry(@NonNull String jobName) {
-            for (RunEntry entry : entries) {
-                if (entry.getJobName().equals(jobName)) {
-                    return entry;
-                }
-            }
-            return null;
+            return entriesByJob.get(jobName);
         }
 
         public RunEntry updateEntry(Run<?, ?> run) {
             RunEntry entry = getEntry(run.getParent());
             if (entry == null) {
-                entry = new RunEntry(run.getParent().getFullName(), run.getId());
-                entries.add(entry);
+                entry = new RunEntry(run.getParent().getFullName());
+                entry.setRun(run);
+                entry.setDone(!run.isBuilding());
+                putEntry(entry);
             } else {
                 entry.setRun(run);
+                entry.setDone(!run.isBuilding());
             }
-            entry.setDone(!run.isBuilding());
             return entry;
         }
 
@@ -247,9 +1033,14 @@ public final class TriggerStore extends Descriptor<TriggerStore>
             return pushNotification;
         }
 
+        /**
+         * The runs, in the order they were started.
+         *
+         * @return an unmodifiable view of the runs
+         */
         @NonNull
         public List<RunEntry> getEntries() {
-            return entries;
+            return Collections.unmodifiableList(entries);
         }
 
         @CheckForNull
@@ -262,19 +1053,46 @@ public final class TriggerStore extends Descriptor<TriggerStore>
         }
 
         public void removeEntry(@NonNull Run<?, ?> run) {
-            RunEntry entry = getEntry(run.getParent());
+            removeEntry(run.getParent().getFullName());
+        }
+
+        /**
+         * Removes the run of the job.
+         *
+         * @param jobName the full name of the job
+         * @return the removed run, if any
+         */
+        @CheckForNull
+        public RunEntry removeEntry(@NonNull String jobName) {
+            RunEntry entry = entriesByJob.remove(jobName);
             if (entry != null) {
                 entries.remove(entry);
+                entry.owner = null;
+                if (!entry.isDone()) {
+                    outstanding--;
+                }
             }
+            return entry;
         }
 
         public boolean areAllDone() {
-            for (RunEntry entry : entries) {
-                if (!entry.isDone()) {
-                    return false;
-                }
+            return outstanding == 0;
+        }
+
+        /**
+         * Number of runs that are not done.
+         *
+         * @return the count
+         */
+        public int getOutstanding() {
+            return outstanding;
+        }
+
+        private void renamed(@NonNull RunEntry entry, @NonNull String oldJobName) {
+            if (entriesByJob.get(oldJobName) == entry) {
+                entriesByJob.remove(oldJobName);
             }
-            return true;
+            entriesByJob.putIfAbsent(entry.getJobName(), entry);
         }
 
         private transient DockerHubWebHookPayload payload;
@@ -283,6 +1101,16 @@ public final class TriggerStore extends Descriptor<TriggerStore>
             if (payload != null) {
                 pushNotification = payload.getPushNotifications().get(0);
             }
+            entriesByJob = new HashMap<>();
+            outstanding = 0;
+            for (RunEntry entry : entries) {
+                // the first run of a job wins, like the scan this index replaces
+                entriesByJob.putIfAbsent(entry.getJobName(), entry);
+                entry.owner = this;
+                if (!entry.isDone()) {
+                    outstanding++;
+                }
+            }
             return this;
         }
 
@@ -291,6 +1119,24 @@ public final class TriggerStore extends Descriptor<TriggerStore>
             private String jobName;
             private String buildId;
             private boolean done;
+            /**
+             * {@link System#currentTimeMillis()} when the build was queued, started and finished, 0 if unknown.
+             */
+            private long queued;
+            private long started;
+            private long finished;
+            /**
+             * The entry indexing this run, kept up to date on changes to the job name and done state.
+             */
+            @CheckForNull
+            private transient TriggerEntry owner;
+            /**
+             * The last resolved job and build, validated on each access.
+             */
+            @CheckForNull
+            private transient volatile WeakReference<Job<?, ?>> jobRef;
+            @CheckForNull
+            private transient volatile WeakReference<Run<?, ?>> runRef;
 
             public RunEntry(@NonNull String jobName) {
                 this.jobName = jobName;
@@ -307,7 +1153,13 @@ public final class TriggerStore extends Descriptor<TriggerStore>
             }
 
             public void setJobName(@NonNull String jobName) {
+                String old = this.jobName;
                 this.jobName = jobName;
+                jobRef = null;
+                runRef = null;
+                if (owner != null && !old.equals(jobName)) {
+                    owner.renamed(this, old);
+                }
             }
 
             @CheckForNull
@@ -315,20 +1167,74 @@ public final class TriggerStore extends Descriptor<TriggerStore>
                 return buildId;
             }
 
+            public void setBuildId(@CheckForNull String buildId) {
+                this.buildId = buildId;
+                runRef = null;
+            }
+
             public boolean isDone() {
                 return done;
             }
 
             public void setDone(boolean done) {
+                if (owner != null && this.done != done) {
+                    owner.outstanding += done ? -1 : 1;
+                }
                 this.done = done;
             }
 
+            /**
+             * When the build was scheduled.
+             *
+             * @return the time in milliseconds, or 0 if unknown
+             */
+            public long getQueued() {
+                return queued;
+            }
+
+            public void setQueued(long queued) {
+                this.queued = queued;
+            }
+
+            /**
+             * When the build started running.
+             *
+             * @return the time in milliseconds, or 0 if unknown
+             */
+            public long getStarted() {
+                return started;
+            }
+
+            public void setStarted(long started) {
+                this.started = started;
+            }
+
+            /**
+             * When the build was done.
+             *
+             * @return the time in milliseconds, or 0 if unknown
+             */
+            public long getFinished() {
+                return finished;
+            }
+
+            public void setFinished(long finished) {
+                this.finished = finished;
+            }
+
             @CheckForNull
             public Job<?, ?> getJob() {
                 final Jenkins jenkins = Jenkins.getInstance();
                 if (jenkins != null) {
                     try (ACLContext ctx = ACL.as2(ACL.SYSTEM2)) {
-                        return jenkins.getItemByFullName(jobName, Job.class);
+                        WeakReference<Job<?, ?>> ref = jobRef;
+                        Job<?, ?> job = ref != null ? ref.get() : null;
+                        if (job != null && jobName.equals(job.getFullName()) && job.getParent().getItem(job.getName()) == job) {
+                            return job;
+                        }
+                        job = jenkins.getItemByFullName(jobName, Job.class);
+                        jobRef = job != null ? new WeakReference<Job<?, ?>>(job) : null;
+                        return job;
                     } catch (Exception e) {
                         logger.log(Level.WARNING, "Unable to retrieve job " + jobName, e);
                     }
@@ -339,8 +1245,19 @@ public final class TriggerStore extends Descriptor<TriggerStore>
             public void setRun(@CheckForNull Run<?, ?> build) {
                 if (build == null) {
                     this.buildId = null;
+                    runRef = null;
                 } else {
+                    if (!build.getId().equals(this.buildId)) {
+                        // another build of the job for the same push
+                        queued = 0;
+                        started = 0;
+                        finished = 0;
+                    }
                     this.buildId = build.getId();
+                    runRef = new WeakReference<Run<?, ?>>(build);
+                    if (jobName.equals(build.getParent().getFullName())) {
+                        jobRef = new WeakReference<Job<?, ?>>(build.getParent());
+                    }
                 }
             }
 
@@ -351,8 +1268,15 @@ public final class TriggerStore extends Descriptor<TriggerStore>
                 }
                 final Job<?, ?> job = getJob();
                 if (job != null) {
+                    WeakReference<Run<?, ?>> ref = runRef;
+                    Run<?, ?> run = ref != null ? ref.get() : null;
+                    if (run != null && run.getParent() == job && buildId.equals(run.getId())) {
+                        return run;
+                    }
                     try (ACLContext ctx = ACL.as2(ACL.SYSTEM2)) {
-                        return job.getBuild(buildId);
+                        run = job.getBuild(buildId);
+                        runRef = run != null ? new WeakReference<Run<?, ?>>(run) : null;
+                        return run;
                     } catch (Exception e) {
                         logger.log(Level.WARNING, "Unable to retrieve run " + jobName + ":" + buildId, e);
                     }
@@ -362,12 +1286,36 @@ public final class TriggerStore extends Descriptor<TriggerStore>
         }
     }
 
+    /**
+     * Keeps the stored job names in sync with renamed and moved jobs.
+     * Jenkins calls {@link #onLocationChanged} for every job inside a renamed folder.
+     */
     @Extension
     public static class ItemListener extends hudson.model.listeners.ItemListener {
         @Override
-        public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+        public void onLocationChanged(Item item, final String oldFullName, final String newFullName) {
             if (item instanceof Job) {
-                TriggerStore.getInstance().onLocationChanged((Job<?, ?>)item, oldFullName, newFullName);
+                final TriggerStore store = TriggerStore.getInstance();
+                Timer.get().submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        int updated = store.renameJob(oldFullName, newFullName);
+                        logger.log(Level.FINE, "Renamed {0} to {1} in {2} triggered entries",
+                                   new Object[]{oldFullName, newFullName, updated});
+                    }
+                });
+            }
+        }
+
+        @Override
+        public void onDeleted(Item item) {
+            if (item instanceof Job) {
+                JobIndex index = JobIndex.getInstance();
+                if (index != null) {
+                    for (String sha : index.getShas(item.getFullName())) {
+                        index.remove(item.getFullName(), sha);
+                    }
+                }
             }
         }
     }
@@ -47,6 +47,7 @@ import java.util.regex.PatternSyntaxException;
 
 /**
  * Filters jobs that are triggered by docker hub.
+ * The patterns are matched against the repository names and the repository patterns that the jobs trigger on.
  *
  * @author Robert Sandell &lt;rsandell@cloudbees.com&gt;.
  */
@@ -76,14 +77,8 @@ public class TriggerViewFilter extends ViewJobFilter {
             if (item instanceof ParameterizedJobMixIn.ParameterizedJob) {
                 DockerHubTrigger trigger = DockerHubTrigger.getTrigger((ParameterizedJobMixIn.ParameterizedJob)item);
                 if (trigger != null) {
-                    if (patterns.isEmpty()) {
+                    if (patterns.isEmpty() || matchesAny(trigger.getAllRepoNames()) || matchesAny(trigger.getAllRepoPatterns())) {
                         filtered.add(item);
-                    } else {
-                        for (String name : trigger.getAllRepoNames()) {
-                            if(matches(name)) {
-                                filtered.add(item);
-                            }
-                        }
                     }
                 }
             }
@@ -91,6 +86,15 @@ public class TriggerViewFilter extends ViewJobFilter {
         return filtered;
     }
 
+    private boolean matchesAny(Iterable<String> names) {
+        for (String name : names) {
+            if (matches(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean matches(String name) {
         List<Pattern> patterns = getCompiled();
         for (Pattern pattern : patterns) {
@@ -0,0 +1,528 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.callback;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.XmlFile;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.init.Terminator;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+import net.jcip.annotations.GuardedBy;
+import net.sf.json.JSONObject;
+import org.jenkinsci.plugins.registry.notification.metrics.Metrics;
+import org.jenkinsci.plugins.registry.notification.webhook.Http;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Persistent queue of callbacks to send back to the registry once all builds of a push are done.
+ *
+ * Callbacks are identified by the {@link org.jenkinsci.plugins.registry.notification.webhook.PushNotification#sha()}
+ * of the push, so each push gets at most one callback. They are sent by a small pool of threads, off the thread
+ * finalizing the build, and retried with exponential backoff and jitter until they succeed, fail permanently
+ * or {@link #MAX_ATTEMPTS} is reached. The outbox is saved to {@code JENKINS_HOME/dockerhub-notification/callbacks.xml}
+ * on every change, so pending callbacks are sent after a restart.
+ *
+ * Each callback host has a {@link CircuitBreaker}. While it is open, callbacks to that host stay pending and are
+ * rescheduled for when the circuit half-opens, without counting as an attempt.
+ */
+@Extension
+@Restricted(NoExternalUse.class)
+public class CallbackOutbox {
+    private static final Logger logger = Logger.getLogger(CallbackOutbox.class.getName());
+
+    /**
+     * Number of threads sending callbacks.
+     */
+    static /*almost final*/ int THREADS = SystemProperties.getInteger(CallbackOutbox.class.getName() + ".threads", 2);
+    /**
+     * Max number of attempts to send a callback.
+     */
+    static /*almost final*/ int MAX_ATTEMPTS = SystemProperties.getInteger(CallbackOutbox.class.getName() + ".maxAttempts", 10);
+    /**
+     * Delay before the first retry, doubled for each following retry.
+     */
+    static /*almost final*/ long INITIAL_DELAY_MILLIS = SystemProperties.getLong(CallbackOutbox.class.getName() + ".initialDelayMillis", 1000L);
+    /**
+     * Max delay between retries.
+     */
+    static /*almost final*/ long MAX_DELAY_MILLIS = SystemProperties.getLong(CallbackOutbox.class.getName() + ".maxDelayMillis", TimeUnit.MINUTES.toMillis(5));
+    /**
+     * Number of sent and failed callbacks to remember.
+     */
+    static /*almost final*/ int HISTORY = SystemProperties.getInteger(CallbackOutbox.class.getName() + ".history", 100);
+
+    /**
+     * The callbacks by id, in the order they were added.
+     */
+    @GuardedBy("this")
+    private final Map<String, Callback> callbacks = new LinkedHashMap<>();
+
+    @GuardedBy("this")
+    private ScheduledThreadPoolExecutor executor;
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    @CheckForNull
+    public static CallbackOutbox getInstance() {
+        if (Jenkins.getInstanceOrNull() == null) {
+            return null;
+        }
+        ExtensionList<CallbackOutbox> list = ExtensionList.lookup(CallbackOutbox.class);
+        return list.isEmpty() ? null : list.get(0);
+    }
+
+    /**
+     * Adds a callback and sends it as soon as possible.
+     * If there already is a callback for the push it is not added again, but a pending one gets the new payload.
+     *
+     * @param id      the sha of the push
+     * @param url     where to post the payload
+     * @param payload the payload
+     * @return false if a callback for the push has already been sent or has failed
+     */
+    public boolean enqueue(@NonNull String id, @NonNull String url, @NonNull JSONObject payload) {
+        Callback callback;
+        synchronized (this) {
+            callback = callbacks.get(id);
+            if (callback != null) {
+                if (callback.state != State.PENDING) {
+                    logger.log(Level.FINE, "Ignoring duplicate callback for {0}", id);
+                    return false;
+                }
+                callback.payload = payload.toString();
+                save();
+                return true;
+            }
+            callback = new Callback(id, url, payload.toString(), System.currentTimeMillis());
+            callbacks.put(id, callback);
+            save();
+        }
+        schedule(callback, 0);
+        return true;
+    }
+
+    /**
+     * Sends a failed callback again.
+     *
+     * @param id the id of the callback
+     * @return false if there is no failed callback with that id
+     */
+    public boolean retry(@NonNull String id) {
+        Callback callback;
+        synchronized (this) {
+            callback = callbacks.get(id);
+            if (callback == null || callback.state != State.FAILED) {
+                return false;
+            }
+            callback.state = State.PENDING;
+            callback.attempts = 0;
+            callback.nextAttempt = System.currentTimeMillis();
+            save();
+        }
+        schedule(callback, 0);
+        return true;
+    }
+
+    /**
+     * All callbacks, the latest first.
+     *
+     * @return a copy of the callbacks
+     */
+    @NonNull
+    public List<Callback> getCallbacks() {
+        List<Callback> list;
+        synchronized (this) {
+            list = new ArrayList<>(callbacks.values());
+        }
+        Collections.reverse(list);
+        return list;
+    }
+
+    /**
+     * The callbacks in the given state, the latest first.
+     *
+     * @param state the state
+     * @return the callbacks
+     */
+    @NonNull
+    public List<Callback> getCallbacks(@NonNull State state) {
+        List<Callback> list = new ArrayList<>();
+        for (Callback callback : getCallbacks()) {
+            if (callback.getState() == state) {
+                list.add(callback);
+            }
+        }
+        return list;
+    }
+
+    @CheckForNull
+    public synchronized Callback getCallback(@NonNull String id) {
+        return callbacks.get(id);
+    }
+
+    private void schedule(@NonNull final Callback callback, long delayMillis) {
+        getExecutor().schedule(new Runnable() {
+            @Override
+            public void run() {
+                send(callback);
+            }
+        }, Math.max(0, delayMillis), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Makes one attempt to send the callback and schedules the next one if it should be retried.
+     */
+    void send(@NonNull Callback callback) {
+        String url;
+        String payload;
+        synchronized (this) {
+            if (callback.state != State.PENDING || callbacks.get(callback.id) != callback) {
+                return;
+            }
+            url = callback.url;
+            payload = callback.payload;
+        }
+        CircuitBreaker breaker = getCircuitBreaker(url);
+        long start = System.currentTimeMillis();
+        if (!breaker.tryAcquire(start)) {
+            Metrics.counter(Metrics.CALLBACKS, "outcome", "short_circuited").increment();
+            long delay = Math.max(breaker.getRetryAfterMillis(start), 1000L);
+            synchronized (this) {
+                callback.lastResult = "Circuit open for " + breaker.getHost();
+                callback.nextAttempt = start + delay;
+            }
+            schedule(callback, delay);
+            return;
+        }
+        int code = -1;
+        String error = null;
+        long startNanos = System.nanoTime();
+        try {
+            code = Http.post(url, JSONObject.fromObject(payload));
+        } catch (IOException | RuntimeException e) {
+            error = e.toString();
+            logger.log(Level.FINE, "Failed to send callback for " + callback.id + " to " + url, e);
+        }
+        Metrics.histogram(Metrics.CALLBACK_SECONDS).recordNanosSince(startNanos);
+        Metrics.counter(Metrics.CALLBACKS, "outcome", error != null ? "error" : String.valueOf(code)).increment();
+        long now = System.currentTimeMillis();
+        if (error == null && !isRetryable(code)) {
+            breaker.onSuccess(now - start, now);
+        } else {
+            breaker.onFailure(now);
+        }
+        long delay = -1;
+        synchronized (this) {
+            callback.attempts++;
+            callback.lastAttempt = System.currentTimeMillis();
+            callback.lastResult = error != null ? error : "HTTP " + code;
+            if (error == null && code >= 200 && code < 400) {
+                callback.state = State.SENT;
+                logger.log(Level.FINE, "Sent callback for {0}, {1} returned {2}", new Object[]{callback.id, url, code});
+            } else if ((error == null && !isRetryable(code)) || callback.attempts >= MAX_ATTEMPTS) {
+                callback.state = State.FAILED;
+                logger.log(Level.WARNING, "Giving up on the callback for {0} to {1} after {2} attempts: {3}",
+                           new Object[]{callback.id, url, callback.attempts, callback.lastResult});
+            } else {
+                delay = backoff(callback.attempts);
+                callback.nextAttempt = callback.lastAttempt + delay;
+            }
+            prune();
+            save();
+        }
+        if (delay >= 0) {
+            schedule(callback, delay);
+        }
+    }
+
+    /**
+     * The circuit breaker of the host of the url.
+     *
+     * @param url the callback url
+     * @return the breaker
+     */
+    @NonNull
+    CircuitBreaker getCircuitBreaker(@NonNull String url) {
+        String host;
+        try {
+            URI uri = new URI(url);
+            host = uri.getHost() != null ? uri.getHost() + (uri.getPort() >= 0 ? ":" + uri.getPort() : "") : url;
+        } catch (URISyntaxException e) {
+            host = url;
+        }
+        return breakers.computeIfAbsent(host, h -> {
+            CircuitBreaker breaker = new CircuitBreaker(h);
+            Metrics.gauge(Metrics.CALLBACK_CIRCUIT_STATE, () -> breaker.getState().ordinal(), "host", h);
+            return breaker;
+        });
+    }
+
+    /**
+     * The circuit breakers of all hosts that callbacks have been sent to.
+     *
+     * @return the breakers
+     */
+    @NonNull
+    public List<CircuitBreaker> getCircuitBreakers() {
+        return new ArrayList<>(breakers.values());
+    }
+
+    private static boolean isRetryable(int code) {
+        return code >= 500 || code == 408 || code == 429;
+    }
+
+    /**
+     * Exponential backoff with jitter, a random delay between half and all of the doubled delay.
+     *
+     * @param attempts number of failed attempts so far
+     * @return milliseconds until the next attempt
+     */
+    static long backoff(int attempts) {
+        long delay = INITIAL_DELAY_MILLIS;
+        for (int i = 1; i < attempts && delay < MAX_DELAY_MILLIS; i++) {
+            delay *= 2;
+        }
+        delay = Math.max(1L, Math.min(delay, MAX_DELAY_MILLIS));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    /**
+     * Forgets the oldest sent and failed callbacks above {@link #HISTORY}.
+     */
+    @GuardedBy("this")
+    private void prune() {
+        List<Callback> done = new ArrayList<>();
+        for (Callback callback : callbacks.values()) {
+            if (callback.state != State.PENDING) {
+                done.add(callback);
+            }
+        }
+        if (done.size() <= HISTORY) {
+            return;
+        }
+        done.sort(Comparator.comparingLong(Callback::getLastAttempt));
+        for (int i = 0; i < done.size() - HISTORY; i++) {
+            callbacks.remove(done.get(i).id);
+        }
+    }
+
+    @NonNull
+    XmlFile getFile() {
+        return new XmlFile(Jenkins.XSTREAM2,
+                new File(Jenkins.get().getRootDir(), "dockerhub-notification" + File.separator + "callbacks.xml"));
+    }
+
+    @GuardedBy("this")
+    private void save() {
+        try {
+            getFile().write(new ArrayList<>(callbacks.values()));
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to save the callback outbox", e);
+        }
+    }
+
+    /**
+     * Loads the saved callbacks and schedules the pending ones.
+     */
+    @SuppressWarnings("unchecked")
+    void load() {
+        XmlFile file = getFile();
+        if (!file.exists()) {
+            return;
+        }
+        List<Callback> pending = new ArrayList<>();
+        synchronized (this) {
+            try {
+                List<Callback> loaded = (List<Callback>) file.read();
+                for (Callback callback : loaded) {
+                    callbacks.put(callback.id, callback);
+                    if (callback.state == State.PENDING) {
+                        pending.add(callback);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.WARNING, "Failed to load the callback outbox", e);
+                return;
+            }
+        }
+        long now = System.currentTimeMillis();
+        for (Callback callback : pending) {
+            schedule(callback, callback.nextAttempt - now);
+        }
+        logger.log(Level.FINE, "Loaded {0} pending callbacks", pending.size());
+    }
+
+    @NonNull
+    private synchronized ScheduledThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            executor = new ScheduledThreadPoolExecutor(Math.max(1, THREADS),
+                    new NamingThreadFactory(new DaemonThreadFactory(), "DockerHub callback outbox"));
+            executor.setRemoveOnCancelPolicy(true);
+        }
+        return executor;
+    }
+
+    private void shutdown() {
+        ScheduledThreadPoolExecutor current;
+        synchronized (this) {
+            current = executor;
+            executor = null;
+        }
+        if (current != null) {
+            // pending callbacks are saved and rescheduled on the next start
+            current.shutdownNow();
+        }
+    }
+
+    @Initializer(after = InitMilestone.JOB_LOADED)
+    @Restricted(NoExternalUse.class)
+    public static void init() {
+        CallbackOutbox outbox = getInstance();
+        if (outbox != null) {
+            outbox.load();
+        }
+        // looks up the instance on each read so that the registry never holds on to an old one
+        Metrics.gauge(Metrics.CALLBACKS_PENDING, () -> {
+            CallbackOutbox current = getInstance();
+            return current != null ? current.getCallbacks(State.PENDING).size() : 0;
+        });
+    }
+
+    @Terminator
+    @Restricted(NoExternalUse.class)
+    public static void terminate() {
+        CallbackOutbox outbox = getInstance();
+        if (outbox != null) {
+            outbox.shutdown();
+        }
+    }
+
+    public enum State {
+        PENDING, SENT, FAILED
+    }
+
+    /**
+     * One callback and the outcome of the attempts to send it.
+     */
+    public static class Callback {
+        @NonNull
+        private final String id;
+        @NonNull
+        private final String url;
+        @NonNull
+        private String payload;
+        private final long created;
+        @NonNull
+        private State state = State.PENDING;
+        private int attempts;
+        private long lastAttempt;
+        private long nextAttempt;
+        @CheckForNull
+        private String lastResult;
+
+        Callback(@NonNull String id, @NonNull String url, @NonNull String payload, long created) {
+            this.id = id;
+            this.url = url;
+            this.payload = payload;
+            this.created = created;
+            this.nextAttempt = created;
+        }
+
+        @NonNull
+        public String getId() {
+            return id;
+        }
+
+        @NonNull
+        public String getUrl() {
+            return url;
+        }
+
+        @NonNull
+        public String getPayload() {
+            return payload;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+
+        @NonNull
+        public State getState() {
+            return state;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        public long getLastAttempt() {
+            return lastAttempt;
+        }
+
+        public long getNextAttempt() {
+            return nextAttempt;
+        }
+
+        @CheckForNull
+        public String getLastResult() {
+            return lastResult;
+        }
+
+        @Override
+        public String toString() {
+            return "Callback{" +
+                    "id='" + id + '\'' +
+                    ", url='" + url + '\'' +
+                    ", state=" + state +
+                    ", attempts=" + attempts +
+                    '}';
+        }
+    }
+}
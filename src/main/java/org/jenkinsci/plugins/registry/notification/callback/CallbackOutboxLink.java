@@ -0,0 +1,128 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.callback;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.ManagementLink;
+import hudson.security.Permission;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.registry.notification.Messages;
+import org.jenkinsci.plugins.registry.notification.webhook.Http;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.verb.POST;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Shows the {@link CallbackOutbox} on the Manage Jenkins page.
+ */
+@Extension
+@Restricted(NoExternalUse.class)
+public class CallbackOutboxLink extends ManagementLink {
+
+    @Override
+    public String getIconFileName() {
+        return "symbol-clipboard";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return Messages.CallbackOutboxLink_DisplayName();
+    }
+
+    @Override
+    public String getDescription() {
+        return Messages.CallbackOutboxLink_Description();
+    }
+
+    @Override
+    public String getUrlName() {
+        return "dockerhub-callbacks";
+    }
+
+    @NonNull
+    @Override
+    public Permission getRequiredPermission() {
+        return Jenkins.ADMINISTER;
+    }
+
+    @NonNull
+    @Override
+    public Category getCategory() {
+        return Category.STATUS;
+    }
+
+    @NonNull
+    public List<CallbackOutbox.Callback> getCallbacks(@NonNull String state) {
+        CallbackOutbox outbox = CallbackOutbox.getInstance();
+        if (outbox == null) {
+            return Collections.emptyList();
+        }
+        return outbox.getCallbacks(CallbackOutbox.State.valueOf(state));
+    }
+
+    @NonNull
+    public List<CircuitBreaker> getCircuitBreakers() {
+        CallbackOutbox outbox = CallbackOutbox.getInstance();
+        if (outbox == null) {
+            return Collections.emptyList();
+        }
+        return outbox.getCircuitBreakers();
+    }
+
+    /**
+     * Connections in the pool of the shared HTTP client.
+     *
+     * @return the number of open connections
+     */
+    public int getConnectionCount() {
+        return Http.getConnectionCount();
+    }
+
+    /**
+     * Idle connections in the pool of the shared HTTP client, available for reuse.
+     *
+     * @return the number of idle connections
+     */
+    public int getIdleConnectionCount() {
+        return Http.getIdleConnectionCount();
+    }
+
+    @POST
+    public HttpResponse doRetry(@CheckForNull @QueryParameter String id) {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+        CallbackOutbox outbox = CallbackOutbox.getInstance();
+        if (outbox != null && id != null) {
+            outbox.retry(id);
+        }
+        return HttpResponses.redirectToDot();
+    }
+}
@@ -0,0 +1,197 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.callback;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import jenkins.util.SystemProperties;
+import net.jcip.annotations.GuardedBy;
+import org.jenkinsci.plugins.registry.notification.metrics.Metrics;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Circuit breaker for the callbacks to one host.
+ *
+ * The circuit opens after {@link #FAILURE_THRESHOLD} consecutive failed or slow calls, and calls are then
+ * short-circuited for {@link #OPEN_MILLIS}. After that one trial call is let through (half-open), which closes the
+ * circuit if it succeeds or opens it again if it fails.
+ */
+@Restricted(NoExternalUse.class)
+public class CircuitBreaker {
+    private static final Logger logger = Logger.getLogger(CircuitBreaker.class.getName());
+
+    /**
+     * Number of consecutive failures that opens the circuit.
+     */
+    static /*almost final*/ int FAILURE_THRESHOLD = SystemProperties.getInteger(CircuitBreaker.class.getName() + ".failureThreshold", 5);
+    /**
+     * Calls taking at least this many milliseconds count as failures.
+     */
+    static /*almost final*/ long SLOW_CALL_MILLIS = SystemProperties.getLong(CircuitBreaker.class.getName() + ".slowCallMillis", 10000L);
+    /**
+     * How long the circuit stays open before a trial call is let through.
+     */
+    static /*almost final*/ long OPEN_MILLIS = SystemProperties.getLong(CircuitBreaker.class.getName() + ".openMillis", 60000L);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    @NonNull
+    private final String host;
+    @GuardedBy("this")
+    @NonNull
+    private State state = State.CLOSED;
+    @GuardedBy("this")
+    private int consecutiveFailures;
+    @GuardedBy("this")
+    private long openedAt;
+    @GuardedBy("this")
+    private boolean trialInFlight;
+    @GuardedBy("this")
+    private long opened;
+    @GuardedBy("this")
+    private long shortCircuited;
+
+    public CircuitBreaker(@NonNull String host) {
+        this.host = host;
+    }
+
+    @NonNull
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * If a call may be made now. Moves an open circuit to half-open once {@link #OPEN_MILLIS} has passed.
+     *
+     * @param now the current time
+     * @return false if the call should be short-circuited
+     */
+    public synchronized boolean tryAcquire(long now) {
+        switch (state) {
+            case OPEN:
+                if (now - openedAt >= OPEN_MILLIS) {
+                    transition(State.HALF_OPEN);
+                    trialInFlight = true;
+                    return true;
+                }
+                shortCircuited++;
+                return false;
+            case HALF_OPEN:
+                if (trialInFlight) {
+                    shortCircuited++;
+                    return false;
+                }
+                trialInFlight = true;
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Records a call that got a response.
+     *
+     * @param latencyMillis how long the call took
+     * @param now           the current time
+     */
+    public synchronized void onSuccess(long latencyMillis, long now) {
+        if (latencyMillis >= SLOW_CALL_MILLIS) {
+            onFailure(now);
+            return;
+        }
+        trialInFlight = false;
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            transition(State.CLOSED);
+        }
+    }
+
+    /**
+     * Records a call that failed or timed out.
+     *
+     * @param now the current time
+     */
+    public synchronized void onFailure(long now) {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= FAILURE_THRESHOLD)) {
+            transition(State.OPEN);
+            openedAt = now;
+            opened++;
+        }
+    }
+
+    /**
+     * Milliseconds until a trial call will be let through.
+     *
+     * @param now the current time
+     * @return 0 unless the circuit is open
+     */
+    public synchronized long getRetryAfterMillis(long now) {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, openedAt + OPEN_MILLIS - now);
+    }
+
+    @GuardedBy("this")
+    private void transition(@NonNull State to) {
+        logger.log(to == State.OPEN ? Level.WARNING : Level.INFO, "Callback circuit for {0} changed from {1} to {2} after {3} consecutive failures",
+                   new Object[]{host, state, to, consecutiveFailures});
+        state = to;
+        Metrics.counter(Metrics.CALLBACK_CIRCUIT_TRANSITIONS, "host", host, "to", to.name()).increment();
+    }
+
+    @NonNull
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * Number of times the circuit has opened.
+     *
+     * @return the count
+     */
+    public synchronized long getOpened() {
+        return opened;
+    }
+
+    /**
+     * Number of calls that were not made because the circuit was open.
+     *
+     * @return the count
+     */
+    public synchronized long getShortCircuited() {
+        return shortCircuited;
+    }
+}
@@ -0,0 +1,307 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.metrics;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Counters, gauges and histograms of the web hook pipeline.
+ *
+ * Each series is a metric name and a list of label name/value pairs. Looking a series up costs one map lookup,
+ * recording is done on {@link LongAdder}s. Histograms of durations are recorded in nanoseconds and exported
+ * in seconds. Exported by {@link MetricsAction} in the Prometheus text format and by {@link MetricsMBean} over JMX.
+ */
+@Restricted(NoExternalUse.class)
+public final class Metrics {
+    private static final Logger logger = Logger.getLogger(Metrics.class.getName());
+
+    public static final String PREFIX = "dockerhub_notification_";
+
+    public static final String WEBHOOK_REQUESTS = "webhook_requests_total";
+    public static final String WEBHOOK_BODY_BYTES = "webhook_body_bytes";
+    public static final String WEBHOOK_PARSE_SECONDS = "webhook_parse_seconds";
+    public static final String WEBHOOK_MATCH_SECONDS = "webhook_match_seconds";
+    public static final String WEBHOOK_MATCHED_JOBS = "webhook_matched_jobs";
+    public static final String WEBHOOK_SCHEDULE_SECONDS = "webhook_schedule_seconds";
+    public static final String STORE_SAVE_SECONDS = "trigger_store_save_seconds";
+    public static final String CALLBACK_SECONDS = "callback_seconds";
+    public static final String CALLBACKS = "callbacks_total";
+    public static final String CALLBACK_CIRCUIT_TRANSITIONS = "callback_circuit_transitions_total";
+    public static final String CALLBACK_CIRCUIT_STATE = "callback_circuit_state";
+    public static final String REPO_NAMES_CACHE_HITS = "repo_names_cache_hits_total";
+    public static final String REPO_NAMES_CACHE_MISSES = "repo_names_cache_misses_total";
+    public static final String TRIGGER_STORE_PENDING = "trigger_store_pending";
+    public static final String TRIGGER_STORE_DIRTY = "trigger_store_dirty";
+    public static final String CALLBACKS_PENDING = "callbacks_pending";
+    public static final String HTTP_CONNECTIONS = "http_connections";
+    public static final String HTTP_IDLE_CONNECTIONS = "http_idle_connections";
+    public static final String TRIGGER_LATENCY_SECONDS = "trigger_latency_seconds";
+    public static final String JOB_TRIGGER_LATENCY_SECONDS = "job_trigger_latency_seconds";
+
+    private static final Map<String, String> HELP = new HashMap<>();
+    private static final Map<String, Double> SCALE = new HashMap<>();
+
+    static {
+        describe(WEBHOOK_REQUESTS, "Web hook requests by endpoint and outcome", 1);
+        describe(WEBHOOK_BODY_BYTES, "Size of web hook request bodies", 1);
+        describe(WEBHOOK_PARSE_SECONDS, "Time to parse a web hook payload", 1e-9);
+        describe(WEBHOOK_MATCH_SECONDS, "Time to find the jobs triggered by a push", 1e-9);
+        describe(WEBHOOK_MATCHED_JOBS, "Number of jobs triggered by a push", 1);
+        describe(WEBHOOK_SCHEDULE_SECONDS, "Time to schedule the jobs triggered by a push", 1e-9);
+        describe(STORE_SAVE_SECONDS, "Time to save a change to the triggered builds", 1e-9);
+        describe(CALLBACK_SECONDS, "Time to send a callback", 1e-9);
+        describe(CALLBACKS, "Callback attempts by outcome", 1);
+        describe(CALLBACK_CIRCUIT_TRANSITIONS, "Callback circuit breaker state changes by host and new state", 1);
+        describe(CALLBACK_CIRCUIT_STATE, "Callback circuit breaker state by host, 0 closed, 1 open, 2 half-open", 1);
+        describe(REPO_NAMES_CACHE_HITS, "Lookups of the repositories of a trigger answered from the cache", 1);
+        describe(REPO_NAMES_CACHE_MISSES, "Lookups of the repositories of a trigger that computed them", 1);
+        describe(TRIGGER_STORE_PENDING, "Pushes with builds that are not done", 1);
+        describe(TRIGGER_STORE_DIRTY, "Pushes with changes not yet written in write-behind mode", 1);
+        describe(CALLBACKS_PENDING, "Callbacks waiting to be sent", 1);
+        describe(HTTP_CONNECTIONS, "Open connections of the shared HTTP client", 1);
+        describe(HTTP_IDLE_CONNECTIONS, "Idle connections of the shared HTTP client", 1);
+        describe(TRIGGER_LATENCY_SECONDS, "Time from a push to the builds it triggered by repository and stage", 1e-3);
+        describe(JOB_TRIGGER_LATENCY_SECONDS, "Time from a push to the builds it triggered by job and stage", 1e-3);
+    }
+
+    /**
+     * All series by {@link #key(String, String...)}, sorted so that the series of one metric are adjacent.
+     */
+    private static final ConcurrentSkipListMap<String, Series> series = new ConcurrentSkipListMap<>();
+
+    private Metrics() {
+    }
+
+    private static void describe(String name, String help, double scale) {
+        HELP.put(name, help);
+        SCALE.put(name, scale);
+    }
+
+    @NonNull
+    public static LongAdder counter(@NonNull String name, @NonNull String... labels) {
+        return (LongAdder) get(name, labels, Type.COUNTER).metric;
+    }
+
+    /**
+     * Registers a counter kept elsewhere, read when the metrics are exported, replacing any previous one of the same series.
+     * The supplier must only ever increase.
+     *
+     * @param name     the metric
+     * @param supplier the count
+     * @param labels   label name and value pairs
+     */
+    public static void counter(@NonNull String name, @NonNull LongSupplier supplier, @NonNull String... labels) {
+        series.put(key(name, labels), new Series(name, labels, Type.COUNTER, supplier));
+    }
+
+    @NonNull
+    public static Histogram histogram(@NonNull String name, @NonNull String... labels) {
+        return (Histogram) get(name, labels, Type.HISTOGRAM).metric;
+    }
+
+    /**
+     * Looks up a histogram without creating it.
+     *
+     * @param name   the metric
+     * @param labels label name and value pairs
+     * @return the histogram, or null if nothing has been recorded in it
+     */
+    @CheckForNull
+    public static Histogram findHistogram(@NonNull String name, @NonNull String... labels) {
+        Series s = series.get(key(name, labels));
+        return s != null && s.type == Type.HISTOGRAM ? (Histogram) s.metric : null;
+    }
+
+    /**
+     * Removes a series, e.g. when what it measures is gone.
+     *
+     * @param name   the metric
+     * @param labels label name and value pairs
+     */
+    public static void remove(@NonNull String name, @NonNull String... labels) {
+        series.remove(key(name, labels));
+    }
+
+    /**
+     * Registers a value that is read when the metrics are exported, replacing any previous one of the same series.
+     *
+     * @param name     the metric
+     * @param supplier the value
+     * @param labels   label name and value pairs
+     */
+    public static void gauge(@NonNull String name, @NonNull LongSupplier supplier, @NonNull String... labels) {
+        series.put(key(name, labels), new Series(name, labels, Type.GAUGE, supplier));
+    }
+
+    @NonNull
+    private static Series get(@NonNull String name, @NonNull String[] labels, @NonNull Type type) {
+        String key = key(name, labels);
+        Series s = series.get(key);
+        if (s == null) {
+            s = series.computeIfAbsent(key, k -> new Series(name, labels, type,
+                    type == Type.COUNTER ? new LongAdder() : new Histogram()));
+        }
+        return s;
+    }
+
+    @NonNull
+    static String key(@NonNull String name, @NonNull String... labels) {
+        if (labels.length == 0) {
+            return name;
+        }
+        StringBuilder b = new StringBuilder(name).append('{');
+        for (int i = 0; i + 1 < labels.length; i += 2) {
+            if (i > 0) {
+                b.append(',');
+            }
+            b.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+        }
+        return b.append('}').toString();
+    }
+
+    @NonNull
+    private static String escape(@NonNull String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Writes all series in the Prometheus text format. Histograms are written as summaries.
+     *
+     * @param w where to write
+     * @throws IOException if so
+     */
+    public static void writePrometheus(@NonNull Writer w) throws IOException {
+        String current = null;
+        for (Series s : series.values()) {
+            String name = PREFIX + s.name;
+            if (!s.name.equals(current)) {
+                current = s.name;
+                String help = HELP.get(s.name);
+                if (help != null) {
+                    w.write("# HELP " + name + " " + help + "\n");
+                }
+                w.write("# TYPE " + name + " " + (s.type == Type.HISTOGRAM ? "summary" : s.type.name().toLowerCase()) + "\n");
+            }
+            double scale = SCALE.getOrDefault(s.name, 1d);
+            if (s.type == Type.HISTOGRAM) {
+                Histogram h = (Histogram) s.metric;
+                for (double q : new double[]{0.5, 0.9, 0.99}) {
+                    w.write(name + labels(s.labels, "quantile", String.valueOf(q)) + " " + format(h.getValueAtQuantile(q) * scale) + "\n");
+                }
+                w.write(name + "_sum" + labels(s.labels) + " " + format(h.getSum() * scale) + "\n");
+                w.write(name + "_count" + labels(s.labels) + " " + h.getCount() + "\n");
+            } else {
+                w.write(name + labels(s.labels) + " " + format(s.value() * scale) + "\n");
+            }
+        }
+    }
+
+    /**
+     * The current values of all series. Histograms give their count, sum, max and quantiles.
+     *
+     * @return values by series key
+     */
+    @NonNull
+    public static Map<String, Number> snapshot() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Series> e : series.entrySet()) {
+            Series s = e.getValue();
+            double scale = SCALE.getOrDefault(s.name, 1d);
+            if (s.type == Type.HISTOGRAM) {
+                Histogram h = (Histogram) s.metric;
+                values.put(e.getKey() + ".count", h.getCount());
+                values.put(e.getKey() + ".sum", h.getSum() * scale);
+                values.put(e.getKey() + ".max", h.getMax() * scale);
+                values.put(e.getKey() + ".p50", h.getValueAtQuantile(0.5) * scale);
+                values.put(e.getKey() + ".p99", h.getValueAtQuantile(0.99) * scale);
+            } else {
+                values.put(e.getKey(), s.value());
+            }
+        }
+        return values;
+    }
+
+    @NonNull
+    private static String labels(@NonNull String[] labels, @NonNull String... extra) {
+        if (labels.length == 0 && extra.length == 0) {
+            return "";
+        }
+        String[] all = new String[labels.length + extra.length];
+        System.arraycopy(labels, 0, all, 0, labels.length);
+        System.arraycopy(extra, 0, all, labels.length, extra.length);
+        return key("", all);
+    }
+
+    @NonNull
+    private static String format(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15) {
+            return String.valueOf((long) value);
+        }
+        return String.valueOf(value);
+    }
+
+    private enum Type {
+        COUNTER, GAUGE, HISTOGRAM
+    }
+
+    private static final class Series {
+        private final String name;
+        private final String[] labels;
+        private final Type type;
+        private final Object metric;
+
+        Series(String name, String[] labels, Type type, Object metric) {
+            this.name = name;
+            this.labels = labels.clone();
+            this.type = type;
+            this.metric = metric;
+        }
+
+        long value() {
+            if (metric instanceof LongAdder) {
+                return ((LongAdder) metric).sum();
+            }
+            try {
+                return ((LongSupplier) metric).getAsLong();
+            } catch (RuntimeException e) {
+                logger.log(Level.FINE, "Failed to read " + name, e);
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.metrics;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import jenkins.util.SystemProperties;
+import net.jcip.annotations.GuardedBy;
+import org.jenkinsci.plugins.registry.notification.TriggerStore.TriggerEntry.RunEntry;
+import org.jenkinsci.plugins.registry.notification.webhook.PushNotification;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Time from a push in the registry to the builds it triggered, in milliseconds,
+ * by repository in {@link Metrics#TRIGGER_LATENCY_SECONDS} and by job in {@link Metrics#JOB_TRIGGER_LATENCY_SECONDS}.
+ * Only the {@link #MAX_REPOSITORIES} most recently pushed repositories and the {@link #MAX_JOBS} most recently
+ * triggered jobs are kept, the series of the others are removed.
+ *
+ * The way is split into stages, each measured from the end of the previous one:
+ * {@link #RECEIVED} the web hook was received, {@link #QUEUED} the build was scheduled,
+ * {@link #STARTED} the build started running and {@link #FINISHED} the build was done.
+ * {@link #PUSH_TO_START} and {@link #PUSH_TO_FINISH} are measured from the push.
+ * A stage is skipped when one of its ends is unknown, e.g. registries that don't send the time of the push.
+ */
+@Restricted(NoExternalUse.class)
+public final class TriggerLatency {
+    public static final String RECEIVED = "received";
+    public static final String QUEUED = "queued";
+    public static final String STARTED = "started";
+    public static final String FINISHED = "finished";
+    public static final String PUSH_TO_START = "push_to_start";
+    public static final String PUSH_TO_FINISH = "push_to_finish";
+
+    private static final String[] STAGES = {RECEIVED, QUEUED, STARTED, FINISHED, PUSH_TO_START, PUSH_TO_FINISH};
+
+    /**
+     * Max number of repositories to keep latencies for.
+     */
+    static /*almost final*/ int MAX_REPOSITORIES = SystemProperties.getInteger(TriggerLatency.class.getName() + ".maxRepositories", 1000);
+
+    /**
+     * Max number of jobs to keep latencies for.
+     */
+    static /*almost final*/ int MAX_JOBS = SystemProperties.getInteger(TriggerLatency.class.getName() + ".maxJobs", 1000);
+
+    /**
+     * The repositories with latencies, least recently recorded first.
+     */
+    @GuardedBy("repositories")
+    private static final Map<String, Boolean> repositories = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            if (size() > Math.max(1, MAX_REPOSITORIES)) {
+                for (String stage : STAGES) {
+                    Metrics.remove(Metrics.TRIGGER_LATENCY_SECONDS, "repository", eldest.getKey(), "stage", stage);
+                }
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * The jobs with latencies, least recently recorded first.
+     */
+    @GuardedBy("jobs")
+    private static final Map<String, Boolean> jobs = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            if (size() > Math.max(1, MAX_JOBS)) {
+                for (String stage : STAGES) {
+                    Metrics.remove(Metrics.JOB_TRIGGER_LATENCY_SECONDS, "job", eldest.getKey(), "stage", stage);
+                }
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private TriggerLatency() {
+    }
+
+    /**
+     * Records the time from the push until the web hook was received.
+     *
+     * @param pushNotification the push
+     */
+    public static void received(@NonNull PushNotification pushNotification) {
+        record(pushNotification.getRepoName(), RECEIVED, pushedAt(pushNotification), pushNotification.getReceived());
+    }
+
+    /**
+     * Records the stages up to the start of the build.
+     *
+     * @param pushNotification the push
+     * @param run              the started build, with {@link RunEntry#getQueued()} and {@link RunEntry#getStarted()} set
+     */
+    public static void started(@NonNull PushNotification pushNotification, @NonNull RunEntry run) {
+        String repository = pushNotification.getRepoName();
+        record(repository, run.getJobName(), QUEUED, pushNotification.getReceived(), run.getQueued());
+        record(repository, run.getJobName(), STARTED, run.getQueued(), run.getStarted());
+        record(repository, run.getJobName(), PUSH_TO_START, pushedAt(pushNotification), run.getStarted());
+    }
+
+    /**
+     * Records the stages up to the end of the build.
+     *
+     * @param pushNotification the push
+     * @param run              the done build, with {@link RunEntry#getFinished()} set
+     */
+    public static void finished(@NonNull PushNotification pushNotification, @NonNull RunEntry run) {
+        String repository = pushNotification.getRepoName();
+        record(repository, run.getJobName(), FINISHED, run.getStarted(), run.getFinished());
+        record(repository, run.getJobName(), PUSH_TO_FINISH, pushedAt(pushNotification), run.getFinished());
+    }
+
+    /**
+     * The recorded latencies of a stage for a repository.
+     *
+     * @param repository the repository
+     * @param stage      the stage
+     * @return the latencies in milliseconds, or null if none have been recorded
+     */
+    @CheckForNull
+    public static Histogram get(@NonNull String repository, @NonNull String stage) {
+        return Metrics.findHistogram(Metrics.TRIGGER_LATENCY_SECONDS, "repository", repository, "stage", stage);
+    }
+
+    /**
+     * The recorded latencies of a stage for a job.
+     *
+     * @param job   the full name of the job
+     * @param stage the stage
+     * @return the latencies in milliseconds, or null if none have been recorded
+     */
+    @CheckForNull
+    public static Histogram getByJob(@NonNull String job, @NonNull String stage) {
+        return Metrics.findHistogram(Metrics.JOB_TRIGGER_LATENCY_SECONDS, "job", job, "stage", stage);
+    }
+
+    private static long pushedAt(@NonNull PushNotification pushNotification) {
+        Date pushedAt = pushNotification.getPushedAt();
+        return pushedAt != null ? pushedAt.getTime() : 0;
+    }
+
+    static void record(@NonNull String repository, @NonNull String stage, long from, long to) {
+        record(repository, null, stage, from, to);
+    }
+
+    /**
+     * The histograms are created with the repository or job marked as recent, under the same lock as the eviction,
+     * so that a series is never created for a repository or job that was just evicted.
+     */
+    static void record(@NonNull String repository, @CheckForNull String job, @NonNull String stage, long from, long to) {
+        if (from <= 0 || to <= 0) {
+            return;
+        }
+        // clocks of the registry and Jenkins may differ
+        long millis = Math.max(0, to - from);
+        Histogram byRepository;
+        synchronized (repositories) {
+            repositories.put(repository, Boolean.TRUE);
+            byRepository = Metrics.histogram(Metrics.TRIGGER_LATENCY_SECONDS, "repository", repository, "stage", stage);
+        }
+        byRepository.record(millis);
+        if (job != null) {
+            Histogram byJob;
+            synchronized (jobs) {
+                jobs.put(job, Boolean.TRUE);
+                byJob = Metrics.histogram(Metrics.JOB_TRIGGER_LATENCY_SECONDS, "job", job, "stage", stage);
+            }
+            byJob.record(millis);
+        }
+    }
+}
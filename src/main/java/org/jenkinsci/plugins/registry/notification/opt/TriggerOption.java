@@ -28,6 +28,7 @@ import hudson.model.AbstractDescribableImpl;
 import hudson.model.Job;
 
 import java.util.Collection;
+import java.util.Collections;
 
 /**
  * A base option in the trigger config.
@@ -37,4 +38,16 @@ import java.util.Collection;
 public abstract class TriggerOption extends AbstractDescribableImpl<TriggerOption> {
     @NonNull
     public abstract Collection<String> getRepoNames(Job<?,?> job);
+
+    /**
+     * Glob patterns of repository names the job is triggered by, in addition to {@link #getRepoNames(Job)}.
+     *
+     * @param job the job
+     * @return the patterns, empty by default.
+     * @see org.jenkinsci.plugins.registry.notification.RepoPatternTrie
+     */
+    @NonNull
+    public Collection<String> getRepoPatterns(Job<?,?> job) {
+        return Collections.emptySet();
+    }
 }
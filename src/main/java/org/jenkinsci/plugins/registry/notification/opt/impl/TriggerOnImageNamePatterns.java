@@ -0,0 +1,102 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.opt.impl;
+
+import hudson.Extension;
+import hudson.model.Job;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.plugins.registry.notification.Messages;
+import org.jenkinsci.plugins.registry.notification.opt.TriggerOption;
+import org.jenkinsci.plugins.registry.notification.opt.TriggerOptionDescriptor;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.StaplerRequest2;
+
+import java.util.*;
+
+/**
+ * {@link TriggerOption} with glob patterns of repository names, like {@code registry.local/team-*}{@code /base} or {@code myorg/**}.
+ *
+ * @see org.jenkinsci.plugins.registry.notification.RepoPatternTrie
+ */
+public class TriggerOnImageNamePatterns extends TriggerOption {
+    private Set<String> patterns;
+
+    @DataBoundConstructor
+    public TriggerOnImageNamePatterns() {
+        this.patterns = Collections.emptySet();
+    }
+
+    public TriggerOnImageNamePatterns(Collection<String> patterns) {
+        this.patterns = new HashSet<String>();
+        if (patterns != null) {
+            this.patterns.addAll(patterns);
+        }
+    }
+
+    public TriggerOnImageNamePatterns(String... patterns) {
+        this(Arrays.asList(patterns));
+    }
+
+    public Set<String> getPatterns() {
+        return patterns;
+    }
+
+    @DataBoundSetter
+    public void setPatterns(Set<String> patterns) {
+        this.patterns = patterns;
+    }
+
+    @Override
+    public Collection<String> getRepoNames(Job<?, ?> job) {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public Collection<String> getRepoPatterns(Job<?, ?> job) {
+        return patterns != null ? patterns : Collections.<String>emptySet();
+    }
+
+    @Extension
+    public static class DescriptorImpl extends TriggerOptionDescriptor {
+        @Override
+        public String getDisplayName() {
+            return Messages.TriggerOption_TriggerOnImageNamePatterns_DisplayName();
+        }
+
+        @Override
+        public TriggerOption newInstance(StaplerRequest2 req, JSONObject formData) throws FormException {
+            if (formData.has("patterns") && !StringUtils.isBlank(formData.optString("patterns"))) {
+                JSONArray array = new JSONArray();
+                array.addAll(Arrays.asList(StringUtils.split(formData.getString("patterns"))));
+                formData.put("patterns", array);
+            } else {
+                formData.put("patterns", new JSONArray());
+            }
+            return super.newInstance(req, formData);
+        }
+    }
+}
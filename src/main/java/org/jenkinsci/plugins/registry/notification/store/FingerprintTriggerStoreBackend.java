@@ -0,0 +1,227 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.store;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.Fingerprint;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.registry.notification.TriggerStore.TriggerEntry;
+import org.jenkinsci.plugins.registry.notification.webhook.PushNotification;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keeps each {@link TriggerEntry} as a facet of a {@link Fingerprint} with the same id as the push.
+ * The default backend.
+ */
+@Extension
+public class FingerprintTriggerStoreBackend extends TriggerStoreBackend {
+    public static final String NAME = "fingerprint";
+
+    /**
+     * How the facet is named in the fingerprint XML, used to find the fingerprints with entries without loading them all.
+     */
+    private static final String FACET_ELEMENT = "TriggerStore_-TriggerEntry";
+
+    @NonNull
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @CheckForNull
+    @Override
+    public TriggerEntry get(@NonNull String sha) throws IOException, InterruptedException {
+        Fingerprint fingerprint = Jenkins.get().getFingerprintMap().get(sha);
+        if (fingerprint == null) {
+            return null;
+        }
+        return fingerprint.getFacet(TriggerEntry.class);
+    }
+
+    @NonNull
+    @Override
+    public TriggerEntry getOrCreate(@NonNull PushNotification pushNotification, @NonNull String sha) throws IOException, InterruptedException {
+        Fingerprint fingerprint = Jenkins.get().getFingerprintMap().getOrCreate(null, pushNotification.getRepoName(), sha);
+        TriggerEntry entry = fingerprint.getFacet(TriggerEntry.class);
+        if (entry == null) {
+            fingerprint.getFacets().add(entry = new TriggerEntry(fingerprint, pushNotification));
+        }
+        return entry;
+    }
+
+    @Override
+    public void save(@NonNull TriggerEntry entry) throws IOException, InterruptedException {
+        entry.getFingerprint().save();
+    }
+
+    /**
+     * Removes the facet and saves the fingerprint, or deletes the fingerprint when nothing else uses it.
+     * The fingerprint may still be cached in memory after it is deleted, but without the facet.
+     */
+    @Override
+    public long remove(@NonNull String sha) throws IOException, InterruptedException {
+        Fingerprint fingerprint = Jenkins.get().getFingerprintMap().get(sha);
+        if (fingerprint == null) {
+            return 0;
+        }
+        TriggerEntry entry = fingerprint.getFacet(TriggerEntry.class);
+        if (entry == null) {
+            return 0;
+        }
+        File file = getFile(sha);
+        // only known for the default file storage, at least 1 so that the removal is counted
+        long before = file.length();
+        fingerprint.getFacets().remove(entry);
+        if (fingerprint.getFacets().isEmpty() && fingerprint.getJobs().isEmpty() && fingerprint.getOriginal() == null) {
+            Fingerprint.delete(sha);
+            return Math.max(1, before);
+        }
+        fingerprint.save();
+        return Math.max(1, before - file.length());
+    }
+
+    @NonNull
+    private static File getRoot() {
+        return new File(Jenkins.get().getRootDir(), "fingerprints");
+    }
+
+    /**
+     * The file of the fingerprint in the default file storage.
+     */
+    @NonNull
+    private static File getFile(@NonNull String sha) {
+        return new File(getRoot(), sha.substring(0, 2) + "/" + sha.substring(2, 4) + "/" + sha.substring(4) + ".xml");
+    }
+
+    /**
+     * Scans the fingerprint directory for fingerprints with a {@link TriggerEntry}.
+     * Only finds anything when fingerprints are stored in the default file storage.
+     *
+     * @return the shas
+     * @throws IOException if the directory could not be read
+     */
+    @NonNull
+    @Override
+    public List<String> getShas() throws IOException {
+        File root = getRoot();
+        List<String> shas = new ArrayList<>();
+        if (!root.isDirectory()) {
+            return shas;
+        }
+        try (Stream<Path> files = Files.walk(root.toPath(), 3)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String sha = toSha(root.toPath(), file);
+                if (sha != null && new String(Files.readAllBytes(file), StandardCharsets.UTF_8).contains(FACET_ELEMENT)) {
+                    shas.add(sha);
+                }
+            }
+        }
+        return shas;
+    }
+
+    /**
+     * Walks the fingerprint directory in order, reading at most {@code limit} fingerprint files.
+     * Only finds anything when fingerprints are stored in the default file storage.
+     */
+    @NonNull
+    @Override
+    public Chunk getShas(@CheckForNull String after, int limit) throws IOException {
+        File root = getRoot();
+        List<String> shas = new ArrayList<>();
+        int read = 0;
+        String last = null;
+        for (String first : sortedNames(root)) {
+            if (after != null && first.compareTo(prefix(after, 2)) < 0) {
+                continue;
+            }
+            for (String second : sortedNames(new File(root, first))) {
+                if (after != null && (first + second).compareTo(prefix(after, 4)) < 0) {
+                    continue;
+                }
+                for (String name : sortedNames(new File(root, first + "/" + second))) {
+                    if (!name.endsWith(".xml")) {
+                        continue;
+                    }
+                    String sha = first + second + name.substring(0, name.length() - ".xml".length());
+                    if (after != null && sha.compareTo(after) <= 0) {
+                        continue;
+                    }
+                    if (read >= Math.max(1, limit)) {
+                        return new Chunk(shas, last);
+                    }
+                    Path file = new File(root, first + "/" + second + "/" + name).toPath();
+                    if (Files.isRegularFile(file)) {
+                        read++;
+                        last = sha;
+                        if (new String(Files.readAllBytes(file), StandardCharsets.UTF_8).contains(FACET_ELEMENT)) {
+                            shas.add(sha);
+                        }
+                    }
+                }
+            }
+        }
+        return new Chunk(shas, null);
+    }
+
+    @NonNull
+    private static String prefix(@NonNull String sha, int length) {
+        return sha.substring(0, Math.min(length, sha.length()));
+    }
+
+    @NonNull
+    private static List<String> sortedNames(@NonNull File dir) {
+        String[] names = dir.list();
+        if (names == null) {
+            return Collections.emptyList();
+        }
+        Arrays.sort(names);
+        return Arrays.asList(names);
+    }
+
+    /**
+     * The fingerprint id of a file stored as {@code fingerprints/ab/cd/efgh….xml}.
+     */
+    @CheckForNull
+    private static String toSha(@NonNull Path root, @NonNull Path file) {
+        Path relative = root.relativize(file);
+        String name = relative.getFileName().toString();
+        if (relative.getNameCount() != 3 || !name.endsWith(".xml") || !Files.isRegularFile(file)) {
+            return null;
+        }
+        return relative.getName(0).toString() + relative.getName(1).toString()
+                + name.substring(0, name.length() - ".xml".length());
+    }
+}
@@ -0,0 +1,365 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.store;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.init.Terminator;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.TaskListener;
+import hudson.util.AtomicFileWriter;
+import jenkins.model.Jenkins;
+import jenkins.util.Timer;
+import net.jcip.annotations.GuardedBy;
+import org.jenkinsci.plugins.registry.notification.TriggerStore;
+import org.jenkinsci.plugins.registry.notification.TriggerStore.TriggerEntry;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Index of which pushes in the {@link TriggerStore} reference which jobs, by job full name.
+ *
+ * Maintained by {@link TriggerStore} on every change and saved to {@code JENKINS_HOME/dockerhub-notification/job-index.txt}
+ * every minute and on shutdown. A clean shutdown also writes {@code job-index.clean}, which is deleted again as soon as
+ * the index is loaded. When there is no saved index, or no such marker because Jenkins went down without saving the
+ * latest changes, the index is rebuilt from the store in the background.
+ */
+@Extension
+@Restricted(NoExternalUse.class)
+public class JobIndex {
+    private static final Logger logger = Logger.getLogger(JobIndex.class.getName());
+
+    @GuardedBy("this")
+    private final Map<String, Set<String>> shasByJob = new HashMap<>();
+    @GuardedBy("this")
+    private final Map<String, Set<String>> jobsBySha = new HashMap<>();
+
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private volatile boolean ready = false;
+    private final CountDownLatch readyLatch = new CountDownLatch(1);
+
+    @CheckForNull
+    public static JobIndex getInstance() {
+        if (Jenkins.getInstanceOrNull() == null) {
+            return null;
+        }
+        ExtensionList<JobIndex> list = ExtensionList.lookup(JobIndex.class);
+        return list.isEmpty() ? null : list.get(0);
+    }
+
+    /**
+     * If the index has been loaded or rebuilt.
+     *
+     * @return true when complete
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Waits for the index to be loaded or rebuilt.
+     *
+     * @param timeoutMillis max time to wait
+     * @return true when complete
+     * @throws InterruptedException if so
+     */
+    public boolean awaitReady(long timeoutMillis) throws InterruptedException {
+        return ready || readyLatch.await(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void setReady() {
+        ready = true;
+        readyLatch.countDown();
+    }
+
+    /**
+     * The pushes that reference the job.
+     *
+     * @param jobFullName the full name of the job
+     * @return the {@link org.jenkinsci.plugins.registry.notification.webhook.PushNotification#sha()}s
+     */
+    @NonNull
+    public synchronized Set<String> getShas(@NonNull String jobFullName) {
+        Set<String> shas = shasByJob.get(jobFullName);
+        return shas != null ? new HashSet<>(shas) : Collections.<String>emptySet();
+    }
+
+    public synchronized void add(@NonNull String jobFullName, @NonNull String sha) {
+        if (shasByJob.computeIfAbsent(jobFullName, k -> new HashSet<>()).add(sha)) {
+            jobsBySha.computeIfAbsent(sha, k -> new HashSet<>()).add(jobFullName);
+            dirty.set(true);
+        }
+    }
+
+    public synchronized void remove(@NonNull String jobFullName, @NonNull String sha) {
+        Set<String> shas = shasByJob.get(jobFullName);
+        if (shas != null && shas.remove(sha)) {
+            if (shas.isEmpty()) {
+                shasByJob.remove(jobFullName);
+            }
+            Set<String> jobs = jobsBySha.get(sha);
+            if (jobs != null) {
+                jobs.remove(jobFullName);
+                if (jobs.isEmpty()) {
+                    jobsBySha.remove(sha);
+                }
+            }
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * Forgets a deleted push.
+     *
+     * @param sha the push
+     */
+    public synchronized void removeSha(@NonNull String sha) {
+        Set<String> jobs = jobsBySha.remove(sha);
+        if (jobs != null) {
+            for (String job : jobs) {
+                Set<String> shas = shasByJob.get(job);
+                if (shas != null) {
+                    shas.remove(sha);
+                    if (shas.isEmpty()) {
+                        shasByJob.remove(job);
+                    }
+                }
+            }
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * Moves all references from one job name to another.
+     *
+     * @param oldFullName the old full name
+     * @param newFullName the new full name
+     */
+    public synchronized void rename(@NonNull String oldFullName, @NonNull String newFullName) {
+        Set<String> shas = shasByJob.remove(oldFullName);
+        if (shas == null) {
+            return;
+        }
+        for (String sha : shas) {
+            add(newFullName, sha);
+            Set<String> jobs = jobsBySha.get(sha);
+            if (jobs != null) {
+                jobs.remove(oldFullName);
+            }
+        }
+        dirty.set(true);
+    }
+
+    @NonNull
+    File getFile() {
+        return new File(Jenkins.get().getRootDir(), "dockerhub-notification" + File.separator + "job-index.txt");
+    }
+
+    @NonNull
+    File getCleanFile() {
+        return new File(getFile().getParentFile(), "job-index.clean");
+    }
+
+    /**
+     * Loads the saved index, or rebuilds it from the store if there is none or it was not saved on a clean shutdown.
+     *
+     * @param store the store
+     */
+    void load(@NonNull TriggerStore store) {
+        File file = getFile();
+        File clean = getCleanFile();
+        if (file.isFile() && !clean.isFile()) {
+            logger.log(Level.INFO, "{0} was not saved on shutdown, rebuilding it", file);
+        } else if (file.isFile()) {
+            try {
+                // any change from now on makes the saved index stale until the next clean shutdown
+                Files.delete(clean.toPath());
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to delete " + clean + ", rebuilding the job index", e);
+                rebuild(store);
+                return;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int tab = line.indexOf('\t');
+                    if (tab > 0) {
+                        add(line.substring(tab + 1), line.substring(0, tab));
+                    }
+                }
+                setReady();
+                return;
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to load " + file + ", rebuilding it", e);
+            }
+        }
+        rebuild(store);
+    }
+
+    /**
+     * Indexes all run entries in the store.
+     *
+     * @param store the store
+     */
+    void rebuild(@NonNull TriggerStore store) {
+        int count = 0;
+        try {
+            for (String sha : store.getBackend().getShas()) {
+                try {
+                    TriggerEntry entry = store.getEntry(sha);
+                    if (entry != null) {
+                        for (TriggerEntry.RunEntry run : entry.getEntries()) {
+                            add(run.getJobName(), sha);
+                        }
+                        count++;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    logger.log(Level.FINE, "Failed to index triggered entry " + sha, e);
+                }
+            }
+            dirty.set(true);
+            save();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to rebuild the job index", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        setReady();
+        logger.log(Level.FINE, "Indexed {0} triggered entries by job", count);
+    }
+
+    /**
+     * Saves the index if anything has changed since the last save.
+     *
+     * @throws IOException if so
+     */
+    void save() throws IOException {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        File file = getFile();
+        File dir = file.getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+        Map<String, Set<String>> copy = new HashMap<>();
+        synchronized (this) {
+            for (Map.Entry<String, Set<String>> entry : shasByJob.entrySet()) {
+                copy.put(entry.getKey(), new TreeSet<>(entry.getValue()));
+            }
+        }
+        AtomicFileWriter writer = new AtomicFileWriter(file.toPath(), StandardCharsets.UTF_8);
+        try {
+            for (Map.Entry<String, Set<String>> entry : copy.entrySet()) {
+                String job = entry.getKey().replace('\n', ' ').replace('\r', ' ');
+                for (String sha : entry.getValue()) {
+                    writer.write(sha);
+                    writer.write('\t');
+                    writer.write(job);
+                    writer.write('\n');
+                }
+            }
+            writer.commit();
+        } catch (IOException | RuntimeException e) {
+            dirty.set(true);
+            throw e;
+        } finally {
+            writer.abort();
+        }
+    }
+
+    /**
+     * Records that the saved index is complete, until it is loaded again.
+     *
+     * @throws IOException if so
+     */
+    void markClean() throws IOException {
+        Files.write(getCleanFile().toPath(), new byte[0]);
+    }
+
+    @Initializer(after = InitMilestone.JOB_LOADED)
+    @Restricted(NoExternalUse.class)
+    public static void init() {
+        final JobIndex index = getInstance();
+        if (index != null) {
+            final TriggerStore store = TriggerStore.getInstance();
+            Timer.get().submit(() -> index.load(store));
+        }
+    }
+
+    @Terminator
+    @Restricted(NoExternalUse.class)
+    public static void terminate() throws IOException {
+        JobIndex index = getInstance();
+        if (index != null && index.isReady()) {
+            index.save();
+            index.markClean();
+        }
+    }
+
+    /**
+     * Saves the index every minute.
+     */
+    @Extension
+    @Restricted(NoExternalUse.class)
+    public static class Snapshot extends AsyncPeriodicWork {
+        public Snapshot() {
+            super("DockerHub job index snapshot");
+        }
+
+        @Override
+        public long getRecurrencePeriod() {
+            return TimeUnit.MINUTES.toMillis(1);
+        }
+
+        @Override
+        protected void execute(TaskListener listener) throws IOException {
+            JobIndex index = getInstance();
+            if (index != null && index.isReady()) {
+                index.save();
+            }
+        }
+    }
+}
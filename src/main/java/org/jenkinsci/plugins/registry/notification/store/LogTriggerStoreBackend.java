@@ -0,0 +1,660 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.store;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.Util;
+import hudson.XmlFile;
+import hudson.model.Fingerprint;
+import hudson.util.XStream2;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+import net.jcip.annotations.GuardedBy;
+import org.jenkinsci.plugins.registry.notification.TriggerStore.TriggerEntry;
+import org.jenkinsci.plugins.registry.notification.TriggerStore.TriggerEntry.RunEntry;
+import org.jenkinsci.plugins.registry.notification.webhook.PushNotification;
+import org.jenkinsci.plugins.registry.notification.webhook.dockerhub.DockerHubCallbackPayload;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps all {@link TriggerEntry}s in memory, indexed by sha, and persists them as an append-only log of changes
+ * under {@code JENKINS_HOME/dockerhub-notification/triggers}.
+ *
+ * Each change is one small checksummed record instead of a rewrite of a whole fingerprint file.
+ * The records of each call are forced to disk before it returns, like the {@code WebHookJournal} does per batch.
+ * Every {@link #SNAPSHOT_EVERY} records, on shutdown and after loading, the entries are written to a snapshot
+ * and the log is started over. The first time the backend is used, the entries of the {@link FingerprintTriggerStoreBackend}
+ * are migrated into it; the fingerprints themselves are left in place.
+ *
+ * Callers get a copy of the stored entry, so changes to it must be persisted with {@link #changed(TriggerEntry, List)}
+ * or {@link #save(TriggerEntry)}.
+ */
+@Extension
+public class LogTriggerStoreBackend extends TriggerStoreBackend {
+    private static final Logger logger = Logger.getLogger(LogTriggerStoreBackend.class.getName());
+
+    public static final String NAME = "log";
+
+    /**
+     * Number of records in the log before a new snapshot is written.
+     */
+    static /*almost final*/ int SNAPSHOT_EVERY = SystemProperties.getInteger(LogTriggerStoreBackend.class.getName() + ".snapshotEvery", 10000);
+
+    private static final byte PUT = 'P';
+    private static final byte TRIGGERED = 'T';
+    private static final byte STARTED = 'S';
+    private static final byte FINALIZED = 'F';
+    private static final byte REMOVED = 'R';
+    private static final byte DELETED = 'D';
+
+    private static final String LOG_FILE = "events.log";
+    private static final String SNAPSHOT_FILE = "snapshot.xml";
+    private static final String MIGRATED_FILE = "migrated";
+
+    private static final XStream2 XSTREAM = new XStream2();
+
+    static {
+        XSTREAM.alias("triggers", Snapshot.class);
+        XSTREAM.alias("trigger", StoredEntry.class);
+        XSTREAM.alias("run", RunEntry.class);
+    }
+
+    private final Object lock = new Object();
+
+    @GuardedBy("lock")
+    private final Map<String, StoredEntry> entries = new HashMap<>();
+
+    @GuardedBy("lock")
+    @CheckForNull
+    private OutputStream log;
+    /**
+     * The channel that {@link #log} writes to, forced to disk after each call that appended records.
+     */
+    @GuardedBy("lock")
+    @CheckForNull
+    private FileChannel logChannel;
+
+    /**
+     * Number of records in the current log.
+     */
+    @GuardedBy("lock")
+    private int records;
+
+    private volatile boolean loaded = false;
+
+    @NonNull
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @CheckForNull
+    @Override
+    public TriggerEntry get(@NonNull String sha) throws IOException {
+        synchronized (lock) {
+            ensureLoaded();
+            StoredEntry stored = entries.get(sha);
+            return stored != null ? stored.toEntry() : null;
+        }
+    }
+
+    @NonNull
+    @Override
+    public TriggerEntry getOrCreate(@NonNull PushNotification pushNotification, @NonNull String sha) throws IOException {
+        synchronized (lock) {
+            ensureLoaded();
+            StoredEntry stored = entries.get(sha);
+            if (stored == null) {
+                stored = new StoredEntry(sha, pushNotification);
+                entries.put(sha, stored);
+                append(encodePut(stored));
+                sync();
+            }
+            return stored.toEntry();
+        }
+    }
+
+    @Override
+    public void save(@NonNull TriggerEntry entry) throws IOException {
+        StoredEntry stored = StoredEntry.from(entry);
+        synchronized (lock) {
+            ensureLoaded();
+            entries.put(stored.sha, stored);
+            append(encodePut(stored));
+            sync();
+        }
+    }
+
+    @Override
+    public void changed(@NonNull TriggerEntry entry, @NonNull List<Change> changes) throws IOException {
+        String sha = entry.getFingerprint().getHashString();
+        synchronized (lock) {
+            ensureLoaded();
+            StoredEntry stored = entries.get(sha);
+            if (stored == null) {
+                stored = StoredEntry.from(entry);
+                entries.put(sha, stored);
+                append(encodePut(stored));
+            } else {
+                for (Change change : changes) {
+                    stored.apply(change);
+                    append(encodeChange(sha, change));
+                }
+            }
+            sync();
+        }
+    }
+
+    /**
+     * Removes the entry from memory and logs the deletion.
+     * The space is reclaimed when the next snapshot is written.
+     *
+     * @return the size of the entry as written to a snapshot
+     */
+    @Override
+    public long remove(@NonNull String sha) throws IOException {
+        synchronized (lock) {
+            ensureLoaded();
+            StoredEntry stored = entries.remove(sha);
+            if (stored == null) {
+                return 0;
+            }
+            append(encodeDelete(sha));
+            sync();
+            return XSTREAM.toXML(stored).getBytes(StandardCharsets.UTF_8).length;
+        }
+    }
+
+    @NonNull
+    @Override
+    public List<String> getShas() throws IOException {
+        synchronized (lock) {
+            ensureLoaded();
+            return new ArrayList<>(entries.keySet());
+        }
+    }
+
+    /**
+     * Number of entries in the store.
+     *
+     * @return the size
+     * @throws IOException if the store could not be loaded
+     */
+    public int size() throws IOException {
+        synchronized (lock) {
+            ensureLoaded();
+            return entries.size();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (loaded) {
+                snapshot();
+                closeLog();
+            }
+        }
+    }
+
+    /**
+     * Writes all entries to the snapshot and starts a new log.
+     *
+     * @throws IOException if the snapshot could not be written
+     */
+    public void snapshot() throws IOException {
+        synchronized (lock) {
+            ensureLoaded();
+            getSnapshotFile().write(new Snapshot(new ArrayList<>(entries.values())));
+            closeLog();
+            File file = getLogFile();
+            if (file.exists() && !file.delete()) {
+                throw new IOException("Failed to delete " + file);
+            }
+            records = 0;
+        }
+    }
+
+    @NonNull
+    File getDirectory() {
+        return new File(Jenkins.get().getRootDir(), "dockerhub-notification/triggers");
+    }
+
+    @NonNull
+    private File getLogFile() {
+        return new File(getDirectory(), LOG_FILE);
+    }
+
+    @NonNull
+    private XmlFile getSnapshotFile() {
+        return new XmlFile(XSTREAM, new File(getDirectory(), SNAPSHOT_FILE));
+    }
+
+    @GuardedBy("lock")
+    private void ensureLoaded() throws IOException {
+        if (loaded) {
+            return;
+        }
+        File directory = getDirectory();
+        XmlFile snapshot = getSnapshotFile();
+        File logFile = getLogFile();
+        boolean migrated = new File(directory, MIGRATED_FILE).exists();
+        if (!snapshot.exists() && !logFile.exists() && !migrated) {
+            migrate();
+            loaded = true;
+            return;
+        }
+        if (snapshot.exists()) {
+            Snapshot read = (Snapshot) snapshot.read();
+            if (read.entries != null) {
+                for (StoredEntry stored : read.entries) {
+                    entries.put(stored.sha, stored);
+                }
+            }
+        }
+        if (logFile.exists()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(logFile)))) {
+                while (replay(in, logFile)) {
+                    records++;
+                }
+            }
+        }
+        loaded = true;
+        // start over from a clean log, it might end with a torn record
+        snapshot();
+        logger.log(Level.FINE, "Loaded {0} triggered entries", entries.size());
+    }
+
+    /**
+     * Copies all entries of the {@link FingerprintTriggerStoreBackend}.
+     */
+    @GuardedBy("lock")
+    private void migrate() throws IOException {
+        FingerprintTriggerStoreBackend from = ExtensionList.lookupSingleton(FingerprintTriggerStoreBackend.class);
+        int count = 0;
+        for (String sha : from.getShas()) {
+            try {
+                TriggerEntry entry = from.get(sha);
+                if (entry != null) {
+                    entries.put(sha, StoredEntry.from(entry, sha));
+                    count++;
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.WARNING, "Failed to migrate triggered entry " + sha, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while migrating triggered entries", e);
+            }
+        }
+        loaded = true;
+        snapshot();
+        File marker = new File(getDirectory(), MIGRATED_FILE);
+        if (!marker.createNewFile() && !marker.exists()) {
+            throw new IOException("Failed to create " + marker);
+        }
+        logger.log(Level.INFO, "Migrated {0} triggered entries from fingerprints", count);
+    }
+
+    @GuardedBy("lock")
+    private void append(@NonNull byte[] record) throws IOException {
+        if (log == null) {
+            File file = getLogFile();
+            Util.createDirectories(file.getParentFile().toPath());
+            logChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            log = new BufferedOutputStream(Channels.newOutputStream(logChannel));
+        }
+        log.write(record);
+        records++;
+        if (records >= SNAPSHOT_EVERY) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Writes the records appended by one call and forces them to disk, so that a crash loses no acknowledged change.
+     */
+    @GuardedBy("lock")
+    private void sync() throws IOException {
+        if (log != null && logChannel != null) {
+            log.flush();
+            logChannel.force(false);
+        }
+    }
+
+    @GuardedBy("lock")
+    private void closeLog() throws IOException {
+        if (log != null) {
+            try {
+                log.flush();
+                if (logChannel != null) {
+                    logChannel.force(false);
+                }
+                log.close();
+            } finally {
+                log = null;
+                logChannel = null;
+            }
+        }
+    }
+
+    /**
+     * Applies the next record in the log.
+     *
+     * @return false at the end of the log or at a torn or corrupt record
+     */
+    @GuardedBy("lock")
+    private boolean replay(@NonNull DataInputStream in, @NonNull File file) throws IOException {
+        byte[] data;
+        try {
+            int length = in.readInt();
+            long crc = in.readLong();
+            if (length <= 0 || length > 64 * 1024 * 1024) {
+                logger.log(Level.WARNING, "Corrupt record in {0}, ignoring the rest of it", file);
+                return false;
+            }
+            data = new byte[length];
+            in.readFully(data);
+            CRC32 check = new CRC32();
+            check.update(data);
+            if (check.getValue() != crc) {
+                logger.log(Level.WARNING, "Torn or corrupt record in {0}, ignoring the rest of it", file);
+                return false;
+            }
+        } catch (EOFException e) {
+            return false;
+        }
+        DataInputStream record = new DataInputStream(new ByteArrayInputStream(data));
+        byte type = record.readByte();
+        String sha = record.readUTF();
+        if (type == PUT) {
+            StoredEntry stored = (StoredEntry) XSTREAM.fromXML(new String(readBytes(record), StandardCharsets.UTF_8));
+            entries.put(sha, stored);
+            return true;
+        }
+        if (type == DELETED) {
+            entries.remove(sha);
+            return true;
+        }
+        String jobName = record.readUTF();
+        String buildId = record.readBoolean() ? record.readUTF() : null;
+        boolean done = record.readBoolean();
+        long queued = 0, started = 0, finished = 0;
+        if (record.available() >= 3 * Long.BYTES) {
+            // records written before the timestamps were added end here
+            queued = record.readLong();
+            started = record.readLong();
+            finished = record.readLong();
+        }
+        Change.Type changeType;
+        switch (type) {
+            case TRIGGERED: changeType = Change.Type.TRIGGERED; break;
+            case STARTED: changeType = Change.Type.STARTED; break;
+            case FINALIZED: changeType = Change.Type.FINALIZED; break;
+            case REMOVED: changeType = Change.Type.REMOVED; break;
+            default:
+                logger.log(Level.WARNING, "Unknown record type {0} in {1}, ignoring the rest of it", new Object[]{type, file});
+                return false;
+        }
+        StoredEntry stored = entries.get(sha);
+        if (stored != null) {
+            stored.apply(new Change(changeType, jobName, buildId, done, queued, started, finished));
+        }
+        return true;
+    }
+
+    @NonNull
+    private static byte[] encodePut(@NonNull StoredEntry stored) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(PUT);
+            out.writeUTF(stored.sha);
+            byte[] xml = XSTREAM.toXML(stored).getBytes(StandardCharsets.UTF_8);
+            out.writeInt(xml.length);
+            out.write(xml);
+            out.flush();
+            return frame(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new AssertionError("Writing to memory should not fail", e);
+        }
+    }
+
+    @NonNull
+    private static byte[] encodeChange(@NonNull String sha, @NonNull Change change) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            switch (change.getType()) {
+                case TRIGGERED: out.writeByte(TRIGGERED); break;
+                case STARTED: out.writeByte(STARTED); break;
+                case FINALIZED: out.writeByte(FINALIZED); break;
+                default: out.writeByte(REMOVED); break;
+            }
+            out.writeUTF(sha);
+            out.writeUTF(change.getJobName());
+            out.writeBoolean(change.getBuildId() != null);
+            if (change.getBuildId() != null) {
+                out.writeUTF(change.getBuildId());
+            }
+            out.writeBoolean(change.isDone());
+            out.writeLong(change.getQueued());
+            out.writeLong(change.getStarted());
+            out.writeLong(change.getFinished());
+            out.flush();
+            return frame(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new AssertionError("Writing to memory should not fail", e);
+        }
+    }
+
+    @NonNull
+    private static byte[] encodeDelete(@NonNull String sha) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(DELETED);
+            out.writeUTF(sha);
+            out.flush();
+            return frame(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new AssertionError("Writing to memory should not fail", e);
+        }
+    }
+
+    /**
+     * Prefixes the record with its length and checksum so that torn writes can be detected.
+     */
+    @NonNull
+    private static byte[] frame(@NonNull byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 8 + data.length);
+        buffer.putInt(data.length);
+        buffer.putLong(crc.getValue());
+        buffer.put(data);
+        return buffer.array();
+    }
+
+    @NonNull
+    private static byte[] readBytes(@NonNull DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * A {@link Fingerprint} that is never saved, for {@link TriggerEntry}s that are not stored as fingerprint facets.
+     * Fingerprint has no public constructor that doesn't put it in the fingerprint storage, so it is read from XML.
+     */
+    @NonNull
+    private static Fingerprint detachedFingerprint(@NonNull String repoName, @NonNull String sha) {
+        String xml = "<hudson.model.Fingerprint>"
+                + "<fileName>" + Util.xmlEscape(repoName) + "</fileName>"
+                + "<md5sum>" + Base64.getEncoder().encodeToString(Util.fromHexString(sha)) + "</md5sum>"
+                + "</hudson.model.Fingerprint>";
+        return (Fingerprint) XSTREAM.fromXML(xml);
+    }
+
+    /**
+     * What is persisted in the snapshot.
+     */
+    private static final class Snapshot {
+        private final List<StoredEntry> entries;
+
+        Snapshot(List<StoredEntry> entries) {
+            this.entries = entries;
+        }
+    }
+
+    /**
+     * The backend's own copy of a {@link TriggerEntry}.
+     */
+    private static final class StoredEntry {
+        private final String sha;
+        private final PushNotification pushNotification;
+        private final List<RunEntry> entries;
+        @CheckForNull
+        private final DockerHubCallbackPayload callbackData;
+
+        StoredEntry(@NonNull String sha, @NonNull PushNotification pushNotification) {
+            this(sha, pushNotification, new LinkedList<RunEntry>(), null);
+        }
+
+        private StoredEntry(@NonNull String sha, @NonNull PushNotification pushNotification,
+                            @NonNull List<RunEntry> entries, @CheckForNull DockerHubCallbackPayload callbackData) {
+            this.sha = sha;
+            this.pushNotification = pushNotification;
+            this.entries = entries;
+            this.callbackData = callbackData;
+        }
+
+        @NonNull
+        static StoredEntry from(@NonNull TriggerEntry entry) {
+            return from(entry, entry.getFingerprint().getHashString());
+        }
+
+        @NonNull
+        static StoredEntry from(@NonNull TriggerEntry entry, @NonNull String sha) {
+            return new StoredEntry(sha, entry.getPushNotification(), copy(entry.getEntries()), entry.getCallbackData());
+        }
+
+        @NonNull
+        TriggerEntry toEntry() {
+            TriggerEntry entry = new TriggerEntry(detachedFingerprint(pushNotification.getRepoName(), sha), pushNotification);
+            for (RunEntry run : copy(entries)) {
+                entry.putEntry(run);
+            }
+            entry.setCallbackData(callbackData);
+            return entry;
+        }
+
+        /**
+         * Applies the change the same way {@link TriggerEntry} does.
+         */
+        void apply(@NonNull Change change) {
+            RunEntry run = null;
+            for (RunEntry e : entries) {
+                if (e.getJobName().equals(change.getJobName())) {
+                    run = e;
+                    break;
+                }
+            }
+            switch (change.getType()) {
+                case TRIGGERED:
+                    if (run == null) {
+                        entries.add(new RunEntry(change.getJobName()));
+                    }
+                    break;
+                case STARTED:
+                case FINALIZED:
+                    if (run == null) {
+                        run = new RunEntry(change.getJobName(), change.getBuildId());
+                        entries.add(run);
+                    } else {
+                        run.setBuildId(change.getBuildId());
+                    }
+                    run.setDone(change.isDone());
+                    if (change.getQueued() > 0) {
+                        run.setQueued(change.getQueued());
+                    }
+                    if (change.getStarted() > 0) {
+                        run.setStarted(change.getStarted());
+                    }
+                    if (change.getFinished() > 0) {
+                        run.setFinished(change.getFinished());
+                    }
+                    break;
+                case REMOVED:
+                    if (run != null) {
+                        entries.remove(run);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @NonNull
+        private static List<RunEntry> copy(@NonNull List<RunEntry> from) {
+            List<RunEntry> to = new LinkedList<>();
+            for (RunEntry e : from) {
+                RunEntry c = new RunEntry(e.getJobName(), e.getBuildId());
+                c.setDone(e.isDone());
+                c.setQueued(e.getQueued());
+                c.setStarted(e.getStarted());
+                c.setFinished(e.getFinished());
+                to.add(c);
+            }
+            return to;
+        }
+    }
+}
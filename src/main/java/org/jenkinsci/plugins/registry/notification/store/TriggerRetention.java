@@ -0,0 +1,316 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.store;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.Functions;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.TaskListener;
+import jenkins.util.SystemProperties;
+import net.jcip.annotations.GuardedBy;
+import org.jenkinsci.plugins.registry.notification.TriggerStore;
+import org.jenkinsci.plugins.registry.notification.TriggerStore.TriggerEntry;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Deletes old {@link TriggerEntry}s from the {@link TriggerStore}.
+ *
+ * An entry expires when it is older than {@link #MAX_AGE_DAYS}, or when there are more than {@link #MAX_PER_REPOSITORY}
+ * newer entries for the same repository. Entries with builds that are not done are kept, builds that are recorded
+ * as not done but are no longer building, e.g. because of a crash, are marked as done with
+ * {@link TriggerStore#repair(String)} first.
+ * Each run looks at no more than {@link #SCAN_SIZE} stored entries, in chunks of {@link #BATCH_SIZE} with a pause
+ * between them, and the next run continues where the previous one stopped. Entries are deleted one at a time,
+ * so that the store is never locked for long. For {@link #MAX_PER_REPOSITORY} the newest entries seen of each
+ * repository are remembered between runs, and forgotten when a pass over the whole store no longer saw them.
+ * Both limits are disabled by default.
+ */
+@Extension
+@Restricted(NoExternalUse.class)
+public class TriggerRetention extends AsyncPeriodicWork {
+    private static final Logger logger = Logger.getLogger(TriggerRetention.class.getName());
+
+    /**
+     * Max age of an entry in days, 0 to keep entries regardless of age.
+     */
+    static /*almost final*/ long MAX_AGE_DAYS = SystemProperties.getLong(TriggerRetention.class.getName() + ".maxAgeDays", 0L);
+    /**
+     * Max number of entries to keep per repository, 0 for no limit.
+     */
+    static /*almost final*/ int MAX_PER_REPOSITORY = SystemProperties.getInteger(TriggerRetention.class.getName() + ".maxPerRepository", 0);
+    /**
+     * Max number of stored entries looked at per run.
+     */
+    static /*almost final*/ int SCAN_SIZE = SystemProperties.getInteger(TriggerRetention.class.getName() + ".scanSize", 10000);
+    /**
+     * Number of entries looked at before pausing.
+     */
+    static /*almost final*/ int BATCH_SIZE = SystemProperties.getInteger(TriggerRetention.class.getName() + ".batchSize", 500);
+    /**
+     * How long to pause between batches.
+     */
+    static /*almost final*/ long BATCH_PAUSE_MILLIS = SystemProperties.getLong(TriggerRetention.class.getName() + ".batchPauseMillis", 100L);
+
+    @CheckForNull
+    private volatile Sweep lastSweep;
+
+    /**
+     * Where the next run continues, null to start a new pass.
+     */
+    @GuardedBy("this")
+    @CheckForNull
+    private String cursor;
+    /**
+     * Counts the passes over the whole store.
+     */
+    @GuardedBy("this")
+    private long pass;
+    /**
+     * The newest entries seen of each repository, at most {@link #MAX_PER_REPOSITORY}, oldest first.
+     */
+    @GuardedBy("this")
+    private final Map<String, TreeSet<Meta>> newest = new HashMap<>();
+
+    public TriggerRetention() {
+        super("DockerHub trigger history retention");
+    }
+
+    @CheckForNull
+    public static TriggerRetention getInstance() {
+        ExtensionList<TriggerRetention> list = ExtensionList.lookup(TriggerRetention.class);
+        return list.isEmpty() ? null : list.get(0);
+    }
+
+    public static boolean isEnabled() {
+        return MAX_AGE_DAYS > 0 || MAX_PER_REPOSITORY > 0;
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return TimeUnit.HOURS.toMillis(1);
+    }
+
+    @Override
+    protected void execute(TaskListener listener) throws IOException, InterruptedException {
+        if (!isEnabled()) {
+            return;
+        }
+        Sweep sweep = sweep(TriggerStore.getInstance(), System.currentTimeMillis());
+        listener.getLogger().println(sweep);
+    }
+
+    /**
+     * The result of the last sweep.
+     *
+     * @return the result, or null if no sweep has run
+     */
+    @CheckForNull
+    public Sweep getLastSweep() {
+        return lastSweep;
+    }
+
+    /**
+     * Looks at the next chunks of stored entries and deletes the expired ones.
+     *
+     * @param store the store
+     * @param now   the current time
+     * @return what was reclaimed
+     * @throws IOException          if the entries could not be listed
+     * @throws InterruptedException if interrupted
+     */
+    @NonNull
+    public synchronized Sweep sweep(@NonNull TriggerStore store, long now) throws IOException, InterruptedException {
+        long start = System.currentTimeMillis();
+        if (MAX_PER_REPOSITORY <= 0) {
+            newest.clear();
+        }
+        long records = 0;
+        long bytes = 0;
+        int batch = Math.max(1, BATCH_SIZE);
+        for (int scanned = 0; scanned < Math.max(1, SCAN_SIZE); scanned += batch) {
+            if (scanned > 0) {
+                Thread.sleep(Math.max(0, BATCH_PAUSE_MILLIS));
+            }
+            TriggerStoreBackend.Chunk chunk = store.getBackend().getShas(cursor, Math.min(batch, Math.max(1, SCAN_SIZE) - scanned));
+            for (String sha : findExpired(store, chunk.getShas(), now)) {
+                try {
+                    long reclaimed = store.remove(sha);
+                    if (reclaimed > 0) {
+                        records++;
+                        bytes += reclaimed;
+                    }
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "Failed to delete triggered entry " + sha, e);
+                }
+            }
+            cursor = chunk.getNext();
+            if (cursor == null) {
+                endPass();
+                break;
+            }
+        }
+        Sweep sweep = new Sweep(records, bytes, System.currentTimeMillis() - start);
+        lastSweep = sweep;
+        logger.log(records > 0 ? Level.INFO : Level.FINE, "{0}", sweep);
+        return sweep;
+    }
+
+    /**
+     * Reads each entry of the chunk, one at a time, and picks the expired ones.
+     */
+    @GuardedBy("this")
+    @NonNull
+    private List<String> findExpired(@NonNull TriggerStore store, @NonNull List<String> shas, long now) throws InterruptedException {
+        long maxAge = MAX_AGE_DAYS > 0 ? TimeUnit.DAYS.toMillis(MAX_AGE_DAYS) : 0;
+        List<String> expired = new ArrayList<>();
+        for (String sha : shas) {
+            TriggerEntry entry;
+            try {
+                entry = store.getEntry(sha);
+                if (entry != null && !entry.areAllDone()) {
+                    entry = store.repair(sha);
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.FINE, "Failed to read triggered entry " + sha, e);
+                continue;
+            }
+            if (entry == null || !entry.areAllDone()) {
+                continue;
+            }
+            long timestamp = entry.getTimestamp();
+            if (maxAge > 0 && now - timestamp > maxAge) {
+                expired.add(sha);
+            } else if (MAX_PER_REPOSITORY > 0) {
+                TreeSet<Meta> metas = newest.computeIfAbsent(entry.getPushNotification().getRepoName(), k -> new TreeSet<>());
+                metas.removeIf(m -> m.sha.equals(sha));
+                metas.add(new Meta(sha, timestamp, pass));
+                while (metas.size() > MAX_PER_REPOSITORY) {
+                    expired.add(metas.pollFirst().sha);
+                }
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Forgets the entries that were not seen during the pass that just ended, they have been deleted some other way.
+     */
+    @GuardedBy("this")
+    private void endPass() {
+        for (Iterator<TreeSet<Meta>> it = newest.values().iterator(); it.hasNext(); ) {
+            TreeSet<Meta> metas = it.next();
+            metas.removeIf(m -> m.pass < pass);
+            if (metas.isEmpty()) {
+                it.remove();
+            }
+        }
+        pass++;
+    }
+
+    private static final class Meta implements Comparable<Meta> {
+        private final String sha;
+        private final long timestamp;
+        private final long pass;
+
+        Meta(String sha, long timestamp, long pass) {
+            this.sha = sha;
+            this.timestamp = timestamp;
+            this.pass = pass;
+        }
+
+        @Override
+        public int compareTo(Meta o) {
+            int c = Long.compare(timestamp, o.timestamp);
+            return c != 0 ? c : sha.compareTo(o.sha);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Meta && compareTo((Meta) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return sha.hashCode();
+        }
+    }
+
+    /**
+     * What a sweep reclaimed.
+     */
+    public static final class Sweep {
+        private final long records;
+        private final long bytes;
+        private final long durationMillis;
+
+        Sweep(long records, long bytes, long durationMillis) {
+            this.records = records;
+            this.bytes = bytes;
+            this.durationMillis = durationMillis;
+        }
+
+        /**
+         * Number of deleted entries.
+         *
+         * @return the count
+         */
+        public long getRecords() {
+            return records;
+        }
+
+        /**
+         * Approximate number of bytes reclaimed.
+         *
+         * @return the bytes
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "Deleted " + records + " triggered entries, reclaiming " + Functions.humanReadableByteSize(bytes)
+                    + " in " + durationMillis + " ms";
+        }
+    }
+}
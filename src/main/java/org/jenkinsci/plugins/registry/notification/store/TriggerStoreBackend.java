@@ -0,0 +1,318 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.store;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.ExtensionList;
+import hudson.ExtensionPoint;
+import org.jenkinsci.plugins.registry.notification.TriggerStore;
+import org.jenkinsci.plugins.registry.notification.TriggerStore.TriggerEntry;
+import org.jenkinsci.plugins.registry.notification.TriggerStore.TriggerEntry.RunEntry;
+import org.jenkinsci.plugins.registry.notification.webhook.PushNotification;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Where {@link TriggerStore} keeps its {@link TriggerEntry}s.
+ *
+ * The backend to use is selected by name with the {@code org.jenkinsci.plugins.registry.notification.TriggerStore.backend}
+ * system property. {@link TriggerStore} serializes all calls for the same push, calls for different pushes can be concurrent.
+ *
+ * @see FingerprintTriggerStoreBackend
+ * @see LogTriggerStoreBackend
+ */
+public abstract class TriggerStoreBackend implements ExtensionPoint {
+
+    /**
+     * The name used to select this backend.
+     *
+     * @return the name
+     */
+    @NonNull
+    public abstract String getName();
+
+    /**
+     * Gets an existing entry.
+     *
+     * @param sha the {@link PushNotification#sha()}
+     * @return the entry, or null if there is none
+     * @throws IOException          if so
+     * @throws InterruptedException if so
+     */
+    @CheckForNull
+    public abstract TriggerEntry get(@NonNull String sha) throws IOException, InterruptedException;
+
+    /**
+     * Gets the existing entry of the push, or creates one.
+     *
+     * @param pushNotification the push
+     * @param sha              the {@link PushNotification#sha()}
+     * @return the entry
+     * @throws IOException          if so
+     * @throws InterruptedException if so
+     */
+    @NonNull
+    public abstract TriggerEntry getOrCreate(@NonNull PushNotification pushNotification, @NonNull String sha) throws IOException, InterruptedException;
+
+    /**
+     * Persists the whole entry.
+     *
+     * @param entry the entry
+     * @throws IOException          if so
+     * @throws InterruptedException if so
+     */
+    public abstract void save(@NonNull TriggerEntry entry) throws IOException, InterruptedException;
+
+    /**
+     * Persists changes that have already been applied to the entry.
+     * By default the whole entry is {@link #save(TriggerEntry) saved}.
+     *
+     * @param entry   the changed entry
+     * @param changes what changed
+     * @throws IOException          if so
+     * @throws InterruptedException if so
+     */
+    public void changed(@NonNull TriggerEntry entry, @NonNull List<Change> changes) throws IOException, InterruptedException {
+        save(entry);
+    }
+
+    /**
+     * Deletes the entry.
+     *
+     * @param sha the {@link PushNotification#sha()}
+     * @return approximate number of bytes reclaimed, 0 if there was no entry
+     * @throws IOException          if so
+     * @throws InterruptedException if so
+     */
+    public abstract long remove(@NonNull String sha) throws IOException, InterruptedException;
+
+    /**
+     * The {@link PushNotification#sha()} of all stored entries.
+     *
+     * @return the shas
+     * @throws IOException if so
+     */
+    @NonNull
+    public abstract List<String> getShas() throws IOException;
+
+    /**
+     * A part of the shas of the stored entries in ascending order, for walking a large store a bit at a time.
+     * The default implementation sorts {@link #getShas()}.
+     *
+     * @param after the last sha of the previous chunk, or null to start from the beginning
+     * @param limit max number of stored entries to look at
+     * @return the chunk
+     * @throws IOException if so
+     */
+    @NonNull
+    public Chunk getShas(@CheckForNull String after, int limit) throws IOException {
+        List<String> all = new ArrayList<>(getShas());
+        Collections.sort(all);
+        int from = 0;
+        if (after != null) {
+            int index = Collections.binarySearch(all, after);
+            from = index >= 0 ? index + 1 : -index - 1;
+        }
+        int to = Math.min(all.size(), from + Math.max(1, limit));
+        List<String> shas = new ArrayList<>(all.subList(from, to));
+        return new Chunk(shas, to < all.size() ? shas.get(shas.size() - 1) : null);
+    }
+
+    /**
+     * A part of the shas returned by {@link #getShas(String, int)}.
+     */
+    public static final class Chunk {
+        @NonNull
+        private final List<String> shas;
+        @CheckForNull
+        private final String next;
+
+        public Chunk(@NonNull List<String> shas, @CheckForNull String next) {
+            this.shas = shas;
+            this.next = next;
+        }
+
+        /**
+         * The shas of the stored entries in this chunk.
+         *
+         * @return the shas
+         */
+        @NonNull
+        public List<String> getShas() {
+            return shas;
+        }
+
+        /**
+         * Where the next chunk starts.
+         *
+         * @return the {@code after} of the next chunk, or null if this was the last one
+         */
+        @CheckForNull
+        public String getNext() {
+            return next;
+        }
+    }
+
+    /**
+     * Writes anything buffered and releases resources, called on shutdown.
+     *
+     * @throws IOException if so
+     */
+    public void close() throws IOException {
+    }
+
+    /**
+     * All available backends.
+     *
+     * @return the backends
+     */
+    @NonNull
+    public static ExtensionList<TriggerStoreBackend> all() {
+        return ExtensionList.lookup(TriggerStoreBackend.class);
+    }
+
+    /**
+     * Finds a backend by its {@link #getName()}.
+     *
+     * @param name the name
+     * @return the backend, or null if there is none with that name
+     */
+    @CheckForNull
+    public static TriggerStoreBackend byName(@CheckForNull String name) {
+        for (TriggerStoreBackend backend : all()) {
+            if (backend.getName().equals(name)) {
+                return backend;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A change to a {@link TriggerEntry}.
+     */
+    public static final class Change {
+        /**
+         * The kind of change.
+         */
+        public enum Type {
+            TRIGGERED, STARTED, FINALIZED, REMOVED
+        }
+
+        @NonNull
+        private final Type type;
+        @NonNull
+        private final String jobName;
+        @CheckForNull
+        private final String buildId;
+        private final boolean done;
+        private final long queued;
+        private final long started;
+        private final long finished;
+
+        public Change(@NonNull Type type, @NonNull String jobName, @CheckForNull String buildId, boolean done) {
+            this(type, jobName, buildId, done, 0, 0, 0);
+        }
+
+        /**
+         * A change that also carries the timestamps of the run, 0 where unknown.
+         */
+        public Change(@NonNull Type type, @NonNull String jobName, @CheckForNull String buildId, boolean done,
+                      long queued, long started, long finished) {
+            this.type = type;
+            this.jobName = jobName;
+            this.buildId = buildId;
+            this.done = done;
+            this.queued = queued;
+            this.started = started;
+            this.finished = finished;
+        }
+
+        /**
+         * A change that carries the state of the run.
+         *
+         * @param type the kind of change
+         * @param run  the run after the change
+         */
+        public Change(@NonNull Type type, @NonNull RunEntry run) {
+            this(type, run.getJobName(), run.getBuildId(), run.isDone(), run.getQueued(), run.getStarted(), run.getFinished());
+        }
+
+        @NonNull
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * The full name of the job that the change concerns.
+         *
+         * @return the job name
+         */
+        @NonNull
+        public String getJobName() {
+            return jobName;
+        }
+
+        @CheckForNull
+        public String getBuildId() {
+            return buildId;
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+
+        /**
+         * @return when the build was queued, or 0 if unknown
+         * @see RunEntry#getQueued()
+         */
+        public long getQueued() {
+            return queued;
+        }
+
+        /**
+         * @return when the build started, or 0 if unknown
+         * @see RunEntry#getStarted()
+         */
+        public long getStarted() {
+            return started;
+        }
+
+        /**
+         * @return when the build finished, or 0 if unknown
+         * @see RunEntry#getFinished()
+         */
+        public long getFinished() {
+            return finished;
+        }
+
+        @Override
+        public String toString() {
+            return type + " " + jobName + (buildId != null ? " #" + buildId : "") + (done ? " done" : "");
+        }
+    }
+}
@@ -23,15 +23,20 @@
  */
 package org.jenkinsci.plugins.registry.notification.token;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
 import hudson.Util;
+import hudson.init.Terminator;
+import hudson.model.AsyncPeriodicWork;
 import hudson.model.PersistentDescriptor;
+import hudson.model.TaskListener;
 import hudson.util.HttpResponses;
 import jenkins.model.GlobalConfiguration;
 import jenkins.model.GlobalConfigurationCategory;
 import jenkins.model.Jenkins;
 import net.jcip.annotations.GuardedBy;
+import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
 import org.apache.commons.lang.StringUtils;
 import org.jenkinsci.Symbol;
@@ -42,6 +47,7 @@ import org.kohsuke.stapler.StaplerRequest2;
 import org.kohsuke.stapler.verb.POST;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -50,8 +56,12 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -67,10 +77,35 @@ public class ApiTokens extends GlobalConfiguration implements PersistentDescript
     @GuardedBy("this")
     private final List<HashedApiToken> apiTokens;
 
+    /**
+     * Immutable snapshot of {@link #apiTokens} by their decoded hash, replaced whenever the tokens change.
+     */
+    private transient volatile Map<ByteBuffer, HashedApiToken> apiTokensByHash = Collections.emptyMap();
+
     public ApiTokens() {
         this.apiTokens = new ArrayList<>();
     }
 
+    @Override
+    public synchronized void load() {
+        super.load();
+        reindex();
+    }
+
+    @GuardedBy("this")
+    private void reindex() {
+        Map<ByteBuffer, HashedApiToken> byHash = new HashMap<>();
+        if (this.apiTokens != null) {
+            for (HashedApiToken apiToken : this.apiTokens) {
+                byte[] hash = apiToken.getHashBytes();
+                if (hash != null) {
+                    byHash.put(ByteBuffer.wrap(hash), apiToken);
+                }
+            }
+        }
+        this.apiTokensByHash = Collections.unmodifiableMap(byHash);
+    }
+
     @NonNull
     @Override
     public GlobalConfigurationCategory getCategory() {
@@ -105,6 +140,7 @@ public class ApiTokens extends GlobalConfiguration implements PersistentDescript
 
         synchronized (this) {
             this.apiTokens.add(apiToken);
+            reindex();
         }
 
         JSONObject json = new JSONObject();
@@ -138,6 +174,7 @@ public class ApiTokens extends GlobalConfiguration implements PersistentDescript
 
         synchronized (this) {
             this.apiTokens.removeIf(apiToken -> apiToken.getUuid().equals(apiTokenUuid));
+            reindex();
         }
         save();
 
@@ -148,6 +185,47 @@ public class ApiTokens extends GlobalConfiguration implements PersistentDescript
         return Collections.unmodifiableList(new ArrayList<>(this.apiTokens));
     }
 
+    /**
+     * Usage statistics of all tokens as json, for finding tokens that are no longer used.
+     *
+     * @return the statistics
+     */
+    public HttpResponse doStats() {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+
+        JSONArray tokens = new JSONArray();
+        for (HashedApiToken apiToken : getApiTokens()) {
+            JSONObject json = new JSONObject();
+            json.put("uuid", apiToken.getUuid());
+            json.put("name", apiToken.getName());
+            json.put("created", apiToken.getCreated().getTime());
+            Date lastUsed = apiToken.getLastUsed();
+            json.put("lastUsed", lastUsed != null ? lastUsed.getTime() : null);
+            json.put("requests", apiToken.getRequests());
+            json.put("accepted", apiToken.getAccepted());
+            json.put("rejected", apiToken.getRejected());
+            tokens.add(json);
+        }
+        JSONObject json = new JSONObject();
+        json.put("tokens", tokens);
+        return HttpResponses.okJSON(json);
+    }
+
+    /**
+     * Moves the usage counted since the last flush into the persisted fields and saves if anything was used.
+     */
+    public void flushUsage() {
+        boolean changed = false;
+        synchronized (this) {
+            for (HashedApiToken apiToken : this.apiTokens) {
+                changed |= apiToken.flushUsage();
+            }
+        }
+        if (changed) {
+            save();
+        }
+    }
+
     public boolean isValidApiToken(String plainApiToken) {
         if (StringUtils.isBlank(plainApiToken)) {
             return false;
@@ -156,9 +234,22 @@ public class ApiTokens extends GlobalConfiguration implements PersistentDescript
         return this.hasMatchingApiToken(plainApiToken);
     }
 
-    public synchronized boolean hasMatchingApiToken(@NonNull String plainApiToken) {
+    public boolean hasMatchingApiToken(@NonNull String plainApiToken) {
+        return findMatchingApiToken(plainApiToken) != null;
+    }
+
+    /**
+     * Finds the token with the same hash as the plain text token, without locking.
+     *
+     * @param plainApiToken the plain text token
+     * @return the matching token or null
+     */
+    @CheckForNull
+    public HashedApiToken findMatchingApiToken(@NonNull String plainApiToken) {
         byte[] hash = hashedBytes(plainApiToken.getBytes(StandardCharsets.US_ASCII));
-        return this.apiTokens.stream().anyMatch(apiToken -> apiToken.match(hash));
+        HashedApiToken apiToken = this.apiTokensByHash.get(ByteBuffer.wrap(hash));
+        // the lookup is by hash code, still do the final comparison in constant time
+        return apiToken != null && apiToken.match(hash) ? apiToken : null;
     }
 
     public static class HashedApiToken implements Serializable {
@@ -169,6 +260,19 @@ public class ApiTokens extends GlobalConfiguration implements PersistentDescript
         private final String name;
         private final String hash;
         private final Date created;
+        private transient volatile byte[] hashBytes;
+
+        /*
+         * Usage as of the last flush, persisted.
+         */
+        private volatile long lastUsed;
+        private volatile long requests;
+        private volatile long accepted;
+        private volatile long rejected;
+        /**
+         * Usage since the last flush, counted without contention on the request path.
+         */
+        private transient volatile Usage usage = new Usage();
 
         private HashedApiToken(String name, String hash) {
             this.uuid = UUID.randomUUID().toString();
@@ -184,6 +288,11 @@ public class ApiTokens extends GlobalConfiguration implements PersistentDescript
             this.created = created;
         }
 
+        private Object readResolve() {
+            this.usage = new Usage();
+            return this;
+        }
+
         public String getUuid() {
             return uuid;
         }
@@ -200,16 +309,158 @@ public class ApiTokens extends GlobalConfiguration implements PersistentDescript
             return new Date(created.getTime());
         }
 
+        /**
+         * When the token was last presented with a request.
+         *
+         * @return the time or null if never used
+         */
+        @CheckForNull
+        public Date getLastUsed() {
+            long time = Math.max(lastUsed, usage.lastUsed);
+            return time > 0 ? new Date(time) : null;
+        }
+
+        /**
+         * Number of requests made with the token.
+         *
+         * @return the count
+         */
+        public long getRequests() {
+            return requests + usage.requests.sum();
+        }
+
+        /**
+         * Number of requests with the token that were accepted for processing.
+         *
+         * @return the count
+         */
+        public long getAccepted() {
+            return accepted + usage.accepted.sum();
+        }
+
+        /**
+         * Number of requests with the token that could not be processed,
+         * e.g. because the payload was invalid or the queue was full.
+         *
+         * @return the count
+         */
+        public long getRejected() {
+            return rejected + usage.rejected.sum();
+        }
+
+        /**
+         * Counts a request made with the token.
+         */
+        public void recordRequest() {
+            usage.lastUsed = System.currentTimeMillis();
+            usage.requests.increment();
+        }
+
+        /**
+         * Counts the outcome of a request made with the token.
+         *
+         * @param wasAccepted if the request was accepted
+         */
+        public void recordOutcome(boolean wasAccepted) {
+            if (wasAccepted) {
+                usage.accepted.increment();
+            } else {
+                usage.rejected.increment();
+            }
+        }
+
+        /**
+         * Subtracts what was flushed instead of resetting the counters,
+         * as {@link LongAdder#sumThenReset()} loses increments made while it runs.
+         *
+         * @return true if there was any usage to flush
+         */
+        private boolean flushUsage() {
+            Usage u = usage;
+            long r = u.requests.sum();
+            long a = u.accepted.sum();
+            long j = u.rejected.sum();
+            long l = u.lastUsed;
+            if (r == 0 && a == 0 && j == 0 && l <= lastUsed) {
+                return false;
+            }
+            u.requests.add(-r);
+            u.accepted.add(-a);
+            u.rejected.add(-j);
+            requests += r;
+            accepted += a;
+            rejected += j;
+            lastUsed = Math.max(lastUsed, l);
+            return true;
+        }
+
+        /**
+         * The decoded {@link #getHash()}.
+         *
+         * @return the bytes or null if the hash is not in hex format
+         */
+        @CheckForNull
+        private byte[] getHashBytes() {
+            byte[] bytes = hashBytes;
+            if (bytes == null) {
+                try {
+                    bytes = Util.fromHexString(hash);
+                } catch (NumberFormatException e) {
+                    LOGGER.log(Level.WARNING, "The API token with name=[{0}] is not in hex-format and so cannot be used", name);
+                    return null;
+                }
+                hashBytes = bytes;
+            }
+            return bytes;
+        }
+
         private boolean match(byte[] hashedBytes) {
-            byte[] hashFromHex;
-            try {
-                hashFromHex = Util.fromHexString(hash);
-            } catch (NumberFormatException e) {
-                LOGGER.log(Level.WARNING, "The API token with name=[{0}] is not in hex-format and so cannot be used", name);
+            byte[] hashFromHex = getHashBytes();
+            if (hashFromHex == null) {
                 return false;
             }
 
             return MessageDigest.isEqual(hashFromHex, hashedBytes);
         }
     }
+
+    private static final class Usage {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder accepted = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private volatile long lastUsed;
+    }
+
+    /**
+     * Saves the token usage every minute instead of on every request.
+     */
+    @Extension
+    @Restricted(NoExternalUse.class)
+    public static class UsageFlusher extends AsyncPeriodicWork {
+        public UsageFlusher() {
+            super("DockerHub API token usage");
+        }
+
+        @Override
+        public long getRecurrencePeriod() {
+            return TimeUnit.MINUTES.toMillis(1);
+        }
+
+        @Override
+        protected void execute(TaskListener listener) {
+            ApiTokens apiTokens = ApiTokens.get();
+            if (apiTokens != null) {
+                apiTokens.flushUsage();
+            }
+        }
+    }
+
+    @Terminator
+    @Restricted(NoExternalUse.class)
+    public static void flushUsageOnShutdown() {
+        ApiTokens apiTokens = ApiTokens.get();
+        if (apiTokens != null) {
+            apiTokens.flushUsage();
+        }
+    }
 }
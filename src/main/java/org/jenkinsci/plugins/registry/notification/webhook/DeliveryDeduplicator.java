@@ -0,0 +1,301 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.webhook;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.init.Terminator;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.TaskListener;
+import hudson.util.AtomicFileWriter;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Remembers recently triggered pushes by their {@link PushNotification#getDeliveryKey()}
+ * so that redeliveries of the same push don't trigger the jobs again.
+ * A push is remembered once it has been triggered, so a delivery that failed, or is still waiting
+ * in the {@link PushCoalescer}, doesn't cause the next delivery of the push to be ignored.
+ * Deliveries replayed from the {@link WebHookJournal} are not checked, they were never done.
+ *
+ * The keys are kept for {@link #WINDOW_MILLIS} in a map bounded to {@link #MAX_ENTRIES}
+ * and saved to {@code JENKINS_HOME/dockerhub-notification/delivery-keys.txt} every minute and on shutdown.
+ * Disabled unless a window is configured.
+ */
+@Extension
+@Restricted(NoExternalUse.class)
+public class DeliveryDeduplicator {
+    private static final Logger logger = Logger.getLogger(DeliveryDeduplicator.class.getName());
+
+    /**
+     * For how long in milliseconds a redelivery is ignored, 0 to disable.
+     */
+    static /*almost final*/ long WINDOW_MILLIS = SystemProperties.getLong(DeliveryDeduplicator.class.getName() + ".windowMillis", 0L);
+    /**
+     * Max number of keys to remember.
+     */
+    static /*almost final*/ int MAX_ENTRIES = SystemProperties.getInteger(DeliveryDeduplicator.class.getName() + ".maxEntries", 10000);
+
+    /**
+     * Key to when it was first seen.
+     */
+    private final Map<String, Long> seen = new ConcurrentHashMap<>();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile boolean loaded = false;
+
+    @CheckForNull
+    public static DeliveryDeduplicator getInstance() {
+        if (Jenkins.getInstanceOrNull() == null) {
+            return null;
+        }
+        ExtensionList<DeliveryDeduplicator> list = ExtensionList.lookup(DeliveryDeduplicator.class);
+        return list.isEmpty() ? null : list.get(0);
+    }
+
+    public static boolean isEnabled() {
+        return WINDOW_MILLIS > 0;
+    }
+
+    /**
+     * Tells if the push has been triggered within the window before.
+     * The push is only remembered once it has been triggered, see {@link #record(PushNotification)}.
+     *
+     * @param pushNotification the push
+     * @return true if the push is a redelivery that should be ignored
+     */
+    public boolean isDuplicate(@NonNull PushNotification pushNotification) {
+        String key = pushNotification.getDeliveryKey();
+        if (key == null) {
+            return false;
+        }
+        ensureLoaded();
+        Long first = seen.get(key);
+        return first != null && System.currentTimeMillis() - first < WINDOW_MILLIS;
+    }
+
+    /**
+     * Remembers a push that has been triggered, so that its redeliveries within the window are ignored.
+     *
+     * @param pushNotification the push
+     */
+    public void record(@NonNull PushNotification pushNotification) {
+        record(pushNotification.getDeliveryKey());
+    }
+
+    /**
+     * Remembers the delivery key of a push that has been triggered.
+     *
+     * @param key the {@link PushNotification#getDeliveryKey()}, nothing is remembered if null
+     */
+    void record(@CheckForNull String key) {
+        if (key == null) {
+            return;
+        }
+        ensureLoaded();
+        long now = System.currentTimeMillis();
+        Long first = seen.putIfAbsent(key, now);
+        if (first != null && now - first >= WINDOW_MILLIS) {
+            // expired, starts a new window unless someone else just did
+            seen.replace(key, first, now);
+        }
+        dirty.set(true);
+        if (seen.size() > MAX_ENTRIES) {
+            prune(now);
+        }
+    }
+
+    /**
+     * Number of remembered keys.
+     *
+     * @return the size
+     */
+    public int size() {
+        return seen.size();
+    }
+
+    /**
+     * Removes the expired keys, and the oldest ones if there are still too many.
+     */
+    private void prune(long now) {
+        if (!pruning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            seen.entrySet().removeIf(e -> now - e.getValue() >= WINDOW_MILLIS);
+            int excess = seen.size() - MAX_ENTRIES;
+            if (excess > 0) {
+                List<Map.Entry<String, Long>> entries = new ArrayList<>(seen.entrySet());
+                entries.sort(Map.Entry.comparingByValue());
+                for (int i = 0; i < excess && i < entries.size(); i++) {
+                    seen.remove(entries.get(i).getKey(), entries.get(i).getValue());
+                }
+            }
+        } finally {
+            pruning.set(false);
+        }
+    }
+
+    @NonNull
+    File getFile() {
+        return new File(Jenkins.get().getRootDir(), "dockerhub-notification" + File.separator + "delivery-keys.txt");
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            loaded = true;
+            File file = getFile();
+            if (!file.isFile()) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int tab = line.indexOf('\t');
+                    if (tab <= 0) {
+                        continue;
+                    }
+                    try {
+                        long time = Long.parseLong(line.substring(0, tab));
+                        if (now - time < WINDOW_MILLIS) {
+                            seen.putIfAbsent(line.substring(tab + 1), time);
+                        }
+                    } catch (NumberFormatException e) {
+                        logger.log(Level.FINE, "Ignoring corrupt line in {0}", file);
+                    }
+                }
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to load " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Saves the keys that are not expired if anything has changed since the last save.
+     *
+     * @throws IOException if so
+     */
+    synchronized void save() throws IOException {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        File file = getFile();
+        File dir = file.getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+        AtomicFileWriter writer = new AtomicFileWriter(file.toPath(), StandardCharsets.UTF_8);
+        try {
+            for (Map.Entry<String, Long> entry : seen.entrySet()) {
+                if (now - entry.getValue() < WINDOW_MILLIS) {
+                    writeLine(writer, entry.getValue(), entry.getKey());
+                }
+            }
+            writer.commit();
+        } catch (IOException | RuntimeException e) {
+            dirty.set(true);
+            throw e;
+        } finally {
+            writer.abort();
+        }
+    }
+
+    private static void writeLine(@NonNull Writer writer, long time, @NonNull String key) throws IOException {
+        writer.write(Long.toString(time));
+        writer.write('\t');
+        writer.write(key.replace('\n', ' ').replace('\r', ' '));
+        writer.write('\n');
+    }
+
+    @Initializer(after = InitMilestone.JOB_LOADED)
+    @Restricted(NoExternalUse.class)
+    public static void load() {
+        DeliveryDeduplicator deduplicator = getInstance();
+        if (deduplicator != null && isEnabled()) {
+            deduplicator.ensureLoaded();
+        }
+    }
+
+    @Terminator
+    @Restricted(NoExternalUse.class)
+    public static void terminate() throws IOException {
+        DeliveryDeduplicator deduplicator = getInstance();
+        if (deduplicator != null && isEnabled()) {
+            deduplicator.save();
+        }
+    }
+
+    /**
+     * Saves the keys every minute.
+     */
+    @Extension
+    @Restricted(NoExternalUse.class)
+    public static class Snapshot extends AsyncPeriodicWork {
+        public Snapshot() {
+            super("DockerHub delivery keys snapshot");
+        }
+
+        @Override
+        public long getRecurrencePeriod() {
+            return TimeUnit.MINUTES.toMillis(1);
+        }
+
+        @Override
+        protected void execute(TaskListener listener) throws IOException {
+            DeliveryDeduplicator deduplicator = getInstance();
+            if (deduplicator != null && isEnabled()) {
+                deduplicator.save();
+            }
+        }
+    }
+}
@@ -24,34 +24,141 @@
 package org.jenkinsci.plugins.registry.notification.webhook;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ProxyConfiguration;
+import hudson.XmlFile;
+import hudson.model.Saveable;
+import hudson.model.listeners.SaveableListener;
 import io.jenkins.plugins.okhttp.api.JenkinsOkHttpClient;
+import jenkins.util.SystemProperties;
 import net.sf.json.JSONObject;
+import okhttp3.ConnectionPool;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import org.jenkinsci.plugins.registry.notification.metrics.Metrics;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
 
 /**
+ * Outbound HTTP calls.
+ *
+ * All calls share one lazily created client, with a {@link ConnectionPool} keeping idle connections alive
+ * between callbacks to the same host.
+ *
  * @author Robert Sandell &lt;rsandell@cloudbees.com&gt;.
  */
 public class Http {
 
     private static final MediaType CONTENT_TYPE_JSON_UTF8_ENCODING = MediaType.get("application/json; charset=utf-8");
 
-    public static int post(@NonNull final String url, @NonNull final JSONObject data) throws IOException {
-        final OkHttpClient jenkinsHttpClient = JenkinsOkHttpClient.newClientBuilder(new OkHttpClient())
-                                                                  .followRedirects(false)
-                                                                  .followSslRedirects(false)
-                                                                  .build();
+    /**
+     * Connect timeout in milliseconds.
+     */
+    static /*almost final*/ long CONNECT_TIMEOUT_MILLIS = SystemProperties.getLong(Http.class.getName() + ".connectTimeoutMillis", 10000L);
+    /**
+     * Read timeout in milliseconds.
+     */
+    static /*almost final*/ long READ_TIMEOUT_MILLIS = SystemProperties.getLong(Http.class.getName() + ".readTimeoutMillis", 30000L);
+    /**
+     * Max number of idle connections kept in the pool.
+     */
+    static /*almost final*/ int MAX_IDLE_CONNECTIONS = SystemProperties.getInteger(Http.class.getName() + ".maxIdleConnections", 5);
+    /**
+     * How long an idle connection is kept in the pool, in seconds.
+     */
+    static /*almost final*/ long KEEP_ALIVE_SECONDS = SystemProperties.getLong(Http.class.getName() + ".keepAliveSeconds", 300L);
+
+    @CheckForNull
+    private static volatile OkHttpClient client;
+
+    static {
+        Metrics.gauge(Metrics.HTTP_CONNECTIONS, Http::getConnectionCount);
+        Metrics.gauge(Metrics.HTTP_IDLE_CONNECTIONS, Http::getIdleConnectionCount);
+    }
+
+    @NonNull
+    static OkHttpClient getClient() {
+        OkHttpClient c = client;
+        if (c == null) {
+            synchronized (Http.class) {
+                c = client;
+                if (c == null) {
+                    c = JenkinsOkHttpClient.newClientBuilder(new OkHttpClient())
+                                           .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS))
+                                           .connectTimeout(CONNECT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                                           .readTimeout(READ_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                                           .followRedirects(false)
+                                           .followSslRedirects(false)
+                                           .build();
+                    client = c;
+                }
+            }
+        }
+        return c;
+    }
 
+    /**
+     * Drops the shared client, e.g. after the proxy configuration has changed, see {@link ProxyListener}.
+     * Calls in progress complete with the old client.
+     */
+    public static void reset() {
+        OkHttpClient c;
+        synchronized (Http.class) {
+            c = client;
+            client = null;
+        }
+        if (c != null) {
+            c.connectionPool().evictAll();
+        }
+    }
+
+    public static int post(@NonNull final String url, @NonNull final JSONObject data) throws IOException {
         final Request request = new Request.Builder().post(
                 RequestBody.create(CONTENT_TYPE_JSON_UTF8_ENCODING, data.toString())).url(url).build();
 
-        Response response = jenkinsHttpClient.newCall(request).execute();
+        try (Response response = getClient().newCall(request).execute()) {
+            return response.code();
+        }
+    }
+
+    /**
+     * Number of open connections in the pool of the shared client.
+     *
+     * @return the connection count, 0 if no call has been made yet
+     */
+    public static int getConnectionCount() {
+        OkHttpClient c = client;
+        return c != null ? c.connectionPool().connectionCount() : 0;
+    }
+
+    /**
+     * Number of idle connections in the pool of the shared client, available for reuse.
+     *
+     * @return the idle connection count, 0 if no call has been made yet
+     */
+    public static int getIdleConnectionCount() {
+        OkHttpClient c = client;
+        return c != null ? c.connectionPool().idleConnectionCount() : 0;
+    }
 
-        return response.code();
+    /**
+     * Makes the next call build a new client with the saved proxy configuration.
+     */
+    @Extension
+    @Restricted(NoExternalUse.class)
+    public static class ProxyListener extends SaveableListener {
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof ProxyConfiguration) {
+                reset();
+            }
+        }
     }
 }
@@ -23,6 +23,7 @@
  */
 package org.jenkinsci.plugins.registry.notification.webhook;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.model.*;
 import hudson.model.Queue;
@@ -31,9 +32,12 @@ import jenkins.model.Jenkins;
 import jenkins.model.ParameterizedJobMixIn;
 import net.sf.json.JSONObject;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
 import org.jenkinsci.plugins.registry.notification.Coordinator;
 import org.jenkinsci.plugins.registry.notification.DockerHubTrigger;
+import org.jenkinsci.plugins.registry.notification.TriggerIndex;
 import org.jenkinsci.plugins.registry.notification.TriggerStore;
+import org.jenkinsci.plugins.registry.notification.metrics.Metrics;
 import org.jenkinsci.plugins.registry.notification.token.ApiTokens;
 import org.kohsuke.stapler.Ancestor;
 import org.kohsuke.stapler.QueryParameter;
@@ -43,9 +47,15 @@ import org.kohsuke.stapler.interceptor.RequirePOST;
 import org.kohsuke.stapler.interceptor.RespondSuccess;
 import org.springframework.security.access.AccessDeniedException;
 
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -65,19 +75,47 @@ public abstract class JSONWebHook implements UnprotectedRootAction {
     @RequirePOST
     @RespondSuccess
     public void doNotify(@QueryParameter(required = false) String payload, StaplerRequest2 request, StaplerResponse2 response) throws IOException {
+        ApiTokens.HashedApiToken apiToken = null;
         if (!DO_NOT_REQUIRE_API_TOKEN) {
-            checkValidApiToken(request, response);
+            apiToken = checkValidApiToken(request, response).getApiToken();
         }
-        WebHookPayload hookPayload = null;
-        if (payload != null) {
+        if (WebHookIngest.isEnabled()) {
+            WebHookDelivery delivery;
             try {
-                hookPayload = createPushNotification(JSONObject.fromObject(payload));
-            } catch (Exception e) {
-                logger.log(Level.SEVERE, "Could not parse the web hook payload!", e);
+                delivery = WebHookDelivery.from(getUrlName(), payload, request, WebHookIngest.getMaxBodyBytes());
+            } catch (WebHookDelivery.TooLargeException e) {
+                logger.log(Level.WARNING, "Rejecting web hook on {0}: {1}", new Object[]{getUrlName(), e.getMessage()});
+                countRequest("rejected");
+                if (apiToken != null) {
+                    apiToken.recordOutcome(false);
+                }
+                response.sendError(413, e.getMessage());
+                return;
+            }
+            Metrics.histogram(Metrics.WEBHOOK_BODY_BYTES, "endpoint", getUrlName()).record(delivery.size());
+            boolean accepted = accept(delivery, response);
+            countRequest(accepted ? "accepted" : "rejected");
+            if (apiToken != null) {
+                apiToken.recordOutcome(accepted);
             }
+            return;
+        }
+        int size = payload != null ? payload.length() : request.getContentLength();
+        if (size >= 0) {
+            Metrics.histogram(Metrics.WEBHOOK_BODY_BYTES, "endpoint", getUrlName()).record(size);
+        }
+        long start = System.nanoTime();
+        WebHookPayload hookPayload = null;
+        if (payload != null) {
+            hookPayload = parse(payload);
         } else {
             hookPayload = parse(request);
         }
+        Metrics.histogram(Metrics.WEBHOOK_PARSE_SECONDS, "endpoint", getUrlName()).recordNanosSince(start);
+        countRequest(hookPayload != null ? "processed" : "unparseable");
+        if (apiToken != null) {
+            apiToken.recordOutcome(hookPayload != null);
+        }
         if (hookPayload != null) {
             for (PushNotification pushNotification : hookPayload.getPushNotifications()) {
                 try {
@@ -89,18 +127,93 @@ public abstract class JSONWebHook implements UnprotectedRootAction {
         }
     }
 
-    private void checkValidApiToken(final StaplerRequest2 request, final StaplerResponse2 response) throws IOException {
+    /**
+     * Puts the delivery on the {@link WebHookIngest} queue and responds with 202,
+     * or 429 if the queue is full.
+     *
+     * @return true if the delivery was accepted
+     */
+    private boolean accept(@NonNull WebHookDelivery delivery, @NonNull StaplerResponse2 response) throws IOException {
+        WebHookIngest ingest = WebHookIngest.getInstance();
+        if (ingest != null && ingest.offer(this, delivery)) {
+            response.setStatus(HttpServletResponse.SC_ACCEPTED);
+            response.flushBuffer();
+            return true;
+        } else {
+            response.setHeader("Retry-After", String.valueOf(WebHookIngest.getRetryAfterSeconds()));
+            response.sendError(429, "Too many web hook deliveries, try again later.");
+            return false;
+        }
+    }
+
+    /**
+     * Parses, matches and schedules an accepted delivery.
+     *
+     * @param delivery the delivery
+     */
+    protected void process(@NonNull WebHookDelivery delivery) {
+        process(delivery, null);
+    }
+
+    /**
+     * Parses, matches and schedules an accepted delivery.
+     *
+     * @param delivery   the delivery
+     * @param completion marks the delivery as done in the {@link WebHookJournal}, null if it is not journaled
+     */
+    void process(@NonNull WebHookDelivery delivery, @CheckForNull WebHookJournal.Completion completion) {
+        long start = System.nanoTime();
+        WebHookPayload hookPayload;
+        if (delivery.getPayload() != null) {
+            hookPayload = parse(delivery.getPayload());
+        } else if (isFormEncoded(delivery.getContentType())) {
+            String body = delivery.getBody() != null ? decode(delivery.getBody(), delivery.getCharacterEncoding()) : "";
+            hookPayload = parse(body, delivery.getContentType(), delivery.getCharacterEncoding());
+        } else {
+            byte[] body = delivery.getBody() != null ? delivery.getBody() : new byte[0];
+            hookPayload = parse(new ByteArrayInputStream(body), delivery.getCharacterEncoding());
+        }
+        Metrics.histogram(Metrics.WEBHOOK_PARSE_SECONDS, "endpoint", getUrlName()).recordNanosSince(start);
+        if (hookPayload == null) {
+            countRequest("unparseable");
+        }
+        if (hookPayload != null) {
+            for (PushNotification pushNotification : hookPayload.getPushNotifications()) {
+                try {
+                    trigger(pushNotification, completion);
+                } catch (Exception e) {
+                    logger.log(Level.SEVERE, "Could not trigger a job!", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts a request to this endpoint in {@link Metrics#WEBHOOK_REQUESTS}.
+     *
+     * @param outcome what happened to the request
+     */
+    private void countRequest(@NonNull String outcome) {
+        Metrics.counter(Metrics.WEBHOOK_REQUESTS, "endpoint", getUrlName(), "outcome", outcome).increment();
+    }
+
+    @NonNull
+    private ValidApiToken checkValidApiToken(final StaplerRequest2 request, final StaplerResponse2 response) throws IOException {
         final Ancestor ancestor = request.findAncestor(ValidApiToken.class);
         if (ancestor == null) {
             response.sendError(403, "No valid API token provided.");
             throw new AccessDeniedException("No valid API token provided.");
         }
+        return (ValidApiToken) ancestor.getObject();
     }
 
     public ValidApiToken getDynamic(String token, StaplerResponse2 rsp) throws IOException {
-        if (ApiTokens.get().isValidApiToken(token)) {
-            return new ValidApiToken(token, this);
+        ApiTokens.HashedApiToken apiToken = StringUtils.isBlank(token) ? null : ApiTokens.get().findMatchingApiToken(token);
+        if (apiToken != null) {
+            apiToken.recordRequest();
+            return new ValidApiToken(token, this, apiToken);
         } else {
+            countRequest("forbidden");
             rsp.sendError(403, "No valid API token provided.");
             return null;
         }
@@ -124,6 +237,52 @@ public abstract class JSONWebHook implements UnprotectedRootAction {
     }
 
     protected void trigger(StaplerResponse2 response, final PushNotification pushNotification) throws IOException {
+        trigger(pushNotification);
+    }
+
+    /**
+     * Schedules all jobs that are triggered by the push,
+     * or hands it to the {@link PushCoalescer} to be triggered with the rest of its burst.
+     * Redeliveries of a push already triggered, as remembered by the {@link DeliveryDeduplicator}, are ignored.
+     *
+     * @param pushNotification the push
+     */
+    protected void trigger(final PushNotification pushNotification) {
+        trigger(pushNotification, null);
+    }
+
+    /**
+     * Schedules all jobs that are triggered by the push, or hands it to the {@link PushCoalescer}
+     * that then holds the completion of the delivery until the burst is triggered.
+     * Deliveries replayed from the {@link WebHookJournal} are not checked for redeliveries.
+     *
+     * @param pushNotification the push
+     * @param completion       marks the delivery as done in the {@link WebHookJournal}, null if it is not journaled
+     */
+    void trigger(final PushNotification pushNotification, @CheckForNull WebHookJournal.Completion completion) {
+        DeliveryDeduplicator deduplicator = DeliveryDeduplicator.isEnabled() ? DeliveryDeduplicator.getInstance() : null;
+        boolean replayed = completion != null && completion.isReplayed();
+        if (deduplicator != null && !replayed && deduplicator.isDuplicate(pushNotification)) {
+            logger.log(Level.FINE, "Ignoring redelivery of {0}", pushNotification.getDeliveryKey());
+            return;
+        }
+        PushCoalescer coalescer = PushCoalescer.isEnabled() ? PushCoalescer.getInstance() : null;
+        if (coalescer != null && coalescer.offer(this, pushNotification, completion)) {
+            // remembered by the burst once it has been triggered
+            return;
+        }
+        triggerNow(pushNotification);
+        if (deduplicator != null) {
+            deduplicator.record(pushNotification);
+        }
+    }
+
+    /**
+     * Schedules all jobs that are triggered by the push.
+     *
+     * @param pushNotification the push
+     */
+    void triggerNow(final PushNotification pushNotification) {
         final Jenkins jenkins = Jenkins.getInstance();
         if (jenkins == null) {
             return;
@@ -131,31 +290,68 @@ public abstract class JSONWebHook implements UnprotectedRootAction {
         ACL.impersonate2(ACL.SYSTEM2, new Runnable() {
             @Override
             public void run() {
-                // search all jobs for DockerHubTrigger
-                for (ParameterizedJobMixIn.ParameterizedJob p : jenkins.getAllItems(ParameterizedJobMixIn.ParameterizedJob.class)) {
+                long start = System.nanoTime();
+                String repoName = pushNotification.getRepoName();
+                List<Job<?, ?>> matched = new ArrayList<Job<?, ?>>();
+                for (ParameterizedJobMixIn.ParameterizedJob p : getCandidateJobs(jenkins, repoName)) {
                     DockerHubTrigger trigger = DockerHubTrigger.getTrigger(p);
                     if (trigger == null) {
                         logger.log(Level.FINER, "job {0} doesn't have DockerHubTrigger set", p.getName());
                         continue;
                     }
                     logger.log(Level.FINER, "Inspecting candidate job {0}", p.getName());
-                    Set<String> allRepoNames = trigger.getAllRepoNames();
-                    String repoName = pushNotification.getRepoName();
-                    if (allRepoNames.contains(repoName)) {
-                        schedule((Job) p, pushNotification);
+                    if (trigger.isTriggeredBy(repoName)) {
+                        matched.add((Job<?, ?>) p);
                     }
                 }
+                Metrics.histogram(Metrics.WEBHOOK_MATCH_SECONDS, "endpoint", getUrlName()).recordNanosSince(start);
+                Metrics.histogram(Metrics.WEBHOOK_MATCHED_JOBS, "endpoint", getUrlName()).record(matched.size());
+                schedule(matched, pushNotification);
             }
         });
     }
 
-    private void schedule(@NonNull final Job job, @NonNull final PushNotification pushNotification) {
-        if (new JobbMixIn(job).schedule(pushNotification.getCause())) {
-            logger.info(pushNotification.getCauseMessage());
-            Coordinator coordinator = Coordinator.getInstance();
-            if (coordinator != null) {
-                coordinator.onTriggered(job, pushNotification);
+    /**
+     * The jobs that could be triggered by a push to the repository.
+     * Uses the {@link TriggerIndex} when it is available and falls back to searching all jobs.
+     */
+    private Collection<? extends ParameterizedJobMixIn.ParameterizedJob> getCandidateJobs(@NonNull Jenkins jenkins, String repoName) {
+        TriggerIndex index = TriggerIndex.getInstance();
+        if (index != null && index.isReady()) {
+            return index.getJobs(repoName);
+        }
+        return jenkins.getAllItems(ParameterizedJobMixIn.ParameterizedJob.class);
+    }
+
+    /**
+     * Schedules all the jobs in one {@link Queue#withLock(Runnable)} section,
+     * so that the queue lock is taken once per push instead of once per job,
+     * and then records the scheduled ones as one batch.
+     */
+    private void schedule(@NonNull final List<Job<?, ?>> jobs, @NonNull final PushNotification pushNotification) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        final List<Job<?, ?>> scheduled = new ArrayList<Job<?, ?>>(jobs.size());
+        long start = System.nanoTime();
+        Queue.withLock(new Runnable() {
+            @Override
+            public void run() {
+                for (Job<?, ?> job : jobs) {
+                    if (new JobbMixIn((Job) job).schedule(pushNotification.getCause())) {
+                        scheduled.add(job);
+                    }
+                }
             }
+        });
+        Metrics.histogram(Metrics.WEBHOOK_SCHEDULE_SECONDS, "endpoint", getUrlName()).recordNanosSince(start);
+        if (scheduled.isEmpty()) {
+            return;
+        }
+        logger.log(Level.INFO, "{0} ({1} jobs)", new Object[]{pushNotification.getCauseMessage(), scheduled.size()});
+        Coordinator coordinator = Coordinator.getInstance();
+        if (coordinator != null) {
+            coordinator.onTriggered(scheduled, pushNotification);
         }
     }
 
@@ -172,23 +368,77 @@ public abstract class JSONWebHook implements UnprotectedRootAction {
 
     protected abstract WebHookPayload createPushNotification(JSONObject data);
 
+    /**
+     * Creates the payload from the raw request body.
+     * The default implementation reads the whole body into a {@link JSONObject},
+     * subclasses can override to decode only what they need while streaming.
+     *
+     * @param body              the request body
+     * @param characterEncoding the encoding of the request, if known
+     * @return the payload
+     * @throws IOException if the body could not be read or decoded
+     */
+    protected WebHookPayload createPushNotification(@NonNull InputStream body, @CheckForNull String characterEncoding) throws IOException {
+        String json = IOUtils.toString(body, characterEncoding);
+        logger.log(Level.FINER, "Received commit hook notification : {0}", json);
+        return createPushNotification(JSONObject.fromObject(json));
+    }
+
     private WebHookPayload parse(StaplerRequest2 req) throws IOException {
-        //TODO Actually test what duckerhub is really sending
-        String body = IOUtils.toString(req.getInputStream(), req.getCharacterEncoding());
-        String contentType = req.getContentType();
-        if (contentType != null && contentType.startsWith("application/x-www-form-urlencoded")) {
-            body = URLDecoder.decode(body, req.getCharacterEncoding());
+        if (isFormEncoded(req.getContentType())) {
+            String body = IOUtils.toString(req.getInputStream(), req.getCharacterEncoding());
+            return parse(body, req.getContentType(), req.getCharacterEncoding());
+        }
+        return parse(req.getInputStream(), req.getCharacterEncoding());
+    }
+
+    private WebHookPayload parse(@NonNull InputStream body, @CheckForNull String characterEncoding) {
+        try {
+            return createPushNotification(body, characterEncoding);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Could not parse the web hook payload!", e);
+            return null;
+        }
+    }
+
+    private static boolean isFormEncoded(@CheckForNull String contentType) {
+        return contentType != null && contentType.startsWith("application/x-www-form-urlencoded");
+    }
+
+    private WebHookPayload parse(String body, String contentType, String characterEncoding) {
+        try {
+            if (isFormEncoded(contentType)) {
+                body = URLDecoder.decode(body, characterEncoding != null ? characterEncoding : "UTF-8");
+            }
+        } catch (UnsupportedEncodingException e) {
+            logger.log(Level.SEVERE, "Could not decode the web hook payload!", e);
+            return null;
         }
         logger.log(Level.FINER, "Received commit hook notification : {0}", body);
+        return parse(body);
+    }
+
+    private WebHookPayload parse(String payload) {
         try {
-            JSONObject payload = JSONObject.fromObject(body);
-            return createPushNotification(payload);
+            return createPushNotification(JSONObject.fromObject(payload));
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Could not parse the web hook payload!", e);
             return null;
         }
     }
 
+    private static String decode(byte[] body, String characterEncoding) {
+        Charset charset = StandardCharsets.UTF_8;
+        if (characterEncoding != null) {
+            try {
+                charset = Charset.forName(characterEncoding);
+            } catch (IllegalArgumentException e) {
+                logger.log(Level.WARNING, "Unknown character encoding {0}, using UTF-8", characterEncoding);
+            }
+        }
+        return new String(body, charset);
+    }
+
     /**
      * Workaround until {@link ParameterizedJobMixIn#getDefaultParametersValues()} gets public.
      */
@@ -274,16 +524,33 @@ public abstract class JSONWebHook implements UnprotectedRootAction {
     public static class ValidApiToken {
         private final String token;
         private final JSONWebHook delegate;
+        @CheckForNull
+        private final ApiTokens.HashedApiToken apiToken;
 
         public ValidApiToken(final String token, final JSONWebHook delegate) {
+            this(token, delegate, null);
+        }
+
+        public ValidApiToken(final String token, final JSONWebHook delegate, @CheckForNull final ApiTokens.HashedApiToken apiToken) {
             this.token = token;
             this.delegate = delegate;
+            this.apiToken = apiToken;
         }
 
         public String getToken() {
             return token;
         }
 
+        /**
+         * The stored token that matched {@link #getToken()}.
+         *
+         * @return the token, or null if not known
+         */
+        @CheckForNull
+        public ApiTokens.HashedApiToken getApiToken() {
+            return apiToken;
+        }
+
         @RequirePOST
         @RespondSuccess
         public void doNotify(@QueryParameter(required = false) String payload, StaplerRequest2 request, StaplerResponse2 response) throws IOException {
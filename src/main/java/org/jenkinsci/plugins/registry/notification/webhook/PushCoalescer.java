@@ -0,0 +1,254 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.webhook;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.init.Terminator;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+import jenkins.util.Timer;
+import net.jcip.annotations.GuardedBy;
+import org.apache.commons.lang.StringUtils;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Merges bursts of pushes to the same repository into one trigger.
+ *
+ * A push starts a burst that is triggered when no other push to the repository has been received for
+ * {@link #WINDOW_MILLIS}, or at the latest {@link #MAX_WAIT_MILLIS} after the first push.
+ * The last push of the burst is triggered, with all the pushed tags in {@link PushNotification#getCoalescedTags()}.
+ * Deliveries in the {@link WebHookJournal} are only marked as done once the bursts of their pushes have been triggered.
+ * Disabled unless a window is configured.
+ */
+@Extension
+@Restricted(NoExternalUse.class)
+public class PushCoalescer {
+    private static final Logger logger = Logger.getLogger(PushCoalescer.class.getName());
+
+    /**
+     * Quiet time in milliseconds after the last push before the burst is triggered, 0 to disable.
+     */
+    static /*almost final*/ long WINDOW_MILLIS = SystemProperties.getLong(PushCoalescer.class.getName() + ".windowMillis", 0L);
+    /**
+     * Max time in milliseconds from the first push of a burst until it is triggered.
+     */
+    static /*almost final*/ long MAX_WAIT_MILLIS = SystemProperties.getLong(PushCoalescer.class.getName() + ".maxWaitMillis", 60000L);
+
+    private final Map<String, Burst> bursts = new ConcurrentHashMap<>();
+
+    @CheckForNull
+    public static PushCoalescer getInstance() {
+        if (Jenkins.getInstanceOrNull() == null) {
+            return null;
+        }
+        ExtensionList<PushCoalescer> list = ExtensionList.lookup(PushCoalescer.class);
+        return list.isEmpty() ? null : list.get(0);
+    }
+
+    public static boolean isEnabled() {
+        return WINDOW_MILLIS > 0;
+    }
+
+    /**
+     * Adds the push to the burst of its repository.
+     *
+     * @param hook             the hook that received the push, used to trigger the burst
+     * @param pushNotification the push
+     * @return true if the push will be triggered as part of a burst,
+     * false if it was not taken and should be triggered by the caller.
+     */
+    public boolean offer(@NonNull JSONWebHook hook, @NonNull PushNotification pushNotification) {
+        return offer(hook, pushNotification, null);
+    }
+
+    /**
+     * Adds the push to the burst of its repository.
+     * The journaled delivery of the push is held until the burst has been triggered.
+     *
+     * @param hook             the hook that received the push, used to trigger the burst
+     * @param pushNotification the push
+     * @param completion       of the journaled delivery of the push, or null
+     * @return true if the push will be triggered as part of a burst,
+     * false if it was not taken and should be triggered by the caller.
+     */
+    boolean offer(@NonNull JSONWebHook hook, @NonNull PushNotification pushNotification, @CheckForNull WebHookJournal.Completion completion) {
+        if (!isEnabled() || !pushNotification.isCoalescable() || pushNotification.getRepoName() == null) {
+            return false;
+        }
+        String key = hook.getUrlName() + "/" + pushNotification.getRepoName();
+        long now = System.currentTimeMillis();
+        while (true) {
+            Burst burst = bursts.computeIfAbsent(key, k -> new Burst(k, hook, now));
+            if (burst.add(pushNotification, now, completion)) {
+                return true;
+            }
+            // the burst was just triggered, start a new one
+            bursts.remove(key, burst);
+        }
+    }
+
+    /**
+     * Number of repositories with a burst waiting to be triggered.
+     *
+     * @return the number of bursts
+     */
+    public int getPendingCount() {
+        return bursts.size();
+    }
+
+    /**
+     * Triggers all waiting bursts right away.
+     */
+    void flush() {
+        for (Burst burst : new ArrayList<>(bursts.values())) {
+            burst.fire();
+        }
+    }
+
+    @Terminator
+    @Restricted(NoExternalUse.class)
+    public static void terminate() {
+        PushCoalescer coalescer = getInstance();
+        if (coalescer != null && !coalescer.bursts.isEmpty()) {
+            logger.log(Level.INFO, "Triggering {0} pending bursts of pushes before shutdown", coalescer.bursts.size());
+            coalescer.flush();
+        }
+    }
+
+    private final class Burst implements Runnable {
+        private final String key;
+        private final JSONWebHook hook;
+        private final long started;
+        @GuardedBy("this")
+        private final Set<String> tags = new LinkedHashSet<>();
+        @GuardedBy("this")
+        private PushNotification latest;
+        @GuardedBy("this")
+        private int size;
+        @GuardedBy("this")
+        private final List<WebHookJournal.Completion> completions = new ArrayList<>();
+        /**
+         * The {@link PushNotification#getDeliveryKey()} of all pushes in the burst.
+         */
+        @GuardedBy("this")
+        private final Set<String> deliveryKeys = new LinkedHashSet<>();
+        @GuardedBy("this")
+        private ScheduledFuture<?> future;
+        @GuardedBy("this")
+        private boolean fired;
+
+        Burst(@NonNull String key, @NonNull JSONWebHook hook, long started) {
+            this.key = key;
+            this.hook = hook;
+            this.started = started;
+        }
+
+        /**
+         * @return false if the burst has already been triggered
+         */
+        synchronized boolean add(@NonNull PushNotification pushNotification, long now, @CheckForNull WebHookJournal.Completion completion) {
+            if (fired) {
+                return false;
+            }
+            latest = pushNotification;
+            size++;
+            String deliveryKey = pushNotification.getDeliveryKey();
+            if (deliveryKey != null) {
+                deliveryKeys.add(deliveryKey);
+            }
+            if (completion != null) {
+                completion.hold();
+                completions.add(completion);
+            }
+            String tag = pushNotification.getTag();
+            if (StringUtils.isNotBlank(tag)) {
+                tags.add(tag);
+            }
+            if (future != null) {
+                future.cancel(false);
+            }
+            long delay = Math.min(now + WINDOW_MILLIS, started + Math.max(WINDOW_MILLIS, MAX_WAIT_MILLIS)) - now;
+            future = Timer.get().schedule(this, Math.max(0, delay), TimeUnit.MILLISECONDS);
+            return true;
+        }
+
+        @Override
+        public void run() {
+            fire();
+        }
+
+        void fire() {
+            PushNotification pushNotification;
+            List<WebHookJournal.Completion> done;
+            List<String> keys;
+            synchronized (this) {
+                if (fired) {
+                    return;
+                }
+                fired = true;
+                if (future != null) {
+                    future.cancel(false);
+                }
+                pushNotification = latest;
+                done = new ArrayList<>(completions);
+                completions.clear();
+                keys = new ArrayList<>(deliveryKeys);
+                List<String> all = new ArrayList<>(tags);
+                pushNotification.setCoalescedTags(all);
+                logger.log(Level.FINE, "Triggering {0} pushes of {1} with tags {2}", new Object[]{size, key, all});
+            }
+            bursts.remove(key, this);
+            try {
+                hook.triggerNow(pushNotification);
+                DeliveryDeduplicator deduplicator = DeliveryDeduplicator.isEnabled() ? DeliveryDeduplicator.getInstance() : null;
+                if (deduplicator != null) {
+                    for (String key : keys) {
+                        deduplicator.record(key);
+                    }
+                }
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Could not trigger a job!", e);
+            } finally {
+                for (WebHookJournal.Completion completion : done) {
+                    completion.release();
+                }
+            }
+        }
+    }
+}
@@ -24,21 +24,31 @@
 package org.jenkinsci.plugins.registry.notification.webhook;
 
 import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Util;
 import hudson.model.Cause;
 import hudson.model.ParameterValue;
 import hudson.model.Run;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
 
 public abstract class PushNotification {
 
+    /**
+     * Comma separated list of all tags pushed in a coalesced burst, see {@link #getCoalescedTags()}.
+     */
+    public static final String KEY_TAGS = WebHookPayload.PREFIX + "TAGS";
+
     private final WebHookPayload webHookPayload;
 
     protected String repoName;
     private Date pushedAt;
+    @CheckForNull
+    private List<String> coalescedTags;
 
     CallbackHandler callbackHandler = new CallbackHandler() {
         @Override
@@ -108,7 +118,7 @@ public abstract class PushNotification {
 
     @CheckForNull
     public Date getPushedAt() {
-        return new Date(this.pushedAt.getTime());
+        return pushedAt != null ? new Date(pushedAt.getTime()) : null;
     }
 
     public void setPushedAt(Date pushedAt) {
@@ -125,6 +135,74 @@ public abstract class PushNotification {
 
     abstract public String getShortDescription();
 
+    /**
+     * The tag that was pushed, if the registry tells.
+     *
+     * @return the tag or null
+     */
+    @CheckForNull
+    public String getTag() {
+        return null;
+    }
+
+    /**
+     * All tags that were pushed to the repository in the burst this notification represents.
+     *
+     * @return the tags in the order they were pushed, empty if this notification was not coalesced with others.
+     * @see PushCoalescer
+     */
+    @NonNull
+    public List<String> getCoalescedTags() {
+        return coalescedTags != null ? Collections.unmodifiableList(coalescedTags) : Collections.<String>emptyList();
+    }
+
+    public void setCoalescedTags(@CheckForNull List<String> coalescedTags) {
+        this.coalescedTags = coalescedTags != null ? new ArrayList<String>(coalescedTags) : null;
+    }
+
+    /**
+     * A key that is the same for every delivery of the same push, used by {@link DeliveryDeduplicator}
+     * to ignore redeliveries. Should be based on an event id sent by the registry, or the digest of the image.
+     * Not based on when the push was received like {@link #sha()}.
+     *
+     * @return the key or null if the push can't be identified
+     */
+    @CheckForNull
+    public String getDeliveryKey() {
+        return null;
+    }
+
+    /**
+     * Helper for {@link #getDeliveryKey()} implementations without an event id.
+     *
+     * @param parts the parts of the key
+     * @return the key, or null if any part is blank
+     */
+    @CheckForNull
+    protected static String deliveryKey(String... parts) {
+        StringBuilder key = new StringBuilder();
+        for (String part : parts) {
+            if (part == null || part.trim().isEmpty()) {
+                return null;
+            }
+            if (key.length() > 0) {
+                key.append('|');
+            }
+            key.append(part);
+        }
+        return key.toString();
+    }
+
+    /**
+     * If this notification can be merged with others for the same repository by the {@link PushCoalescer}.
+     * Notifications that expect an individual response should return false.
+     *
+     * @return true by default
+     */
+    public boolean isCoalescable() {
+        return true;
+    }
+
     public CallbackHandler getCallbackHandler() {
         return callbackHandler;
     }
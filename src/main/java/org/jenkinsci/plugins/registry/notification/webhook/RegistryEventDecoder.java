@@ -0,0 +1,339 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.webhook;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming decoder of Docker Registry style notification events.
+ *
+ * Reads the request body once and only keeps the fields used by the payload classes,
+ * everything else, including whole blob push events, is skipped without being materialized.
+ */
+@Restricted(NoExternalUse.class)
+public final class RegistryEventDecoder {
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private RegistryEventDecoder() {
+    }
+
+    /**
+     * Decodes a registry envelope, i.e. an object with an {@code events} array.
+     *
+     * @param body              the request body
+     * @param characterEncoding the encoding of the body, or null to detect it
+     * @return the events that are not blob events
+     * @throws IOException if the body is not valid json
+     */
+    @NonNull
+    public static List<Event> decodeEnvelope(@NonNull InputStream body, @CheckForNull String characterEncoding) throws IOException {
+        List<Event> events = new ArrayList<>();
+        try (JsonParser parser = createParser(body, characterEncoding)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if ("events".equals(field) && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        Event event = readEvent(parser);
+                        if (event != null) {
+                            events.add(event);
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Decodes a single event object, as sent by ACR.
+     *
+     * @param body              the request body
+     * @param characterEncoding the encoding of the body, or null to detect it
+     * @return the event, or null if it is a blob event
+     * @throws IOException if the body is not valid json
+     */
+    @CheckForNull
+    public static Event decodeEvent(@NonNull InputStream body, @CheckForNull String characterEncoding) throws IOException {
+        try (JsonParser parser = createParser(body, characterEncoding)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            return readEvent(parser);
+        }
+    }
+
+    @NonNull
+    private static JsonParser createParser(@NonNull InputStream body, @CheckForNull String characterEncoding) throws IOException {
+        if (characterEncoding != null) {
+            Charset charset = Charset.forName(characterEncoding);
+            if (!StandardCharsets.UTF_8.equals(charset)) {
+                return FACTORY.createParser(new InputStreamReader(body, charset));
+            }
+        }
+        // json is utf-8 unless told otherwise, which is what the byte based parser detects
+        return FACTORY.createParser(body);
+    }
+
+    private static void expect(@NonNull JsonParser parser, @CheckForNull JsonToken actual, @NonNull JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual + " at " + parser.getCurrentLocation());
+        }
+    }
+
+    /**
+     * Reads the event object the parser is positioned at.
+     *
+     * @return the event or null if it is a blob event
+     */
+    @CheckForNull
+    private static Event readEvent(@NonNull JsonParser parser) throws IOException {
+        Event event = new Event();
+        boolean blob = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (blob) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case "id":
+                    event.id = text(parser, token);
+                    break;
+                case "action":
+                    event.action = text(parser, token);
+                    break;
+                case "timestamp":
+                    event.timestamp = text(parser, token);
+                    break;
+                case "target":
+                    if (token == JsonToken.START_OBJECT) {
+                        readTarget(parser, event);
+                        blob = event.isBlob();
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                case "request":
+                    if (token == JsonToken.START_OBJECT) {
+                        readRequest(parser, event);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return blob ? null : event;
+    }
+
+    private static void readTarget(@NonNull JsonParser parser, @NonNull Event event) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "repository":
+                    event.repository = text(parser, token);
+                    break;
+                case "url":
+                    event.url = text(parser, token);
+                    break;
+                case "mediaType":
+                    event.mediaType = text(parser, token);
+                    break;
+                case "tag":
+                    event.tag = text(parser, token);
+                    break;
+                case "digest":
+                    event.digest = text(parser, token);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readRequest(@NonNull JsonParser parser, @NonNull Event event) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if ("host".equals(field)) {
+                event.host = text(parser, token);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    @CheckForNull
+    private static String text(@NonNull JsonParser parser, @CheckForNull JsonToken token) throws IOException {
+        if (token == null || token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getValueAsString();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * The fields of a notification event that the payloads make use of.
+     */
+    public static final class Event {
+        private String id;
+        private String action;
+        private String timestamp;
+        private String repository;
+        private String url;
+        private String mediaType;
+        private String tag;
+        private String digest;
+        private String host;
+
+        @CheckForNull
+        public String getId() {
+            return id;
+        }
+
+        @CheckForNull
+        public String getAction() {
+            return action;
+        }
+
+        @CheckForNull
+        public String getTimestamp() {
+            return timestamp;
+        }
+
+        @CheckForNull
+        public String getRepository() {
+            return repository;
+        }
+
+        @CheckForNull
+        public String getUrl() {
+            return url;
+        }
+
+        @CheckForNull
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        @CheckForNull
+        public String getTag() {
+            return tag;
+        }
+
+        @CheckForNull
+        public String getDigest() {
+            return digest;
+        }
+
+        @CheckForNull
+        public String getHost() {
+            return host;
+        }
+
+        /**
+         * If the target url points to something else than a manifest, i.e. a layer.
+         *
+         * @return true if this is a blob event
+         */
+        public boolean isBlob() {
+            if (url == null) {
+                return false;
+            }
+            String[] segments = url.split("/");
+            return segments.length < 2 || !"manifests".equals(segments[segments.length - 2]);
+        }
+
+        /**
+         * The event as json, in the same structure as it was received but only with the decoded fields.
+         *
+         * @return the json
+         */
+        @NonNull
+        public JSONObject toJSON() {
+            JSONObject target = new JSONObject();
+            putIfNotNull(target, "mediaType", mediaType);
+            putIfNotNull(target, "digest", digest);
+            putIfNotNull(target, "repository", repository);
+            putIfNotNull(target, "url", url);
+            putIfNotNull(target, "tag", tag);
+            JSONObject request = new JSONObject();
+            putIfNotNull(request, "host", host);
+            JSONObject json = new JSONObject();
+            putIfNotNull(json, "id", id);
+            putIfNotNull(json, "timestamp", timestamp);
+            putIfNotNull(json, "action", action);
+            json.put("target", target);
+            json.put("request", request);
+            return json;
+        }
+
+        private static void putIfNotNull(@NonNull JSONObject json, @NonNull String key, @CheckForNull String value) {
+            if (value != null) {
+                json.put(key, value);
+            }
+        }
+    }
+
+    /**
+     * Wraps the events in an envelope like the one they were received in.
+     *
+     * @param events the events
+     * @return the envelope json
+     */
+    @NonNull
+    public static JSONObject toEnvelope(@NonNull List<Event> events) {
+        JSONArray array = new JSONArray();
+        for (Event event : events) {
+            array.add(event.toJSON());
+        }
+        JSONObject json = new JSONObject();
+        json.put("events", array);
+        return json;
+    }
+}
@@ -24,9 +24,16 @@
 package org.jenkinsci.plugins.registry.notification.webhook;
 
 import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Util;
 import hudson.model.ModelObject;
 import org.jenkinsci.plugins.registry.notification.Messages;
 import org.jenkinsci.plugins.registry.notification.TriggerStore;
+import org.jenkinsci.plugins.registry.notification.metrics.Histogram;
+import org.jenkinsci.plugins.registry.notification.metrics.TriggerLatency;
+
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Landing page from Docker Hub when multiple builds where triggered for the same web hook.
@@ -48,6 +55,55 @@ public class ResultPage implements ModelObject {
         return data;
     }
 
+    /**
+     * The stages of {@link TriggerLatency} in order.
+     *
+     * @return the stage names
+     */
+    @NonNull
+    public List<String> getLatencyStages() {
+        return Arrays.asList(TriggerLatency.RECEIVED, TriggerLatency.QUEUED, TriggerLatency.STARTED,
+                             TriggerLatency.FINISHED, TriggerLatency.PUSH_TO_START, TriggerLatency.PUSH_TO_FINISH);
+    }
+
+    /**
+     * The latencies of a stage for all pushes to the repository since Jenkins started.
+     *
+     * @param stage the stage
+     * @return the latencies in milliseconds, or null if none have been recorded
+     */
+    @CheckForNull
+    public Histogram getLatency(@NonNull String stage) {
+        return data != null ? TriggerLatency.get(data.getPushNotification().getRepoName(), stage) : null;
+    }
+
+    /**
+     * The latencies of a stage for all builds of the job triggered since Jenkins started.
+     *
+     * @param job   the full name of the job
+     * @param stage the stage
+     * @return the latencies in milliseconds, or null if none have been recorded
+     */
+    @CheckForNull
+    public Histogram getJobLatency(@NonNull String job, @NonNull String stage) {
+        return TriggerLatency.getByJob(job, stage);
+    }
+
+    /**
+     * The time between two timestamps for display.
+     *
+     * @param from the start in milliseconds, 0 if unknown
+     * @param to   the end in milliseconds, 0 if unknown
+     * @return the time span, or null if either end is unknown
+     */
+    @CheckForNull
+    public String getTimeSpan(long from, long to) {
+        if (from <= 0 || to <= 0) {
+            return null;
+        }
+        return Util.getTimeSpanString(Math.max(0, to - from));
+    }
+
     @Override
     public String getDisplayName() {
         String repoName = "<unknown>";
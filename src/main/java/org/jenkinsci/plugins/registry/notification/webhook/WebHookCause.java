@@ -29,13 +29,27 @@ import hudson.model.Cause;
 public abstract class WebHookCause extends Cause {
     @NonNull
     protected PushNotification pushNotification;
+    /**
+     * When the build was scheduled, 0 for causes created by older versions.
+     */
+    private long queuedAt;
 
     public WebHookCause(@NonNull PushNotification pushNotification) {
         this.pushNotification = pushNotification;
+        this.queuedAt = System.currentTimeMillis();
     }
 
     @NonNull
     public PushNotification getPushNotification() {
         return pushNotification;
     }
+
+    /**
+     * {@link System#currentTimeMillis()} when the cause was created to schedule the build.
+     *
+     * @return the time the build was queued, or 0 if unknown
+     */
+    public long getQueuedAt() {
+        return queuedAt;
+    }
 }
@@ -0,0 +1,182 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.webhook;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import org.kohsuke.stapler.StaplerRequest2;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The raw content of a web hook request that has been accepted but not yet processed.
+ */
+public class WebHookDelivery {
+    @NonNull
+    private final String hook;
+    @CheckForNull
+    private final String payload;
+    @CheckForNull
+    private final byte[] body;
+    @CheckForNull
+    private final String contentType;
+    @CheckForNull
+    private final String characterEncoding;
+    private final long received;
+
+    public WebHookDelivery(@NonNull String hook, @CheckForNull String payload, @CheckForNull byte[] body,
+                           @CheckForNull String contentType, @CheckForNull String characterEncoding, long received) {
+        this.hook = hook;
+        this.payload = payload;
+        this.body = body;
+        this.contentType = contentType;
+        this.characterEncoding = characterEncoding;
+        this.received = received;
+    }
+
+    /**
+     * Reads the delivery from the request.
+     *
+     * @param hook     the {@link JSONWebHook#getUrlName()} of the receiving hook
+     * @param payload  the {@code payload} query parameter, if any
+     * @param req      the request
+     * @param maxBytes max size of the body or payload
+     * @return the delivery
+     * @throws TooLargeException if the body or payload is larger than {@code maxBytes}
+     * @throws IOException if the body could not be read
+     */
+    @NonNull
+    public static WebHookDelivery from(@NonNull String hook, @CheckForNull String payload, @NonNull StaplerRequest2 req,
+                                       int maxBytes) throws IOException {
+        byte[] body = null;
+        if (payload != null) {
+            if (payload.length() > maxBytes) {
+                throw new TooLargeException(payload.length(), maxBytes);
+            }
+        } else {
+            long length = req.getContentLengthLong();
+            if (length > maxBytes) {
+                throw new TooLargeException(length, maxBytes);
+            }
+            body = read(req.getInputStream(), maxBytes);
+        }
+        return new WebHookDelivery(hook, payload, body, req.getContentType(), req.getCharacterEncoding(),
+                                   System.currentTimeMillis());
+    }
+
+    /**
+     * Reads the stream, but not more than one byte past {@code maxBytes}, as the content length may be missing or wrong.
+     */
+    @NonNull
+    private static byte[] read(@NonNull InputStream in, int maxBytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            out.write(buffer, 0, n);
+            if (out.size() > maxBytes) {
+                throw new TooLargeException(out.size(), maxBytes);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * The {@link JSONWebHook#getUrlName()} of the hook that received the delivery.
+     *
+     * @return the url name
+     */
+    @NonNull
+    public String getHook() {
+        return hook;
+    }
+
+    /**
+     * The payload sent as a query or form parameter.
+     *
+     * @return the payload, or null if it was sent as the request body.
+     */
+    @CheckForNull
+    public String getPayload() {
+        return payload;
+    }
+
+    @CheckForNull
+    public byte[] getBody() {
+        return body;
+    }
+
+    @CheckForNull
+    public String getContentType() {
+        return contentType;
+    }
+
+    @CheckForNull
+    public String getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    /**
+     * {@link System#currentTimeMillis()} when the delivery was accepted.
+     *
+     * @return the time of acceptance
+     */
+    public long getReceived() {
+        return received;
+    }
+
+    /**
+     * Approximate size of the delivery in bytes.
+     *
+     * @return the size of the body or payload
+     */
+    public int size() {
+        if (body != null) {
+            return body.length;
+        }
+        return payload != null ? payload.length() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "WebHookDelivery{" +
+                "hook='" + hook + '\'' +
+                ", size=" + size() +
+                ", received=" + received +
+                '}';
+    }
+
+    /**
+     * Thrown when a delivery is larger than accepted.
+     */
+    public static class TooLargeException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public TooLargeException(long size, int maxBytes) {
+            super("Web hook delivery of at least " + size + " bytes is larger than the max of " + maxBytes + " bytes");
+        }
+    }
+}
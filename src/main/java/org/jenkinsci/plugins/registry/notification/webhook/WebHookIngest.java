@@ -0,0 +1,213 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.webhook;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.init.Terminator;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+import net.jcip.annotations.GuardedBy;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous acceptance of web hook deliveries.
+ *
+ * When enabled {@link JSONWebHook#doNotify} only validates the API token, puts the raw request into a bounded
+ * queue and responds with {@code 202 Accepted}. Parsing, matching and scheduling is done by a pool of worker threads.
+ * When the queue is full the request is rejected with {@code 429 Too Many Requests} so that the sender can retry later.
+ * Deliveries larger than {@link #MAX_BODY_BYTES} are rejected with {@code 413 Payload Too Large} without reading the rest.
+ */
+@Extension
+@Restricted(NoExternalUse.class)
+public class WebHookIngest {
+    private static final Logger logger = Logger.getLogger(WebHookIngest.class.getName());
+
+    /**
+     * If deliveries should be processed asynchronously.
+     */
+    static /*almost final*/ boolean ENABLED = SystemProperties.getBoolean(WebHookIngest.class.getName() + ".enabled");
+    /**
+     * Max number of deliveries waiting to be processed.
+     */
+    static /*almost final*/ int QUEUE_SIZE = SystemProperties.getInteger(WebHookIngest.class.getName() + ".queueSize", 1000);
+    /**
+     * Number of worker threads processing deliveries.
+     */
+    static /*almost final*/ int WORKERS = SystemProperties.getInteger(WebHookIngest.class.getName() + ".workers", 2);
+    /**
+     * Value of the {@code Retry-After} header when the queue is full.
+     */
+    static /*almost final*/ int RETRY_AFTER_SECONDS = SystemProperties.getInteger(WebHookIngest.class.getName() + ".retryAfterSeconds", 30);
+    /**
+     * Max size in bytes of a delivery, larger ones are rejected.
+     */
+    static /*almost final*/ int MAX_BODY_BYTES = SystemProperties.getInteger(WebHookIngest.class.getName() + ".maxBodyBytes", 1024 * 1024);
+
+    @GuardedBy("this")
+    private ThreadPoolExecutor executor;
+
+    @CheckForNull
+    public static WebHookIngest getInstance() {
+        if (Jenkins.getInstanceOrNull() == null) {
+            return null;
+        }
+        ExtensionList<WebHookIngest> list = ExtensionList.lookup(WebHookIngest.class);
+        return list.isEmpty() ? null : list.get(0);
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static int getRetryAfterSeconds() {
+        return RETRY_AFTER_SECONDS;
+    }
+
+    public static int getMaxBodyBytes() {
+        return MAX_BODY_BYTES;
+    }
+
+    /**
+     * Puts the delivery on the queue for processing by the given hook.
+     * If the {@link WebHookJournal} is enabled the delivery is journaled before it is queued.
+     *
+     * @param hook     the hook to process the delivery
+     * @param delivery the delivery
+     * @return false if the queue is full or the delivery could not be journaled, i.e. it was not accepted.
+     */
+    public boolean offer(@NonNull final JSONWebHook hook, @NonNull final WebHookDelivery delivery) {
+        long journalId = -1;
+        WebHookJournal journal = WebHookJournal.isEnabled() ? WebHookJournal.getInstance() : null;
+        if (journal != null) {
+            try {
+                journalId = journal.append(delivery);
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Failed to journal " + delivery + ", rejecting it", e);
+                return false;
+            }
+        }
+        if (submit(hook, delivery, journalId, false)) {
+            return true;
+        }
+        if (journal != null) {
+            journal.markDone(journalId);
+        }
+        return false;
+    }
+
+    /**
+     * Puts an already journaled delivery on the queue.
+     *
+     * @param hook      the hook to process the delivery
+     * @param delivery  the delivery
+     * @param journalId the id of the delivery in the {@link WebHookJournal} or -1 if not journaled
+     * @param replayed  if the delivery is replayed from the journal after a restart
+     * @return false if the queue is full
+     */
+    boolean submit(@NonNull final JSONWebHook hook, @NonNull final WebHookDelivery delivery, final long journalId, final boolean replayed) {
+        try {
+            getExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    WebHookJournal journal = journalId >= 0 ? WebHookJournal.getInstance() : null;
+                    // coalesced pushes are only done when their burst is triggered
+                    WebHookJournal.Completion completion = journal != null ? new WebHookJournal.Completion(journal, journalId, replayed) : null;
+                    try {
+                        hook.process(delivery, completion);
+                    } catch (Exception e) {
+                        logger.log(Level.SEVERE, "Failed to process " + delivery, e);
+                    } finally {
+                        if (completion != null) {
+                            completion.release();
+                        }
+                    }
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            logger.log(Level.WARNING, "Web hook queue is full, rejecting {0}", delivery);
+            return false;
+        }
+    }
+
+    /**
+     * Number of deliveries waiting to be processed.
+     *
+     * @return the queue length
+     */
+    public synchronized int getQueueLength() {
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    @NonNull
+    private synchronized ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            int workers = Math.max(1, WORKERS);
+            executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<Runnable>(Math.max(1, QUEUE_SIZE)),
+                    new NamingThreadFactory(new DaemonThreadFactory(), "DockerHub web hook ingest"),
+                    new ThreadPoolExecutor.AbortPolicy());
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    private synchronized void shutdown() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdown();
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.log(Level.WARNING, "{0} web hook deliveries were not processed before shutdown",
+                           executor.getQueue().size());
+            }
+            executor = null;
+        }
+    }
+
+    @Terminator
+    @Restricted(NoExternalUse.class)
+    public static void terminate() throws InterruptedException, IOException {
+        WebHookIngest ingest = getInstance();
+        if (ingest != null) {
+            ingest.shutdown();
+        }
+        WebHookJournal journal = WebHookJournal.getInstance();
+        if (journal != null) {
+            journal.close();
+        }
+    }
+}
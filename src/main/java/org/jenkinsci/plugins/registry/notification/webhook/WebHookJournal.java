@@ -0,0 +1,616 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.webhook;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+import net.jcip.annotations.GuardedBy;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead journal of web hook deliveries accepted by {@link WebHookIngest}.
+ *
+ * Deliveries are appended to a segment file under {@code JENKINS_HOME/dockerhub-notification/journal}
+ * and synced to disk before the request is acknowledged. Concurrent appends are group committed by a single writer
+ * thread so that a burst of requests costs one fsync per batch. When a delivery has been processed a done marker is
+ * appended, and segments that only contain processed deliveries are deleted. Deliveries that were accepted but never
+ * marked as done, e.g. because of a restart, are processed again once all jobs are loaded.
+ */
+@Extension
+@Restricted(NoExternalUse.class)
+public class WebHookJournal {
+    private static final Logger logger = Logger.getLogger(WebHookJournal.class.getName());
+
+    /**
+     * If accepted deliveries should be journaled when {@link WebHookIngest} is enabled.
+     */
+    static /*almost final*/ boolean ENABLED = SystemProperties.getBoolean(WebHookJournal.class.getName() + ".enabled", true);
+    /**
+     * Size in bytes after which a new segment file is started.
+     */
+    static /*almost final*/ long SEGMENT_SIZE = SystemProperties.getLong(WebHookJournal.class.getName() + ".segmentSize", 16L * 1024 * 1024);
+    /**
+     * Max number of records written per fsync.
+     */
+    static /*almost final*/ int MAX_BATCH = SystemProperties.getInteger(WebHookJournal.class.getName() + ".maxBatch", 256);
+
+    private static final byte ACCEPTED = 'A';
+    private static final byte DONE = 'D';
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /**
+     * Queued by {@link #close()} to stop the writer once everything before it has been written.
+     */
+    private static final Write STOP = new Write(-1, false, new byte[0]);
+
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final BlockingQueue<Write> writes = new LinkedBlockingQueue<>();
+
+    private final Object lock = new Object();
+    @GuardedBy("lock")
+    private FileChannel channel;
+    @GuardedBy("lock")
+    private long currentSegment = 0;
+    @GuardedBy("lock")
+    private long currentSize = 0;
+    /**
+     * Segment number to the ids of the deliveries in it that are not done yet.
+     */
+    @GuardedBy("lock")
+    private final TreeMap<Long, Set<Long>> openBySegment = new TreeMap<>();
+    @GuardedBy("lock")
+    private final Map<Long, Long> segmentById = new HashMap<>();
+    private volatile boolean loaded = false;
+    /**
+     * Deliveries read from disk that were not done, waiting for {@link #replay()}.
+     */
+    @GuardedBy("lock")
+    private final Map<Long, WebHookDelivery> unfinished = new LinkedHashMap<>();
+    @GuardedBy("lock")
+    private Thread writer;
+
+    @CheckForNull
+    public static WebHookJournal getInstance() {
+        if (Jenkins.getInstanceOrNull() == null) {
+            return null;
+        }
+        ExtensionList<WebHookJournal> list = ExtensionList.lookup(WebHookJournal.class);
+        return list.isEmpty() ? null : list.get(0);
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED && WebHookIngest.isEnabled();
+    }
+
+    @NonNull
+    File getDirectory() {
+        return new File(Jenkins.get().getRootDir(), "dockerhub-notification" + File.separator + "journal");
+    }
+
+    /**
+     * Appends the delivery and waits until it has been synced to disk.
+     *
+     * @param delivery the delivery
+     * @return the id of the journal record, to be passed to {@link #markDone(long)}.
+     * @throws IOException if the delivery could not be written
+     */
+    public long append(@NonNull WebHookDelivery delivery) throws IOException {
+        if (!loaded) {
+            // ids must continue after the ones already on disk
+            synchronized (lock) {
+                ensureLoaded();
+            }
+        }
+        long id = nextId.getAndIncrement();
+        Write write = new Write(id, true, encodeAccepted(id, delivery));
+        submit(write);
+        try {
+            write.done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the journal", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to journal " + delivery, e.getCause());
+        }
+        return id;
+    }
+
+    /**
+     * Records that the delivery has been processed. Does not wait for the record to be synced,
+     * if it is lost the delivery will be processed again after a restart.
+     *
+     * @param id the id returned by {@link #append(WebHookDelivery)}
+     */
+    public void markDone(long id) {
+        submit(new Write(id, false, encodeDone(id)));
+    }
+
+    private void submit(@NonNull Write write) {
+        synchronized (lock) {
+            if (writer == null) {
+                writer = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        writeLoop();
+                    }
+                }, "DockerHub web hook journal writer");
+                writer.setDaemon(true);
+                writer.start();
+            }
+        }
+        writes.add(write);
+    }
+
+    private void writeLoop() {
+        List<Write> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(writes.take());
+            } catch (InterruptedException e) {
+                logger.log(Level.FINE, "Journal writer interrupted, stopping");
+                return;
+            }
+            writes.drainTo(batch, Math.max(1, MAX_BATCH) - 1);
+            boolean stop = batch.remove(STOP);
+            try {
+                if (!batch.isEmpty()) {
+                    write(batch);
+                }
+                for (Write write : batch) {
+                    write.done.complete(null);
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.SEVERE, "Failed to write to the web hook journal", e);
+                for (Write write : batch) {
+                    write.done.completeExceptionally(e);
+                }
+            }
+            batch.clear();
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    private void write(@NonNull List<Write> batch) throws IOException {
+        synchronized (lock) {
+            ensureLoaded();
+            if (channel == null) {
+                openSegment(currentSegment + 1);
+            }
+            for (Write write : batch) {
+                ByteBuffer buffer = ByteBuffer.wrap(write.record);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                currentSize += write.record.length;
+                if (write.accepted) {
+                    openBySegment.get(currentSegment).add(write.id);
+                    segmentById.put(write.id, currentSegment);
+                } else {
+                    Long segment = segmentById.remove(write.id);
+                    if (segment != null) {
+                        Set<Long> open = openBySegment.get(segment);
+                        if (open != null) {
+                            open.remove(write.id);
+                        }
+                    }
+                }
+            }
+            channel.force(false);
+            if (currentSize >= SEGMENT_SIZE) {
+                channel.close();
+                channel = null;
+                openSegment(currentSegment + 1);
+            }
+            deleteDoneSegments();
+        }
+    }
+
+    @GuardedBy("lock")
+    private void openSegment(long segment) throws IOException {
+        File dir = getDirectory();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+        File file = segmentFile(segment);
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentSegment = segment;
+        currentSize = channel.size();
+        if (!openBySegment.containsKey(segment)) {
+            openBySegment.put(segment, new HashSet<Long>());
+        }
+    }
+
+    /**
+     * Deletes the oldest segments as long as all their deliveries are done.
+     * Only a prefix of the segments is deleted so that done markers in later segments are never lost
+     * for records in earlier segments that are still on disk.
+     */
+    @GuardedBy("lock")
+    private void deleteDoneSegments() {
+        Iterator<Map.Entry<Long, Set<Long>>> iterator = openBySegment.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Set<Long>> entry = iterator.next();
+            if (entry.getKey() == currentSegment || !entry.getValue().isEmpty()) {
+                return;
+            }
+            File file = segmentFile(entry.getKey());
+            if (file.exists() && !file.delete()) {
+                logger.log(Level.WARNING, "Could not delete journal segment {0}", file);
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    @NonNull
+    private File segmentFile(long segment) {
+        return new File(getDirectory(), String.format("%s%016d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Reads the existing segments, if not already done, and collects the deliveries that were not done.
+     */
+    @GuardedBy("lock")
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        File[] files = getDirectory().listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (files == null || files.length == 0) {
+            return;
+        }
+        Arrays.sort(files);
+        long maxId = 0;
+        for (File file : files) {
+            long segment;
+            try {
+                segment = Long.parseLong(file.getName().substring(SEGMENT_PREFIX.length(), file.getName().length() - SEGMENT_SUFFIX.length()));
+            } catch (NumberFormatException e) {
+                logger.log(Level.WARNING, "Ignoring unexpected file in the journal {0}", file);
+                continue;
+            }
+            // never append to an old segment, it might end with a torn record
+            currentSegment = Math.max(currentSegment, segment);
+            openBySegment.put(segment, new HashSet<Long>());
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                Record record;
+                while ((record = readRecord(in, file)) != null) {
+                    maxId = Math.max(maxId, record.id);
+                    if (record.delivery != null) {
+                        unfinished.put(record.id, record.delivery);
+                        openBySegment.get(segment).add(record.id);
+                        segmentById.put(record.id, segment);
+                    } else if (unfinished.remove(record.id) != null) {
+                        Long s = segmentById.remove(record.id);
+                        if (s != null) {
+                            openBySegment.get(s).remove(record.id);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to read journal segment " + file, e);
+            }
+        }
+        nextId.set(Math.max(nextId.get(), maxId + 1));
+    }
+
+    @CheckForNull
+    private static Record readRecord(@NonNull DataInputStream in, @NonNull File file) throws IOException {
+        int length;
+        long crc;
+        byte[] data;
+        try {
+            length = in.readInt();
+            crc = in.readLong();
+            if (length <= 0 || length > 512 * 1024 * 1024) {
+                logger.log(Level.WARNING, "Corrupt record in journal segment {0}, ignoring the rest of it", file);
+                return null;
+            }
+            data = new byte[length];
+            in.readFully(data);
+        } catch (EOFException e) {
+            return null;
+        }
+        CRC32 check = new CRC32();
+        check.update(data);
+        if (check.getValue() != crc) {
+            logger.log(Level.WARNING, "Torn or corrupt record in journal segment {0}, ignoring the rest of it", file);
+            return null;
+        }
+        DataInputStream record = new DataInputStream(new ByteArrayInputStream(data));
+        byte type = record.readByte();
+        long id = record.readLong();
+        if (type == DONE) {
+            return new Record(id, null);
+        }
+        String hook = readString(record);
+        String payload = readString(record);
+        byte[] body = readBytes(record);
+        String contentType = readString(record);
+        String characterEncoding = readString(record);
+        long received = record.readLong();
+        return new Record(id, new WebHookDelivery(hook != null ? hook : "", payload, body, contentType, characterEncoding, received));
+    }
+
+    @NonNull
+    private static byte[] encodeAccepted(long id, @NonNull WebHookDelivery delivery) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(delivery.size() + 256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(ACCEPTED);
+            out.writeLong(id);
+            writeString(out, delivery.getHook());
+            writeString(out, delivery.getPayload());
+            writeBytes(out, delivery.getBody());
+            writeString(out, delivery.getContentType());
+            writeString(out, delivery.getCharacterEncoding());
+            out.writeLong(delivery.getReceived());
+            out.flush();
+            return frame(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new AssertionError("Writing to memory should not fail", e);
+        }
+    }
+
+    @NonNull
+    private static byte[] encodeDone(long id) {
+        ByteBuffer buffer = ByteBuffer.allocate(9);
+        buffer.put(DONE);
+        buffer.putLong(id);
+        return frame(buffer.array());
+    }
+
+    /**
+     * Prefixes the record with its length and checksum so that torn writes can be detected.
+     */
+    @NonNull
+    private static byte[] frame(@NonNull byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 8 + data.length);
+        buffer.putInt(data.length);
+        buffer.putLong(crc.getValue());
+        buffer.put(data);
+        return buffer.array();
+    }
+
+    private static void writeString(@NonNull DataOutputStream out, @CheckForNull String value) throws IOException {
+        writeBytes(out, value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+    }
+
+    private static void writeBytes(@NonNull DataOutputStream out, @CheckForNull byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(value.length);
+            out.write(value);
+        }
+    }
+
+    @CheckForNull
+    private static String readString(@NonNull DataInputStream in) throws IOException {
+        byte[] bytes = readBytes(in);
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+
+    @CheckForNull
+    private static byte[] readBytes(@NonNull DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Processes the deliveries that were accepted but not done before the last shutdown.
+     */
+    void replay() {
+        Map<Long, WebHookDelivery> pending;
+        synchronized (lock) {
+            ensureLoaded();
+            pending = new LinkedHashMap<>(unfinished);
+            unfinished.clear();
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        logger.log(Level.INFO, "Replaying {0} web hook deliveries from the journal", pending.size());
+        Map<String, JSONWebHook> hooks = new HashMap<>();
+        for (JSONWebHook hook : ExtensionList.lookup(JSONWebHook.class)) {
+            hooks.put(hook.getUrlName(), hook);
+        }
+        WebHookIngest ingest = WebHookIngest.isEnabled() ? WebHookIngest.getInstance() : null;
+        for (Map.Entry<Long, WebHookDelivery> entry : pending.entrySet()) {
+            WebHookDelivery delivery = entry.getValue();
+            JSONWebHook hook = hooks.get(delivery.getHook());
+            if (hook == null) {
+                logger.log(Level.WARNING, "No web hook named {0} to replay {1}", new Object[]{delivery.getHook(), delivery});
+                markDone(entry.getKey());
+            } else if (ingest == null || !ingest.submit(hook, delivery, entry.getKey(), true)) {
+                Completion completion = new Completion(this, entry.getKey(), true);
+                try {
+                    hook.process(delivery, completion);
+                } catch (Exception e) {
+                    logger.log(Level.SEVERE, "Failed to replay " + delivery, e);
+                } finally {
+                    completion.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes what is queued, stops the writer and closes the current segment.
+     *
+     * @throws IOException if so
+     */
+    void close() throws IOException {
+        Thread w;
+        synchronized (lock) {
+            w = writer;
+            writer = null;
+        }
+        if (w != null) {
+            writes.add(STOP);
+            try {
+                w.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (w.isAlive()) {
+                logger.log(Level.WARNING, "Journal writer did not stop in time");
+                w.interrupt();
+            }
+        }
+        synchronized (lock) {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    @Initializer(after = InitMilestone.JOB_LOADED)
+    @Restricted(NoExternalUse.class)
+    public static void replayJournal() {
+        WebHookJournal journal = getInstance();
+        if (journal != null && journal.getDirectory().isDirectory()) {
+            journal.replay();
+        }
+    }
+
+    /**
+     * Marks a journaled delivery as done once it has been processed
+     * and the {@link PushCoalescer} bursts its pushes were added to have been triggered.
+     */
+    static final class Completion {
+        private final WebHookJournal journal;
+        private final long id;
+        private final boolean replayed;
+        private final AtomicInteger holds = new AtomicInteger(1);
+
+        Completion(@NonNull WebHookJournal journal, long id, boolean replayed) {
+            this.journal = journal;
+            this.id = id;
+            this.replayed = replayed;
+        }
+
+        /**
+         * @return true if the delivery is replayed after a restart
+         */
+        boolean isReplayed() {
+            return replayed;
+        }
+
+        /**
+         * Keeps the delivery from being marked as done until {@link #release()} is called once more.
+         */
+        void hold() {
+            holds.incrementAndGet();
+        }
+
+        void release() {
+            if (holds.decrementAndGet() == 0) {
+                journal.markDone(id);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "journal record " + id;
+        }
+    }
+
+    private static final class Write {
+        final long id;
+        final boolean accepted;
+        final byte[] record;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Write(long id, boolean accepted, byte[] record) {
+            this.id = id;
+            this.accepted = accepted;
+            this.record = record;
+        }
+    }
+
+    private static final class Record {
+        final long id;
+        @CheckForNull
+        final WebHookDelivery delivery;
+
+        Record(long id, @CheckForNull WebHookDelivery delivery) {
+            this.id = id;
+            this.delivery = delivery;
+        }
+    }
+}
@@ -48,6 +48,22 @@ public class ACRPushNotification extends PushNotification {
         return this.tag;
     }
 
+    @Override
+    @CheckForNull
+    public String getDeliveryKey() {
+        JSONObject data = getWebHookPayload() != null ? getWebHookPayload().getData() : null;
+        if (data == null) {
+            return null;
+        }
+        String id = data.optString("id");
+        if (!StringUtils.isBlank(id)) {
+            return "acr|" + id;
+        }
+        JSONObject target = data.optJSONObject("target");
+        return deliveryKey("acr", getRepoName(), target != null ? target.optString("digest") : null,
+                           StringUtils.defaultString(tag, "-"));
+    }
+
     @Override
     public Cause getCause() {
         return new ACRWebHookCause(this);
@@ -1,10 +1,16 @@
 package org.jenkinsci.plugins.registry.notification.webhook.acr;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.registry.notification.webhook.JSONWebHook;
+import org.jenkinsci.plugins.registry.notification.webhook.RegistryEventDecoder;
 import org.jenkinsci.plugins.registry.notification.webhook.WebHookPayload;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 /**
  * The ACRWebHook handles incoming updates from the Azure Container Registry. The provided payload differs minimally
  * from what is transmitted by a standard Docker Registry v2 server, which made this separate implementation necessary.
@@ -21,6 +27,12 @@ public class ACRWebHook extends JSONWebHook {
         return new ACRWebHookPayload(payload);
     }
 
+    @Override
+    protected WebHookPayload createPushNotification(@NonNull InputStream body, @CheckForNull String characterEncoding) throws IOException {
+        RegistryEventDecoder.Event event = RegistryEventDecoder.decodeEvent(body, characterEncoding);
+        return event != null ? new ACRWebHookPayload(event) : null;
+    }
+
     public String getUrlName() {
         return URL_NAME;
     }
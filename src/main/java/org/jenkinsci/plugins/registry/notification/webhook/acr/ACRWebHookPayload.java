@@ -2,6 +2,7 @@ package org.jenkinsci.plugins.registry.notification.webhook.acr;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import net.sf.json.JSONObject;
+import org.jenkinsci.plugins.registry.notification.webhook.RegistryEventDecoder;
 import org.jenkinsci.plugins.registry.notification.webhook.WebHookPayload;
 import org.joda.time.format.DateTimeFormatter;
 import org.joda.time.format.ISODateTimeFormat;
@@ -50,4 +51,14 @@ public class ACRWebHookPayload extends WebHookPayload {
             logger.log(Level.FINER, "Unsupported event received: " + data.toString());
         }
     }
+
+    /**
+     * Creates the object from an event decoded by {@link RegistryEventDecoder}.
+     * Only the decoded fields are kept as {@link #getData()}.
+     *
+     * @param event the decoded event
+     */
+    public ACRWebHookPayload(@NonNull final RegistryEventDecoder.Event event) {
+        this(event.toJSON());
+    }
 }
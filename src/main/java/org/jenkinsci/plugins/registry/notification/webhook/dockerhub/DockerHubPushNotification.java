@@ -105,6 +105,35 @@ public class DockerHubPushNotification extends PushNotification {
         return null;
     }
 
+    /**
+     * Docker Hub creates a new callback url for each push, and reuses it when redelivering.
+     *
+     * @return the key
+     */
+    @Override
+    @CheckForNull
+    public String getDeliveryKey() {
+        if (!StringUtils.isBlank(callbackUrl)) {
+            return "dockerHub|" + callbackUrl;
+        }
+        JSONObject data = getWebHookPayload().getData();
+        JSONObject pushData = data != null ? data.optJSONObject("push_data") : null;
+        if (pushData == null) {
+            return null;
+        }
+        return deliveryKey("dockerHub", getRepoName(), StringUtils.defaultString(getTag(), "-"), pushData.optString("pushed_at"));
+    }
+
+    /**
+     * Docker Hub expects a callback for each push, so they are never merged.
+     *
+     * @return false if there is a callback url
+     */
+    @Override
+    public boolean isCoalescable() {
+        return StringUtils.isBlank(getCallbackUrl());
+    }
+
     @Override
     public Cause getCause() {
         return new DockerHubWebHookCause(this);
@@ -6,6 +6,7 @@ import hudson.model.Run;
 import net.sf.json.JSONObject;
 import org.apache.commons.lang.StringUtils;
 import org.jenkinsci.plugins.registry.notification.TriggerStore;
+import org.jenkinsci.plugins.registry.notification.callback.CallbackOutbox;
 import org.jenkinsci.plugins.registry.notification.webhook.CallbackHandler;
 import org.jenkinsci.plugins.registry.notification.webhook.Http;
 import org.jenkinsci.plugins.registry.notification.webhook.PushNotification;
@@ -102,18 +103,27 @@ public class DockerHubWebHookPayload extends WebHookPayload {
         @Override
         public void notify(PushNotification pushNotification, Run<?, ?> run) throws InterruptedException, ExecutionException, IOException {
             final String callbackUrl = dockerHubPushNotification.getCallbackUrl();
-            TriggerStore.TriggerEntry entry = TriggerStore.getInstance().finalized(dockerHubPushNotification, run);
+            // the Coordinator has already recorded the build as finalized
+            TriggerStore.TriggerEntry entry = TriggerStore.getInstance().getEntry(dockerHubPushNotification.sha());
             if(entry != null) {
                 DockerHubCallbackPayload callback = DockerHubCallbackPayload.from(entry);
                 if (callback != null) {
-                    if (!StringUtils.isBlank(callbackUrl)) {
-                        logger.log(Level.FINE, "Sending callback to Docker Hub");
-                        logger.log(Level.FINER, "Callback: {0}", callback);
+                    if (StringUtils.isBlank(callbackUrl)) {
+                        logger.log(Level.WARNING, "No callback URL specified in {0}", pushNotification);
+                        return;
+                    }
+                    logger.log(Level.FINER, "Callback: {0}", callback);
+                    CallbackOutbox outbox = CallbackOutbox.getInstance();
+                    if (outbox != null) {
+                        logger.log(Level.FINE, "Queueing callback to Docker Hub");
+                        outbox.enqueue(dockerHubPushNotification.sha(), callbackUrl, callback.toJSON());
+                    } else {
+                        // e.g. shutting down, send it once without retries
+                        logger.log(Level.FINE, "No callback outbox, sending callback to Docker Hub directly");
                         int response = Http.post(callbackUrl, callback.toJSON());
                         logger.log(Level.FINE, "Docker Hub returned {0}", response);
-                        return;
                     }
-                    logger.log(Level.WARNING, "No callback URL specified in {0}", pushNotification);
+                    return;
                 }
             }
             logger.log(Level.WARNING, "Failed to prepare Docker Hub callback payload for {0}", pushNotification);
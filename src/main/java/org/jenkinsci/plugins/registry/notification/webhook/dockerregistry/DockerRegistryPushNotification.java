@@ -48,6 +48,8 @@ public class DockerRegistryPushNotification extends PushNotification {
     public static final String KEY_DOCKER_REGISTRY_HOST = WebHookPayload.PREFIX + "DOCKER_REGISTRY_HOST";
     private String registryHost;
     private String tag;
+    private String eventId;
+    private String digest;
 
     public DockerRegistryPushNotification(DockerRegistryWebHookPayload webHookPayload, String repoName) {
         super(webHookPayload);
@@ -63,6 +65,38 @@ public class DockerRegistryPushNotification extends PushNotification {
         this.tag = tag;
     }
 
+    /**
+     * The id of the event in the registry notification.
+     *
+     * @return the id
+     */
+    @CheckForNull
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    @CheckForNull
+    public String getDigest() {
+        return digest;
+    }
+
+    public void setDigest(String digest) {
+        this.digest = digest;
+    }
+
+    @Override
+    @CheckForNull
+    public String getDeliveryKey() {
+        if (!StringUtils.isBlank(eventId)) {
+            return "dockerRegistry|" + eventId;
+        }
+        return deliveryKey("dockerRegistry", getRepoName(), digest, StringUtils.defaultString(tag, "-"));
+    }
+
     @CheckForNull
     public String getRegistryHost() {
         return registryHost;
@@ -23,11 +23,16 @@
  */
 package org.jenkinsci.plugins.registry.notification.webhook.dockerregistry;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.registry.notification.webhook.JSONWebHook;
+import org.jenkinsci.plugins.registry.notification.webhook.RegistryEventDecoder;
 import org.jenkinsci.plugins.registry.notification.webhook.WebHookPayload;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.logging.Logger;
 
 /**
@@ -48,6 +53,11 @@ public class DockerRegistryWebHook extends JSONWebHook {
         return new DockerRegistryWebHookPayload(payload);
     }
 
+    @Override
+    protected WebHookPayload createPushNotification(@NonNull InputStream body, @CheckForNull String characterEncoding) throws IOException {
+        return new DockerRegistryWebHookPayload(RegistryEventDecoder.decodeEnvelope(body, characterEncoding));
+    }
+
     public String getUrlName() {
         return URL_NAME;
     }
@@ -26,10 +26,12 @@ package org.jenkinsci.plugins.registry.notification.webhook.dockerregistry;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
+import org.jenkinsci.plugins.registry.notification.webhook.RegistryEventDecoder;
 import org.jenkinsci.plugins.registry.notification.webhook.WebHookPayload;
 import org.joda.time.format.DateTimeFormatter;
 import org.joda.time.format.ISODateTimeFormat;
 
+import java.util.List;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -74,13 +76,46 @@ public class DockerRegistryWebHookPayload extends WebHookPayload {
 
     }
 
+    /**
+     * Creates the object from events decoded by {@link RegistryEventDecoder}.
+     * Only the decoded fields are kept as {@link #getData()}.
+     *
+     * @param events the decoded events, blob events already skipped
+     */
+    public DockerRegistryWebHookPayload(@NonNull List<RegistryEventDecoder.Event> events) {
+        super();
+        JSONObject data = RegistryEventDecoder.toEnvelope(events);
+        setData(data);
+        setJson(data.toString());
+
+        for (RegistryEventDecoder.Event event : events) {
+            if ("push".equals(event.getAction()) && event.getUrl() != null) {
+                final String[] urlSegments = event.getUrl().split("/");
+                String repository = urlSegments[2] + "/" + event.getRepository();
+                pushNotifications.add(createPushNotification(repository, event.getTimestamp(), event.getHost(), event.getTag(),
+                                                             event.getId(), event.getDigest()));
+            } else {
+                logger.log(Level.FINER, "Skipping pull notification {0}", event.getRepository());
+            }
+        }
+    }
+
     private DockerRegistryPushNotification createPushNotification(@NonNull final String repoName, @NonNull JSONObject data) {
-        final String timestamp = data.optString("timestamp");
-        final String host = data.getJSONObject("request").optString("host");
-        final String tag = data.getJSONObject("target").optString("tag");
+        return createPushNotification(repoName, data.optString("timestamp"),
+                                      data.getJSONObject("request").optString("host"),
+                                      data.getJSONObject("target").optString("tag"),
+                                      data.optString("id"),
+                                      data.getJSONObject("target").optString("digest"));
+    }
+
+    private DockerRegistryPushNotification createPushNotification(@NonNull final String repoName, final String timestamp,
+                                                                  final String host, final String tag,
+                                                                  final String id, final String digest) {
         return new DockerRegistryPushNotification(this, repoName){{
             DateTimeFormatter parser = ISODateTimeFormat.dateTimeParser();
             setTag(tag);
+            setEventId(id);
+            setDigest(digest);
             setPushedAt(parser.parseDateTime(timestamp).toDate());
             setRegistryHost(host);
         }};
@@ -0,0 +1,116 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.callback.CallbackOutboxLink
+
+import jenkins.model.Jenkins
+
+import java.text.DateFormat
+
+def l = namespace(lib.LayoutTagLib)
+
+DateFormat format = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.MEDIUM, request2.getLocale())
+
+l.layout(title: my.displayName, permission: Jenkins.ADMINISTER) {
+    l."main-panel" {
+        h1(my.displayName)
+        p(_("connections", my.connectionCount, my.idleConnectionCount))
+        def breakers = my.circuitBreakers
+        if (!breakers.isEmpty()) {
+            h2(_("Hosts"))
+            table(class: "jenkins-table jenkins-table--small sortable") {
+                thead {
+                    tr {
+                        th(_("Host"))
+                        th(_("Circuit"))
+                        th(_("Consecutive failures"))
+                        th(_("Opened"))
+                        th(_("Short-circuited"))
+                    }
+                }
+                tbody {
+                    breakers.each { breaker ->
+                        tr {
+                            td(breaker.host)
+                            td(breaker.state.toString())
+                            td(breaker.consecutiveFailures)
+                            td(breaker.opened)
+                            td(breaker.shortCircuited)
+                        }
+                    }
+                }
+            }
+        }
+        ["PENDING", "FAILED", "SENT"].each { state ->
+            def callbacks = my.getCallbacks(state)
+            h2(_(state))
+            if (callbacks.isEmpty()) {
+                p(_("None"))
+            } else {
+                table(class: "jenkins-table jenkins-table--small sortable") {
+                    thead {
+                        tr {
+                            th(_("Push"))
+                            th(_("URL"))
+                            th(_("Created"))
+                            th(_("Attempts"))
+                            th(_("Last attempt"))
+                            th(_("Result"))
+                            if (state == "PENDING") {
+                                th(_("Next attempt"))
+                            }
+                            if (state == "FAILED") {
+                                th()
+                            }
+                        }
+                    }
+                    tbody {
+                        callbacks.each { callback ->
+                            tr {
+                                td {
+                                    a(href: "${rootURL}/dockerhub-webhook/details/${callback.id}", callback.id)
+                                }
+                                td(callback.url)
+                                td(format.format(new Date(callback.created)))
+                                td(callback.attempts)
+                                td(callback.lastAttempt > 0 ? format.format(new Date(callback.lastAttempt)) : "")
+                                td(callback.lastResult ?: "")
+                                if (state == "PENDING") {
+                                    td(format.format(new Date(callback.nextAttempt)))
+                                }
+                                if (state == "FAILED") {
+                                    td {
+                                        form(method: "post", action: "retry") {
+                                            input(type: "hidden", name: "id", value: callback.id)
+                                            button(class: "jenkins-button", type: "submit", _("Retry"))
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
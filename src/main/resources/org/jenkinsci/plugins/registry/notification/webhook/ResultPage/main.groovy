@@ -24,7 +24,10 @@
 package org.jenkinsci.plugins.registry.notification.webhook.ResultPage
 
 import org.jenkinsci.plugins.registry.notification.TriggerStore
+import org.jenkinsci.plugins.registry.notification.metrics.Histogram
+import hudson.Util
 import hudson.model.Item
+import hudson.model.Job
 import hudson.model.Run
 
 import java.text.DateFormat
@@ -37,6 +40,8 @@ link(rel: "stylesheet", href: "${rootURL}/${res(my, "style.css")}", type: "text/
 
 h1(_("heading", repoName, data.pushNotification.pushedAt))
 
+long pushedAt = data.pushNotification.pushedAt?.time ?: 0L
+
 data.entries.each { entry ->
     Run run = entry.run
     if (run != null && (run.hasPermission(Item.READ) || run.hasPermission(Item.DISCOVER))) {
@@ -54,6 +59,17 @@ data.entries.each { entry ->
                     li(run.durationString)
                     li(run.result.toString())
                 }
+                ul(class: "trigger-timing") {
+                    [["received", pushedAt, data.pushNotification.received],
+                     ["queued", data.pushNotification.received, entry.queued],
+                     ["started", entry.queued, entry.started],
+                     ["finished", entry.started, entry.finished]].each { stage, from, to ->
+                        String span = my.getTimeSpan(from, to)
+                        if (span != null) {
+                            li(_("after." + stage, span))
+                        }
+                    }
+                }
                 ul(class: "causes") {
                     run.causes.each { cause ->
                         li(cause.getShortDescription())
@@ -70,3 +86,71 @@ data.entries.each { entry ->
     }
 }
 
+def stages = my.latencyStages.findAll { stage -> my.getLatency(stage) != null }
+if (!stages.isEmpty()) {
+    h2(_("latencyHeading", repoName))
+    table(class: "jenkins-table jenkins-table--small trigger-latency") {
+        thead {
+            tr {
+                th(_("Stage"))
+                th(_("Builds"))
+                th(_("Median"))
+                th("90%")
+                th("99%")
+            }
+        }
+        tbody {
+            stages.each { stage ->
+                Histogram latency = my.getLatency(stage)
+                tr {
+                    td(_("latency." + stage))
+                    td(String.valueOf(latency.count))
+                    [0.5d, 0.9d, 0.99d].each { q ->
+                        td(Util.getTimeSpanString(latency.getValueAtQuantile(q)))
+                    }
+                }
+            }
+        }
+    }
+}
+
+def jobLatencies = []
+data.entries.collect { entry -> entry.job }.unique().each { Job job ->
+    if (job != null && job.hasPermission(Item.READ)) {
+        my.latencyStages.each { stage ->
+            Histogram latency = my.getJobLatency(job.fullName, stage)
+            if (latency != null) {
+                jobLatencies << [job, stage, latency]
+            }
+        }
+    }
+}
+if (!jobLatencies.isEmpty()) {
+    h2(_("jobLatencyHeading"))
+    table(class: "jenkins-table jenkins-table--small trigger-latency") {
+        thead {
+            tr {
+                th(_("Job"))
+                th(_("Stage"))
+                th(_("Builds"))
+                th(_("Median"))
+                th("90%")
+                th("99%")
+            }
+        }
+        tbody {
+            jobLatencies.each { Job job, String stage, Histogram latency ->
+                tr {
+                    td {
+                        a(href: "${rootURL}/${job.url}", class: "model-link", job.fullDisplayName)
+                    }
+                    td(_("latency." + stage))
+                    td(String.valueOf(latency.count))
+                    [0.5d, 0.9d, 0.99d].each { q ->
+                        td(Util.getTimeSpanString(latency.getValueAtQuantile(q)))
+                    }
+                }
+            }
+        }
+    }
+}
@@ -26,6 +26,8 @@ package org.jenkinsci.plugins.registry.notification;
 import org.jenkinsci.plugins.registry.notification.opt.impl.TriggerOnSpecifiedImageNames;
 import org.jenkinsci.plugins.registry.notification.opt.impl.TriggerForAllUsedInJob;
 
+import org.jenkinsci.plugins.registry.notification.opt.TriggerOption;
+
 import hudson.model.Item;
 import hudson.model.FreeStyleProject;
 
@@ -33,10 +35,15 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.jvnet.hudson.test.JenkinsRule;
 
+import java.util.Arrays;
+import java.util.Set;
+
 import static org.hamcrest.collection.IsEmptyCollection.empty;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 
 /**
  * Tests for {@link DockerHubTrigger}.
@@ -74,4 +81,22 @@ public class DockerHubTriggerTest {
         assertThat(trigger.getAllRepoNames(), empty());
         assertThat(trigger.getAllRepoNames(), empty());
     }
+
+    @Test
+    public void testRepoNamesMemoized() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        project.addTrigger(new DockerHubTrigger(new TriggerOnSpecifiedImageNames("cb/jenkins")));
+        DockerHubTrigger trigger = DockerHubTrigger.getTrigger(project);
+        assertNotNull(trigger);
+        Set<String> first = trigger.getAllRepoNames();
+        long misses = DockerHubTrigger.getRepoNamesCacheMisses();
+        long hits = DockerHubTrigger.getRepoNamesCacheHits();
+        assertSame(first, trigger.getAllRepoNames());
+        assertEquals(misses, DockerHubTrigger.getRepoNamesCacheMisses());
+        assertEquals(hits + 1, DockerHubTrigger.getRepoNamesCacheHits());
+
+        trigger.setOptions(Arrays.<TriggerOption>asList(new TriggerOnSpecifiedImageNames("cb/je")));
+        assertThat(trigger.getAllRepoNames(), contains("cb/je"));
+        assertEquals(misses + 1, DockerHubTrigger.getRepoNamesCacheMisses());
+    }
 }
@@ -41,8 +41,12 @@ import org.jvnet.hudson.test.JenkinsRule;
 import org.jvnet.hudson.test.MockBuilder;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
+import static org.junit.Assert.assertNull;
+
 public class DockerHubWebHookTest {
 
     @Rule
@@ -76,6 +80,28 @@ public class DockerHubWebHookTest {
         j.assertLogContains(DockerHubPushNotification.KEY_REPO_NAME + " = " + repoName, build);
     }
 
+    @Test(timeout = 60000)
+    public void testAllMatchingJobsScheduled() throws Exception {
+        final String repoName = "cb/jenkins";
+        List<FreeStyleProject> projects = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            FreeStyleProject project = j.createFreeStyleProject();
+            project.addTrigger(new DockerHubTrigger(new TriggerOnSpecifiedImageNames(repoName)));
+            project.getBuildersList().add(new MockBuilder(Result.SUCCESS));
+            projects.add(project);
+        }
+        FreeStyleProject other = j.createFreeStyleProject();
+        other.addTrigger(new DockerHubTrigger(new TriggerOnSpecifiedImageNames("cb/other")));
+        j.createWebClient().goTo("dockerhub-webhook/debug?image=" + repoName);
+
+        j.waitUntilNoActivity();
+
+        for (FreeStyleProject project : projects) {
+            j.assertLogContains(repoName, project.getLastBuild());
+        }
+        assertNull(other.getLastBuild());
+    }
+
     static class PrintEnvironment extends Builder {
         @Override
         public boolean perform(AbstractBuild<?, ?> build, Launcher launcher, BuildListener listener) throws InterruptedException, IOException {
@@ -0,0 +1,100 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsEmptyCollection.empty;
+import static org.hamcrest.collection.IsIterableContainingInAnyOrder.containsInAnyOrder;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link RepoPatternTrie}.
+ */
+public class RepoPatternTrieTest {
+
+    @Test
+    public void testSegmentGlobs() {
+        RepoPatternTrie<String> trie = new RepoPatternTrie<>();
+        trie.add("registry.local/team-*/base", "team");
+        trie.add("registry.local/team-?/base", "single");
+        trie.add("registry.local/team-a/base", "literal");
+
+        assertThat(trie.match("registry.local/team-a/base"), containsInAnyOrder("team", "single", "literal"));
+        assertThat(trie.match("registry.local/team-abc/base"), containsInAnyOrder("team"));
+        assertThat(trie.match("registry.local/team-/base"), containsInAnyOrder("team"));
+        assertThat(trie.match("registry.local/team-a/b/base"), empty());
+        assertThat(trie.match("registry.local/other/base"), empty());
+        assertThat(trie.match("registry.local/team-a"), empty());
+    }
+
+    @Test
+    public void testAnySegments() {
+        RepoPatternTrie<String> trie = new RepoPatternTrie<>();
+        trie.add("myorg/**", "org");
+        trie.add("**/base", "base");
+        trie.add("a/**/z", "az");
+
+        assertThat(trie.match("myorg/app"), containsInAnyOrder("org"));
+        assertThat(trie.match("myorg/team/app"), containsInAnyOrder("org"));
+        assertThat(trie.match("myorg"), containsInAnyOrder("org"));
+        assertThat(trie.match("myorg/base"), containsInAnyOrder("org", "base"));
+        assertThat(trie.match("base"), containsInAnyOrder("base"));
+        assertThat(trie.match("a/z"), containsInAnyOrder("az"));
+        assertThat(trie.match("a/b/c/z"), containsInAnyOrder("az"));
+        assertThat(trie.match("a/b/c"), empty());
+        assertThat(trie.match("otherorg/app"), empty());
+    }
+
+    @Test
+    public void testLiteralCharacters() {
+        RepoPatternTrie<String> trie = new RepoPatternTrie<>();
+        trie.add("registry.local/*.io", "dot");
+        assertTrue(trie.matches("registry.local/app.io"));
+        assertFalse(trie.matches("registry.local/appxio"));
+        assertFalse(trie.matches("registryxlocal/app.io"));
+    }
+
+    @Test
+    public void testRemove() {
+        RepoPatternTrie<String> trie = new RepoPatternTrie<>();
+        trie.add("myorg/**", "one");
+        trie.add("myorg/**", "two");
+        trie.add("myorg/app-*", "three");
+        assertThat(trie.size(), is(3));
+
+        trie.remove("myorg/**", "one");
+        assertThat(trie.match("myorg/app-x"), containsInAnyOrder("two", "three"));
+        trie.remove("myorg/**", "two");
+        trie.remove("myorg/app-*", "three");
+        trie.remove("myorg/unknown", "three");
+        assertThat(trie.size(), is(0));
+        assertThat(trie.match("myorg/app-x"), empty());
+        assertFalse(trie.matches(""));
+        assertFalse(trie.matches(null));
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification;
+
+import hudson.model.FreeStyleProject;
+import hudson.model.TopLevelItem;
+import org.jenkinsci.plugins.registry.notification.opt.impl.TriggerOnImageNamePatterns;
+import org.jenkinsci.plugins.registry.notification.opt.impl.TriggerOnSpecifiedImageNames;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsEmptyCollection.empty;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.hamcrest.collection.IsIterableContainingInAnyOrder.containsInAnyOrder;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link TriggerIndex}.
+ */
+public class TriggerIndexTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testIndexFollowsJobs() throws Exception {
+        TriggerIndex index = TriggerIndex.getInstance();
+        assertNotNull(index);
+        assertTrue(index.isReady());
+
+        FreeStyleProject one = j.createFreeStyleProject("one");
+        one.addTrigger(new DockerHubTrigger(new TriggerOnSpecifiedImageNames("cb/jenkins", "cb/je")));
+        FreeStyleProject two = j.createFreeStyleProject("two");
+        two.addTrigger(new DockerHubTrigger(new TriggerOnSpecifiedImageNames("cb/jenkins")));
+        j.createFreeStyleProject("three");
+
+        assertThat(index.getJobs("cb/jenkins"), containsInAnyOrder(one, two));
+        assertThat(index.getJobs("cb/je"), containsInAnyOrder(one));
+        assertThat(index.getJobs("cb/other"), empty());
+
+        one.renameTo("renamed");
+        assertThat(index.getJobs("cb/je"), containsInAnyOrder(one));
+
+        two.delete();
+        assertThat(index.getJobs("cb/jenkins"), containsInAnyOrder(one));
+
+        one.removeTrigger(j.jenkins.getDescriptorByType(DockerHubTrigger.DescriptorImpl.class));
+        assertThat(index.getJobs("cb/jenkins"), empty());
+    }
+
+    @Test
+    public void testConfigRoundTrip() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        project.addTrigger(new DockerHubTrigger(new TriggerOnSpecifiedImageNames("cb/jenkins")));
+        project = j.configRoundtrip(project);
+        assertThat(TriggerIndex.getInstance().getJobs("cb/jenkins"), containsInAnyOrder(project));
+    }
+
+    @Test
+    public void testPatterns() throws Exception {
+        TriggerIndex index = TriggerIndex.getInstance();
+        FreeStyleProject team = j.createFreeStyleProject("team");
+        team.addTrigger(new DockerHubTrigger(new TriggerOnImageNamePatterns("registry.local/team-*/base")));
+        FreeStyleProject org = j.createFreeStyleProject("org");
+        org.addTrigger(new DockerHubTrigger(new TriggerOnSpecifiedImageNames("registry.local/team-a/base"),
+                                            new TriggerOnImageNamePatterns("registry.local/**")));
+
+        assertThat(index.getJobs("registry.local/team-a/base"), containsInAnyOrder(team, org));
+        assertThat(index.getJobs("registry.local/team-a/other"), containsInAnyOrder(org));
+        assertThat(index.getJobs("other.local/team-a/base"), empty());
+        assertTrue(DockerHubTrigger.getTrigger(team).isTriggeredBy("registry.local/team-b/base"));
+
+        assertThat(new TriggerListViewColumn().getImageNames(org),
+                   contains("registry.local/team-a/base", "registry.local/**"));
+        TriggerViewFilter filter = new TriggerViewFilter(Collections.singletonList(".*team-\\*.*"));
+        assertThat(filter.filter(Collections.<TopLevelItem>emptyList(), Arrays.<TopLevelItem>asList(team, org), null),
+                   contains((TopLevelItem) team));
+
+        org.delete();
+        assertThat(index.getJobs("registry.local/team-a/other"), empty());
+
+        team = j.configRoundtrip(team);
+        assertThat(index.getJobs("registry.local/team-b/base"), containsInAnyOrder(team));
+    }
+}
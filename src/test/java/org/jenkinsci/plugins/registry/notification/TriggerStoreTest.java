@@ -0,0 +1,257 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification;
+
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.model.Result;
+import jenkins.model.Jenkins;
+import org.htmlunit.html.HtmlPage;
+import org.jenkinsci.plugins.registry.notification.metrics.Histogram;
+import org.jenkinsci.plugins.registry.notification.metrics.TriggerLatency;
+import org.jenkinsci.plugins.registry.notification.opt.impl.TriggerOnSpecifiedImageNames;
+import org.jenkinsci.plugins.registry.notification.webhook.PushNotification;
+import org.jenkinsci.plugins.registry.notification.webhook.WebHookCause;
+import org.jenkinsci.plugins.registry.notification.webhook.dockerhub.DockerHubWebHookPayload;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.MockBuilder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link TriggerStore}.
+ */
+public class TriggerStoreTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    private long writeBehind;
+
+    @Before
+    public void enable() {
+        writeBehind = TriggerStore.WRITE_BEHIND_MILLIS;
+        TriggerStore.WRITE_BEHIND_MILLIS = 600000;
+    }
+
+    @After
+    public void disable() {
+        TriggerStore.WRITE_BEHIND_MILLIS = writeBehind;
+    }
+
+    @Test(timeout = 60000)
+    public void testWriteBehind() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        project.addTrigger(new DockerHubTrigger(new TriggerOnSpecifiedImageNames("cb/jenkins")));
+        project.getBuildersList().add(new MockBuilder(Result.SUCCESS));
+        j.createWebClient().goTo("dockerhub-webhook/debug?image=cb/jenkins");
+        j.waitUntilNoActivity();
+
+        FreeStyleBuild build = project.getLastBuild();
+        assertNotNull(build);
+        String sha = build.getCause(WebHookCause.class).getPushNotification().sha();
+
+        TriggerStore store = TriggerStore.getInstance();
+        assertEquals(1, store.getDirtyCount());
+        TriggerStore.TriggerEntry entry = store.getEntry(sha);
+        assertNotNull(entry);
+        assertTrue(entry.areAllDone());
+
+        assertEquals(1, store.flush());
+        assertEquals(0, store.getDirtyCount());
+        assertEquals(0, store.flush());
+    }
+
+    @Test
+    public void testRunIndex() throws Exception {
+        PushNotification push = new DockerHubWebHookPayload("cb/jenkins").getPushNotifications().get(0);
+        TriggerStore.TriggerEntry entry = TriggerStore.getInstance().getBackend().getOrCreate(push, push.sha());
+        TriggerStore.TriggerEntry.RunEntry one = new TriggerStore.TriggerEntry.RunEntry("one", "1");
+        TriggerStore.TriggerEntry.RunEntry two = new TriggerStore.TriggerEntry.RunEntry("two", "1");
+        entry.putEntry(one);
+        entry.putEntry(two);
+        assertEquals(2, entry.getOutstanding());
+        assertFalse(entry.areAllDone());
+
+        one.setDone(true);
+        one.setDone(true);
+        assertEquals(1, entry.getOutstanding());
+        two.setJobName("three");
+        assertNull(entry.getEntry("two"));
+        assertSame(two, entry.getEntry("three"));
+        assertSame(two, entry.removeEntry("three"));
+        assertTrue(entry.areAllDone());
+        assertEquals(1, entry.getEntries().size());
+
+        entry.putEntry(new TriggerStore.TriggerEntry.RunEntry("four", "2"));
+        TriggerStore.TriggerEntry read = (TriggerStore.TriggerEntry) Jenkins.XSTREAM2.fromXML(Jenkins.XSTREAM2.toXML(entry));
+        assertEquals(2, read.getEntries().size());
+        assertTrue(read.getEntry("one").isDone());
+        assertEquals(1, read.getOutstanding());
+        read.getEntry("four").setDone(true);
+        assertTrue(read.areAllDone());
+    }
+
+    @Test(timeout = 60000)
+    public void testPending() throws Exception {
+        TriggerStore.WRITE_BEHIND_MILLIS = 0;
+        FreeStyleProject project = j.createFreeStyleProject();
+        project.addTrigger(new DockerHubTrigger(new TriggerOnSpecifiedImageNames("cb/jenkins")));
+        project.getBuildersList().add(new MockBuilder(Result.SUCCESS));
+        j.createWebClient().goTo("dockerhub-webhook/debug?image=cb/jenkins");
+        j.waitUntilNoActivity();
+        String sha = project.getLastBuild().getCause(WebHookCause.class).getPushNotification().sha();
+
+        TriggerStore store = TriggerStore.getInstance();
+        assertTrue(store.awaitPersisted(10000));
+        assertEquals(0, store.getPendingCount());
+        TriggerStore.TriggerEntry entry = store.getBackend().get(sha);
+        assertNotNull(entry);
+        assertTrue(entry.areAllDone());
+
+        // a build that was running when Jenkins went down
+        PushNotification push = new DockerHubWebHookPayload("cb/other").getPushNotifications().get(0);
+        entry = store.getBackend().getOrCreate(push, push.sha());
+        entry.putEntry(new TriggerStore.TriggerEntry.RunEntry(project.getFullName(), "42"));
+        store.save(entry);
+        store.rebuildPending();
+        assertEquals(0, store.getPendingCount());
+        assertFalse(store.getBackend().get(push.sha()).areAllDone());
+        assertTrue(store.repair(push.sha()).areAllDone());
+        assertTrue(store.awaitPersisted(10000));
+        assertEquals(0, store.getPendingCount());
+        assertTrue(store.getBackend().get(push.sha()).areAllDone());
+    }
+
+    @Test(timeout = 60000)
+    public void testQueuedIsOutstanding() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        project.setQuietPeriod(600);
+        project.addTrigger(new DockerHubTrigger(new TriggerOnSpecifiedImageNames("cb/jenkins")));
+        j.createWebClient().goTo("dockerhub-webhook/debug?image=cb/jenkins");
+        while (j.jenkins.getQueue().getItem(project) == null) {
+            Thread.sleep(100);
+        }
+        String sha = j.jenkins.getQueue().getItem(project).getCauses().stream()
+                .filter(WebHookCause.class::isInstance).map(c -> ((WebHookCause) c).getPushNotification().sha())
+                .findFirst().get();
+
+        TriggerStore store = TriggerStore.getInstance();
+        TriggerStore.TriggerEntry entry = store.getEntry(sha);
+        assertNotNull(entry);
+        assertFalse(entry.areAllDone());
+        assertNull(entry.getEntry(project).getBuildId());
+        assertEquals(1, store.getPendingCount());
+        store.rebuildPending();
+        assertEquals(1, store.getPendingCount());
+        assertFalse(store.getEntry(sha).areAllDone());
+
+        j.jenkins.getQueue().cancel(project);
+        while (!store.getEntry(sha).areAllDone()) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, store.getPendingCount());
+    }
+
+    @Test(timeout = 60000)
+    public void testRemovedWithLastRun() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        project.addTrigger(new DockerHubTrigger(new TriggerOnSpecifiedImageNames("cb/jenkins")));
+        j.createWebClient().goTo("dockerhub-webhook/debug?image=cb/jenkins");
+        j.waitUntilNoActivity();
+        FreeStyleBuild build = project.getLastBuild();
+        String sha = build.getCause(WebHookCause.class).getPushNotification().sha();
+
+        TriggerStore store = TriggerStore.getInstance();
+        store.flush();
+        assertNotNull(store.getBackend().get(sha));
+        build.delete();
+        assertNull(store.getEntry(sha));
+        assertNull(store.getBackend().get(sha));
+        assertEquals(0, store.getDirtyCount());
+    }
+
+    @Test
+    public void testRunEntryResolution() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        FreeStyleBuild build = j.buildAndAssertSuccess(project);
+
+        TriggerStore.TriggerEntry.RunEntry entry = new TriggerStore.TriggerEntry.RunEntry(project.getFullName(), build.getId());
+        assertSame(project, entry.getJob());
+        assertSame(build, entry.getRun());
+        assertSame(build, entry.getRun());
+
+        entry.setJobName("gone");
+        assertNull(entry.getJob());
+        assertNull(entry.getRun());
+
+        entry.setJobName(project.getFullName());
+        assertSame(build, entry.getRun());
+        project.delete();
+        assertNull(entry.getJob());
+    }
+
+    @Test(timeout = 60000)
+    public void testLatency() throws Exception {
+        TriggerStore.WRITE_BEHIND_MILLIS = 0;
+        FreeStyleProject project = j.createFreeStyleProject();
+        project.addTrigger(new DockerHubTrigger(new TriggerOnSpecifiedImageNames("cb/latency")));
+        project.getBuildersList().add(new MockBuilder(Result.SUCCESS));
+        j.createWebClient().goTo("dockerhub-webhook/debug?image=cb/latency");
+        j.waitUntilNoActivity();
+        FreeStyleBuild build = project.getLastBuild();
+        assertNotNull(build);
+        PushNotification push = build.getCause(WebHookCause.class).getPushNotification();
+
+        TriggerStore store = TriggerStore.getInstance();
+        assertTrue(store.awaitPersisted(10000));
+        TriggerStore.TriggerEntry.RunEntry run = store.getBackend().get(push.sha()).getEntry(project.getFullName());
+        assertNotNull(run);
+        assertThat(run.getQueued(), greaterThanOrEqualTo(push.getReceived()));
+        assertThat(run.getStarted(), greaterThanOrEqualTo(run.getQueued()));
+        assertThat(run.getFinished(), greaterThanOrEqualTo(run.getStarted()));
+
+        Histogram started = TriggerLatency.get("cb/latency", TriggerLatency.STARTED);
+        assertNotNull(started);
+        assertEquals(1, started.getCount());
+        // the debug push has no time of the push
+        assertNull(TriggerLatency.get("cb/latency", TriggerLatency.PUSH_TO_START));
+
+        HtmlPage page = j.createWebClient().goTo("dockerhub-webhook/details/" + push.sha());
+        assertThat(page.asNormalizedText(), containsString("Queued to started"));
+        assertThat(page.asNormalizedText(), containsString("Started after"));
+    }
+}
@@ -0,0 +1,216 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.callback;
+
+import hudson.model.UnprotectedRootAction;
+import hudson.security.csrf.CrumbExclusion;
+import net.sf.json.JSONObject;
+import org.jenkinsci.plugins.registry.notification.webhook.Http;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.TestExtension;
+import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.StaplerResponse2;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link CallbackOutbox}.
+ */
+public class CallbackOutboxTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    private static final Deque<Integer> responses = new ArrayDeque<>();
+    private static final AtomicInteger requests = new AtomicInteger();
+
+    private long initialDelay;
+    private int maxAttempts;
+
+    @Before
+    public void setUp() {
+        initialDelay = CallbackOutbox.INITIAL_DELAY_MILLIS;
+        maxAttempts = CallbackOutbox.MAX_ATTEMPTS;
+        CallbackOutbox.INITIAL_DELAY_MILLIS = 10;
+        synchronized (responses) {
+            responses.clear();
+        }
+        requests.set(0);
+    }
+
+    @After
+    public void tearDown() {
+        CallbackOutbox.INITIAL_DELAY_MILLIS = initialDelay;
+        CallbackOutbox.MAX_ATTEMPTS = maxAttempts;
+    }
+
+    @Test(timeout = 60000)
+    public void testRetriedUntilSent() throws Exception {
+        respond(503, 500, 200);
+        CallbackOutbox outbox = CallbackOutbox.getInstance();
+        assertNotNull(outbox);
+        assertTrue(outbox.enqueue("abc", j.getURL() + "fake-callback/respond", payload()));
+        CallbackOutbox.Callback callback = await(outbox, "abc");
+        assertEquals(CallbackOutbox.State.SENT, callback.getState());
+        assertEquals(3, callback.getAttempts());
+        assertEquals("HTTP 200", callback.getLastResult());
+
+        // once per push
+        assertFalse(outbox.enqueue("abc", j.getURL() + "fake-callback/respond", payload()));
+        Thread.sleep(100);
+        assertEquals(3, requests.get());
+    }
+
+    @Test(timeout = 60000)
+    public void testFailedAndRetried() throws Exception {
+        respond(400);
+        CallbackOutbox outbox = CallbackOutbox.getInstance();
+        assertTrue(outbox.enqueue("def", j.getURL() + "fake-callback/respond", payload()));
+        CallbackOutbox.Callback callback = await(outbox, "def");
+        assertEquals(CallbackOutbox.State.FAILED, callback.getState());
+        assertEquals(1, callback.getAttempts());
+        assertEquals(1, outbox.getCallbacks(CallbackOutbox.State.FAILED).size());
+
+        CallbackOutbox.MAX_ATTEMPTS = 2;
+        respond(503, 503, 503);
+        assertTrue(outbox.retry("def"));
+        callback = await(outbox, "def");
+        assertEquals(CallbackOutbox.State.FAILED, callback.getState());
+        assertEquals(2, callback.getAttempts());
+
+        // saved and loaded
+        CallbackOutbox loaded = new CallbackOutbox();
+        loaded.load();
+        assertEquals(CallbackOutbox.State.FAILED, loaded.getCallback("def").getState());
+    }
+
+    @Test
+    public void testConnectionReuse() throws Exception {
+        Http.reset();
+        respond(200, 200, 200);
+        String url = j.getURL() + "fake-callback/respond";
+        assertEquals(200, Http.post(url, payload()));
+        assertEquals(200, Http.post(url, payload()));
+        assertEquals(200, Http.post(url, payload()));
+        assertEquals(1, Http.getConnectionCount());
+        assertEquals(1, Http.getIdleConnectionCount());
+    }
+
+    @Test
+    public void testBackoff() {
+        CallbackOutbox.INITIAL_DELAY_MILLIS = 1000;
+        for (int i = 0; i < 20; i++) {
+            assertThat(CallbackOutbox.backoff(1), greaterThanOrEqualTo(500L));
+            assertThat(CallbackOutbox.backoff(1), lessThanOrEqualTo(1000L));
+            assertThat(CallbackOutbox.backoff(3), greaterThanOrEqualTo(2000L));
+            assertThat(CallbackOutbox.backoff(3), lessThanOrEqualTo(4000L));
+            assertThat(CallbackOutbox.backoff(30), lessThanOrEqualTo(CallbackOutbox.MAX_DELAY_MILLIS));
+        }
+    }
+
+    private static CallbackOutbox.Callback await(CallbackOutbox outbox, String id) throws InterruptedException {
+        CallbackOutbox.Callback callback = outbox.getCallback(id);
+        while (callback == null || callback.getState() == CallbackOutbox.State.PENDING) {
+            Thread.sleep(10);
+            callback = outbox.getCallback(id);
+        }
+        return callback;
+    }
+
+    private static JSONObject payload() {
+        JSONObject json = new JSONObject();
+        json.put("state", "success");
+        return json;
+    }
+
+    private static void respond(Integer... codes) {
+        synchronized (responses) {
+            responses.clear();
+            for (Integer code : codes) {
+                responses.add(code);
+            }
+        }
+    }
+
+    @TestExtension
+    public static class CallbackEndpoint implements UnprotectedRootAction {
+
+        @Override
+        public String getIconFileName() {
+            return null;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Fake callback";
+        }
+
+        @Override
+        public String getUrlName() {
+            return "fake-callback";
+        }
+
+        public void doRespond(StaplerRequest2 req, StaplerResponse2 rsp) throws IOException {
+            requests.incrementAndGet();
+            Integer code;
+            synchronized (responses) {
+                code = responses.poll();
+            }
+            rsp.setStatus(code != null ? code : 200);
+        }
+    }
+
+    @TestExtension
+    public static class CallbackEndpointCrumbExclusion extends CrumbExclusion {
+
+        @Override
+        public boolean process(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws IOException, ServletException {
+            String pathInfo = request.getPathInfo();
+            if (pathInfo != null && pathInfo.startsWith("/fake-callback")) {
+                chain.doFilter(request, response);
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.metrics;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link Histogram}.
+ */
+public class HistogramTest {
+
+    @Test
+    public void testBuckets() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 18, 100, 1000, 123456789, Long.MAX_VALUE / 3, Long.MAX_VALUE}) {
+            int index = Histogram.indexOf(value);
+            assertThat(index, lessThanOrEqualTo(Histogram.BUCKETS - 1));
+            assertThat(Histogram.upperBound(index), greaterThanOrEqualTo(value));
+            if (index > 0) {
+                assertThat(Histogram.upperBound(index - 1), lessThanOrEqualTo(value - 1));
+            }
+            // at most 12.5% too high
+            assertThat((double) Histogram.upperBound(index), lessThanOrEqualTo(value * 1.125 + 1));
+        }
+    }
+
+    @Test
+    public void testQuantiles() {
+        Histogram h = new Histogram();
+        assertEquals(0, h.getValueAtQuantile(0.5));
+        for (int i = 1; i <= 1000; i++) {
+            h.record(i);
+        }
+        assertEquals(1000, h.getCount());
+        assertEquals(500500, h.getSum());
+        assertEquals(1000, h.getMax());
+        assertThat(h.getValueAtQuantile(0.5), greaterThanOrEqualTo(500L));
+        assertThat(h.getValueAtQuantile(0.5), lessThanOrEqualTo(563L));
+        assertThat(h.getValueAtQuantile(0.99), greaterThanOrEqualTo(990L));
+        assertEquals(1000, h.getValueAtQuantile(1));
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.metrics;
+
+import jenkins.model.Jenkins;
+import net.sf.json.JSONObject;
+import org.apache.commons.io.IOUtils;
+import org.jenkinsci.plugins.registry.notification.token.ApiTokens;
+import org.jenkinsci.plugins.registry.notification.webhook.Http;
+import org.jenkinsci.plugins.registry.notification.webhook.dockerregistry.DockerRegistryWebHook;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.MockAuthorizationStrategy;
+import org.htmlunit.Page;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link MetricsAction} and {@link MetricsMBean}.
+ */
+public class MetricsActionTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testPrometheus() throws Exception {
+        String token = ApiTokens.get().generateApiToken("metrics").getString("value");
+        String url = j.getURL() + DockerRegistryWebHook.URL_NAME + "/" + token + "/notify";
+        JSONObject json = JSONObject.fromObject(IOUtils.toString(getClass().getResourceAsStream("/private-registry-payload-1-repository.json"), StandardCharsets.UTF_8));
+        assertEquals(200, Http.post(url, json));
+
+        j.jenkins.setSecurityRealm(j.createDummySecurityRealm());
+        j.jenkins.setAuthorizationStrategy(new MockAuthorizationStrategy()
+                .grant(Jenkins.ADMINISTER).everywhere().to("admin")
+                .grant(Jenkins.READ).everywhere().to("user"));
+
+        JenkinsRule.WebClient wc = j.createWebClient().withThrowExceptionOnFailingStatusCode(false);
+        assertEquals(403, wc.login("user").goTo("dockerhub-notification/prometheus", null).getWebResponse().getStatusCode());
+
+        Metrics.counter("test_supplied_total", () -> 42);
+        Page page;
+        try {
+            page = j.createWebClient().login("admin").goTo("dockerhub-notification/prometheus", "text/plain");
+        } finally {
+            Metrics.remove("test_supplied_total");
+        }
+        String text = page.getWebResponse().getContentAsString();
+        assertThat(text, containsString("# TYPE dockerhub_notification_test_supplied_total counter\ndockerhub_notification_test_supplied_total 42\n"));
+        assertThat(text, containsString("# TYPE dockerhub_notification_webhook_requests_total counter"));
+        assertThat(text, containsString("dockerhub_notification_webhook_requests_total{endpoint=\"dockerregistry-webhook\",outcome=\"processed\"}"));
+        assertThat(text, containsString("dockerhub_notification_webhook_parse_seconds_count{endpoint=\"dockerregistry-webhook\"}"));
+        assertThat(text, containsString("dockerhub_notification_http_connections"));
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(MetricsMBean.NAME);
+        assertTrue(server.isRegistered(name));
+        Object requests = server.getAttribute(name, "webhook_requests_total{endpoint=\"dockerregistry-webhook\",outcome=\"processed\"}");
+        assertTrue(((Number) requests).longValue() >= 1);
+    }
+
+    @Test
+    public void testMBeanHasNoOperations() {
+        ReflectionException e = assertThrows(ReflectionException.class,
+                () -> new MetricsMBean().invoke("reset", new Object[0], new String[0]));
+        assertThat(e.getTargetException(), instanceOf(NoSuchMethodException.class));
+    }
+}
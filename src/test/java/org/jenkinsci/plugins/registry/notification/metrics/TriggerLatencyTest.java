@@ -0,0 +1,92 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.metrics;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link TriggerLatency}.
+ */
+public class TriggerLatencyTest {
+
+    private int maxRepositories;
+    private int maxJobs;
+
+    @Before
+    public void limit() {
+        maxRepositories = TriggerLatency.MAX_REPOSITORIES;
+        maxJobs = TriggerLatency.MAX_JOBS;
+        TriggerLatency.MAX_REPOSITORIES = 2;
+        TriggerLatency.MAX_JOBS = 2;
+    }
+
+    @After
+    public void reset() {
+        TriggerLatency.MAX_REPOSITORIES = maxRepositories;
+        TriggerLatency.MAX_JOBS = maxJobs;
+    }
+
+    @Test
+    public void testLeastRecentRepositoryEvicted() {
+        TriggerLatency.record("test/one", TriggerLatency.STARTED, 1000, 1500);
+        TriggerLatency.record("test/two", TriggerLatency.STARTED, 1000, 1200);
+        TriggerLatency.record("test/one", TriggerLatency.FINISHED, 1500, 2500);
+        TriggerLatency.record("test/three", TriggerLatency.STARTED, 1000, 1100);
+
+        assertNull(TriggerLatency.get("test/two", TriggerLatency.STARTED));
+        Histogram started = TriggerLatency.get("test/one", TriggerLatency.STARTED);
+        assertNotNull(started);
+        assertEquals(500, started.getMax());
+        assertNotNull(TriggerLatency.get("test/one", TriggerLatency.FINISHED));
+        assertNotNull(TriggerLatency.get("test/three", TriggerLatency.STARTED));
+    }
+
+    @Test
+    public void testLeastRecentJobEvicted() {
+        TriggerLatency.record("test/jobs", "one", TriggerLatency.STARTED, 1000, 1500);
+        TriggerLatency.record("test/jobs", "two", TriggerLatency.STARTED, 1000, 1200);
+        TriggerLatency.record("test/jobs", "one", TriggerLatency.FINISHED, 1500, 2500);
+        TriggerLatency.record("test/jobs", "three", TriggerLatency.STARTED, 1000, 1100);
+
+        assertNull(TriggerLatency.getByJob("two", TriggerLatency.STARTED));
+        Histogram started = TriggerLatency.getByJob("one", TriggerLatency.STARTED);
+        assertNotNull(started);
+        assertEquals(500, started.getMax());
+        assertNotNull(TriggerLatency.getByJob("one", TriggerLatency.FINISHED));
+        assertNotNull(TriggerLatency.getByJob("three", TriggerLatency.STARTED));
+        assertEquals(3, TriggerLatency.get("test/jobs", TriggerLatency.STARTED).getCount());
+    }
+
+    @Test
+    public void testUnknownEndSkipped() {
+        TriggerLatency.record("test/unknown", TriggerLatency.PUSH_TO_START, 0, 1000);
+        assertNull(TriggerLatency.get("test/unknown", TriggerLatency.PUSH_TO_START));
+    }
+}
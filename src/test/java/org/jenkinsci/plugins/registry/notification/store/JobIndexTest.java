@@ -0,0 +1,133 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.store;
+
+import org.jenkinsci.plugins.registry.notification.TriggerStore;
+import org.jenkinsci.plugins.registry.notification.TriggerStore.TriggerEntry;
+import org.jenkinsci.plugins.registry.notification.TriggerStore.TriggerEntry.RunEntry;
+import org.jenkinsci.plugins.registry.notification.webhook.PushNotification;
+import org.jenkinsci.plugins.registry.notification.webhook.dockerhub.DockerHubWebHookPayload;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link JobIndex}.
+ */
+public class JobIndexTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testRename() throws Exception {
+        TriggerStore store = TriggerStore.getInstance();
+        String first = store(store, "cb/jenkins", "one");
+        String second = store(store, "cb/other", "one");
+        String unrelated = store(store, "cb/jenkins", "three");
+
+        List<TriggerEntry> entries = store.getEntries("one");
+        assertEquals(2, entries.size());
+
+        assertEquals(2, store.renameJob("one", "two"));
+        assertThat(store.getEntries("one"), empty());
+        entries = store.getEntries("two");
+        assertEquals(2, entries.size());
+        for (TriggerEntry entry : entries) {
+            assertNotNull(entry.getEntry("two"));
+        }
+        assertThat(store.getEntry(first).getEntries().get(0).getJobName(), is("two"));
+        assertThat(store.getEntry(unrelated).getEntries().get(0).getJobName(), is("three"));
+
+        store.remove(second);
+        JobIndex index = JobIndex.getInstance();
+        assertNotNull(index);
+        assertThat(index.getShas("two"), containsInAnyOrder(first));
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        TriggerStore store = TriggerStore.getInstance();
+        String first = store(store, "cb/jenkins", "one");
+        String second = store(store, "cb/jenkins", "folder/two");
+        JobIndex index = JobIndex.getInstance();
+        assertNotNull(index);
+        index.save();
+        index.markClean();
+        assertTrue(index.getFile().isFile());
+
+        JobIndex loaded = new JobIndex();
+        loaded.load(store);
+        assertTrue(loaded.isReady());
+        assertTrue(loaded.awaitReady(0));
+        assertFalse(loaded.getCleanFile().exists());
+        assertThat(loaded.getShas("one"), containsInAnyOrder(first));
+        assertThat(loaded.getShas("folder/two"), containsInAnyOrder(second));
+
+        assertTrue(index.getFile().delete());
+        JobIndex rebuilt = new JobIndex();
+        rebuilt.load(store);
+        assertThat(rebuilt.getShas("one"), containsInAnyOrder(first));
+        assertThat(rebuilt.getShas("folder/two"), containsInAnyOrder(second));
+    }
+
+    @Test
+    public void testStaleIndexIsRebuilt() throws Exception {
+        TriggerStore store = TriggerStore.getInstance();
+        String first = store(store, "cb/jenkins", "one");
+        JobIndex index = JobIndex.getInstance();
+        assertNotNull(index);
+        index.save();
+        // changed after the last snapshot, then Jenkins went down without saving
+        String second = store(store, "cb/jenkins", "one");
+        assertFalse(index.getCleanFile().exists());
+
+        JobIndex rebuilt = new JobIndex();
+        rebuilt.load(store);
+        assertTrue(rebuilt.isReady());
+        assertThat(rebuilt.getShas("one"), containsInAnyOrder(first, second));
+    }
+
+    private static String store(TriggerStore store, String repoName, String jobName) throws Exception {
+        Thread.sleep(5); // the sha is based on when the push was received
+        PushNotification push = new DockerHubWebHookPayload(repoName).getPushNotifications().get(0);
+        TriggerEntry entry = store.getBackend().getOrCreate(push, push.sha());
+        RunEntry run = new RunEntry(jobName, "1");
+        run.setDone(true);
+        entry.putEntry(run);
+        store.save(entry);
+        return push.sha();
+    }
+}
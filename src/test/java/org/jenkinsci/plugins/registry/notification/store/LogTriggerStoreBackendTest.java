@@ -0,0 +1,123 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.store;
+
+import hudson.ExtensionList;
+import org.jenkinsci.plugins.registry.notification.TriggerStore.TriggerEntry;
+import org.jenkinsci.plugins.registry.notification.TriggerStore.TriggerEntry.RunEntry;
+import org.jenkinsci.plugins.registry.notification.store.TriggerStoreBackend.Change;
+import org.jenkinsci.plugins.registry.notification.webhook.PushNotification;
+import org.jenkinsci.plugins.registry.notification.webhook.dockerhub.DockerHubWebHookPayload;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link LogTriggerStoreBackend}.
+ */
+public class LogTriggerStoreBackendTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testReplayAndSnapshot() throws Exception {
+        PushNotification push = new DockerHubWebHookPayload("cb/jenkins").getPushNotifications().get(0);
+        String sha = push.sha();
+
+        LogTriggerStoreBackend backend = new LogTriggerStoreBackend();
+        assertNull(backend.get(sha));
+        TriggerEntry entry = backend.getOrCreate(push, sha);
+        backend.changed(entry, Arrays.asList(
+                new Change(Change.Type.TRIGGERED, "one", null, false),
+                new Change(Change.Type.STARTED, "one", "1", false, 100, 200, 0),
+                new Change(Change.Type.STARTED, "two", "7", false)));
+        backend.changed(entry, Collections.singletonList(new Change(Change.Type.FINALIZED, "one", "1", true, 0, 0, 300)));
+        backend.changed(entry, Collections.singletonList(new Change(Change.Type.REMOVED, "two", "7", false)));
+
+        entry = backend.get(sha);
+        assertNotNull(entry);
+        assertEquals(1, entry.getEntries().size());
+        assertTrue(entry.getEntry("one").isDone());
+        // a copy is returned, changes must be persisted
+        entry.removeEntry("one");
+        assertEquals(1, backend.get(sha).getEntries().size());
+
+        // from the log
+        LogTriggerStoreBackend reloaded = new LogTriggerStoreBackend();
+        TriggerEntry replayed = reloaded.get(sha);
+        assertNotNull(replayed);
+        assertEquals("cb/jenkins", replayed.getPushNotification().getRepoName());
+        assertEquals(sha, replayed.getFingerprint().getHashString());
+        RunEntry run = replayed.getEntry("one");
+        assertNotNull(run);
+        assertEquals("1", run.getBuildId());
+        assertTrue(run.isDone());
+        assertEquals(100, run.getQueued());
+        assertEquals(200, run.getStarted());
+        assertEquals(300, run.getFinished());
+        assertNull(replayed.getEntry("two"));
+
+        // from the snapshot
+        reloaded.close();
+        LogTriggerStoreBackend fromSnapshot = new LogTriggerStoreBackend();
+        assertEquals(Collections.singletonList(sha), fromSnapshot.getShas());
+        assertTrue(fromSnapshot.get(sha).getEntry("one").isDone());
+        assertEquals(300, fromSnapshot.get(sha).getEntry("one").getFinished());
+    }
+
+    @Test
+    public void testMigrationFromFingerprints() throws Exception {
+        PushNotification push = new DockerHubWebHookPayload("cb/jenkins").getPushNotifications().get(0);
+        String sha = push.sha();
+        FingerprintTriggerStoreBackend fingerprints = ExtensionList.lookupSingleton(FingerprintTriggerStoreBackend.class);
+        TriggerEntry entry = fingerprints.getOrCreate(push, sha);
+        RunEntry run = new RunEntry("one", "3");
+        run.setDone(true);
+        entry.putEntry(run);
+        fingerprints.save(entry);
+        assertEquals(Collections.singletonList(sha), fingerprints.getShas());
+
+        LogTriggerStoreBackend backend = new LogTriggerStoreBackend();
+        assertEquals(1, backend.size());
+        TriggerEntry migrated = backend.get(sha);
+        assertNotNull(migrated);
+        assertEquals("3", migrated.getEntry("one").getBuildId());
+
+        // only once
+        fingerprints.save(fingerprints.getOrCreate(new DockerHubWebHookPayload("cb/other").getPushNotifications().get(0),
+                                                   "0123456789abcdef0123456789abcdef"));
+        backend.close();
+        assertFalse(new LogTriggerStoreBackend().getShas().contains("0123456789abcdef0123456789abcdef"));
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.store;
+
+import hudson.model.Fingerprint;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.registry.notification.TriggerStore;
+import org.jenkinsci.plugins.registry.notification.TriggerStore.TriggerEntry;
+import org.jenkinsci.plugins.registry.notification.TriggerStore.TriggerEntry.RunEntry;
+import org.jenkinsci.plugins.registry.notification.webhook.PushNotification;
+import org.jenkinsci.plugins.registry.notification.webhook.dockerhub.DockerHubWebHookPayload;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link TriggerRetention}.
+ */
+public class TriggerRetentionTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    private long maxAgeDays;
+    private int maxPerRepository;
+    private int scanSize;
+    private int batchSize;
+
+    @Before
+    public void remember() {
+        maxAgeDays = TriggerRetention.MAX_AGE_DAYS;
+        maxPerRepository = TriggerRetention.MAX_PER_REPOSITORY;
+        scanSize = TriggerRetention.SCAN_SIZE;
+        batchSize = TriggerRetention.BATCH_SIZE;
+    }
+
+    @After
+    public void restore() {
+        TriggerRetention.MAX_AGE_DAYS = maxAgeDays;
+        TriggerRetention.MAX_PER_REPOSITORY = maxPerRepository;
+        TriggerRetention.SCAN_SIZE = scanSize;
+        TriggerRetention.BATCH_SIZE = batchSize;
+    }
+
+    @Test
+    public void testSweep() throws Exception {
+        TriggerStore store = TriggerStore.getInstance();
+        String oldest = store(store, "cb/jenkins", true);
+        String older = store(store, "cb/jenkins", true);
+        String newest = store(store, "cb/jenkins", true);
+        String building = store(store, "cb/other", false);
+
+        TriggerRetention retention = TriggerRetention.getInstance();
+        assertNotNull(retention);
+
+        TriggerRetention.MAX_PER_REPOSITORY = 1;
+        TriggerRetention.Sweep sweep = retention.sweep(store, System.currentTimeMillis());
+        assertEquals(2, sweep.getRecords());
+        assertThat(sweep.getBytes(), greaterThan(0L));
+        assertNull(store.getEntry(oldest));
+        assertNull(store.getEntry(older));
+        assertNotNull(store.getEntry(newest));
+
+        TriggerRetention.MAX_PER_REPOSITORY = 0;
+        TriggerRetention.MAX_AGE_DAYS = 1;
+        sweep = retention.sweep(store, System.currentTimeMillis() + TimeUnit.DAYS.toMillis(2));
+        assertEquals(1, sweep.getRecords());
+        assertNull(store.getEntry(newest));
+        // not done yet
+        assertNotNull(store.getEntry(building));
+        assertEquals(sweep, retention.getLastSweep());
+    }
+
+    @Test
+    public void testSweepIsIncremental() throws Exception {
+        TriggerStore store = TriggerStore.getInstance();
+        String one = store(store, "cb/jenkins", true);
+        String two = store(store, "cb/jenkins", true);
+        String three = store(store, "cb/jenkins", true);
+
+        TriggerRetention retention = TriggerRetention.getInstance();
+        TriggerRetention.MAX_AGE_DAYS = 1;
+        TriggerRetention.SCAN_SIZE = 2;
+        TriggerRetention.BATCH_SIZE = 1;
+        long later = System.currentTimeMillis() + TimeUnit.DAYS.toMillis(2);
+        assertEquals(2, retention.sweep(store, later).getRecords());
+        // continues where the last run stopped
+        assertEquals(1, retention.sweep(store, later).getRecords());
+        assertNull(store.getEntry(one));
+        assertNull(store.getEntry(two));
+        assertNull(store.getEntry(three));
+    }
+
+    @Test
+    public void testSweepKeepsUsedFingerprint() throws Exception {
+        TriggerStore store = TriggerStore.getInstance();
+        String used = store(store, "cb/jenkins", true);
+        String unused = store(store, "cb/jenkins", true);
+        // the same id is also fingerprinted as an artifact of a build
+        Fingerprint fingerprint = Jenkins.get().getFingerprintMap().get(used);
+        assertNotNull(fingerprint);
+        fingerprint.add("some-job", 1);
+        fingerprint.save();
+
+        TriggerRetention.MAX_AGE_DAYS = 1;
+        TriggerRetention.Sweep sweep = TriggerRetention.getInstance().sweep(store, System.currentTimeMillis() + TimeUnit.DAYS.toMillis(2));
+        assertEquals(2, sweep.getRecords());
+
+        // as stored, not as cached
+        Fingerprint reloaded = Fingerprint.load(used);
+        assertNotNull(reloaded);
+        assertNull(reloaded.getFacet(TriggerEntry.class));
+        assertTrue(reloaded.getJobs().contains("some-job"));
+        assertNull(Fingerprint.load(unused));
+
+        // nothing left to delete
+        assertEquals(0, TriggerRetention.getInstance().sweep(store, System.currentTimeMillis() + TimeUnit.DAYS.toMillis(2)).getRecords());
+    }
+
+    private static String store(TriggerStore store, String repoName, boolean done) throws Exception {
+        Thread.sleep(5); // the sha is based on when the push was received
+        PushNotification push = new DockerHubWebHookPayload(repoName).getPushNotifications().get(0);
+        TriggerEntry entry = store.getBackend().getOrCreate(push, push.sha());
+        RunEntry run = new RunEntry("one", "1");
+        run.setDone(done);
+        entry.putEntry(run);
+        store.save(entry);
+        return push.sha();
+    }
+}
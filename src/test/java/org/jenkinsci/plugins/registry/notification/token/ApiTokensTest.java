@@ -0,0 +1,100 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.token;
+
+import net.sf.json.JSONObject;
+import org.apache.commons.io.IOUtils;
+import org.jenkinsci.plugins.registry.notification.webhook.Http;
+import org.jenkinsci.plugins.registry.notification.webhook.dockerregistry.DockerRegistryWebHook;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ApiTokens}.
+ */
+public class ApiTokensTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testMatching() throws Exception {
+        ApiTokens apiTokens = ApiTokens.get();
+        String one = apiTokens.generateApiToken("one").getString("value");
+        String two = apiTokens.generateApiToken("two").getString("value");
+        apiTokens.save();
+
+        assertTrue(apiTokens.isValidApiToken(one));
+        assertTrue(apiTokens.isValidApiToken(two));
+        assertFalse(apiTokens.isValidApiToken("0123456789abcdef0123456789abcdef"));
+        assertFalse(apiTokens.isValidApiToken(""));
+        assertEquals("two", apiTokens.findMatchingApiToken(two).getName());
+
+        ApiTokens loaded = new ApiTokens();
+        loaded.load();
+        assertTrue(loaded.isValidApiToken(one));
+        assertEquals("one", loaded.findMatchingApiToken(one).getName());
+        assertNull(loaded.findMatchingApiToken("0123456789abcdef0123456789abcdef"));
+    }
+
+    @Test
+    public void testUsage() throws Exception {
+        ApiTokens apiTokens = ApiTokens.get();
+        String token = apiTokens.generateApiToken("usage").getString("value");
+        String url = j.getURL() + DockerRegistryWebHook.URL_NAME + "/" + token + "/notify";
+        JSONObject json = JSONObject.fromObject(IOUtils.toString(getClass().getResourceAsStream("/private-registry-payload-1-repository.json"), StandardCharsets.UTF_8));
+        assertEquals(200, Http.post(url, json));
+        assertEquals(200, Http.post(url, json));
+
+        ApiTokens.HashedApiToken apiToken = apiTokens.findMatchingApiToken(token);
+        assertNotNull(apiToken);
+        assertNotNull(apiToken.getLastUsed());
+        assertEquals(2, apiToken.getRequests());
+        assertEquals(2, apiToken.getAccepted());
+        assertEquals(0, apiToken.getRejected());
+
+        apiTokens.flushUsage();
+        ApiTokens loaded = new ApiTokens();
+        loaded.load();
+        apiToken = loaded.findMatchingApiToken(token);
+        assertNotNull(apiToken);
+        assertEquals(2, apiToken.getRequests());
+        assertEquals(2, apiToken.getAccepted());
+        assertNotNull(apiToken.getLastUsed());
+
+        JenkinsRule.WebClient wc = j.createWebClient();
+        JSONObject stats = JSONObject.fromObject(wc.goTo("descriptorByName/" + ApiTokens.class.getName() + "/stats", "application/json")
+                                                   .getWebResponse().getContentAsString());
+        assertEquals(2, stats.getJSONArray("tokens").getJSONObject(0).getLong("requests"));
+    }
+}
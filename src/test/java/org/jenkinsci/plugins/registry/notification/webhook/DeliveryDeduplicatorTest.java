@@ -0,0 +1,155 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.webhook;
+
+import hudson.ExtensionList;
+import hudson.model.FreeStyleProject;
+import net.sf.json.JSONObject;
+import org.apache.commons.io.IOUtils;
+import org.jenkinsci.plugins.registry.notification.DockerHubTrigger;
+import org.jenkinsci.plugins.registry.notification.opt.impl.TriggerOnSpecifiedImageNames;
+import org.jenkinsci.plugins.registry.notification.token.ApiTokens;
+import org.jenkinsci.plugins.registry.notification.webhook.dockerregistry.DockerRegistryWebHook;
+import org.jenkinsci.plugins.registry.notification.webhook.dockerregistry.DockerRegistryWebHookPayload;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link DeliveryDeduplicator}.
+ */
+public class DeliveryDeduplicatorTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    private long window;
+
+    @Before
+    public void enable() {
+        window = DeliveryDeduplicator.WINDOW_MILLIS;
+        DeliveryDeduplicator.WINDOW_MILLIS = 60000;
+    }
+
+    @After
+    public void disable() {
+        DeliveryDeduplicator.WINDOW_MILLIS = window;
+    }
+
+    @Test
+    public void testRedeliveryIsIgnored() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        project.addTrigger(new DockerHubTrigger(new TriggerOnSpecifiedImageNames("registry:5000/jplock/zookeeper")));
+        String token = ApiTokens.get().generateApiToken("test").getString("value");
+        JSONObject json = JSONObject.fromObject(IOUtils.toString(getClass().getResourceAsStream("/private-registry-payload-1-repository.json"), StandardCharsets.UTF_8));
+        String url = j.getURL() + DockerRegistryWebHook.URL_NAME + "/" + token + "/notify";
+
+        assertEquals(200, Http.post(url, json));
+        j.waitUntilNoActivity();
+        assertEquals(200, Http.post(url, json));
+        j.waitUntilNoActivity();
+        assertEquals(1, project.getBuilds().size());
+    }
+
+    @Test
+    public void testRememberedWhenBurstTriggered() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        project.addTrigger(new DockerHubTrigger(new TriggerOnSpecifiedImageNames("registry:5000/jplock/zookeeper")));
+        DockerRegistryWebHook hook = ExtensionList.lookup(DockerRegistryWebHook.class).get(0);
+        DeliveryDeduplicator deduplicator = DeliveryDeduplicator.getInstance();
+        PushCoalescer coalescer = PushCoalescer.getInstance();
+        assertNotNull(deduplicator);
+        assertNotNull(coalescer);
+        PushNotification pushNotification = push();
+        long coalesce = PushCoalescer.WINDOW_MILLIS;
+        PushCoalescer.WINDOW_MILLIS = 60000;
+        try {
+            hook.trigger(pushNotification);
+            assertEquals(1, coalescer.getPendingCount());
+            assertFalse(deduplicator.isDuplicate(pushNotification));
+            coalescer.flush();
+            assertTrue(deduplicator.isDuplicate(pushNotification));
+        } finally {
+            PushCoalescer.WINDOW_MILLIS = coalesce;
+        }
+        j.waitUntilNoActivity();
+        assertEquals(1, project.getBuilds().size());
+    }
+
+    @Test
+    public void testReplayIsNotIgnored() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        project.addTrigger(new DockerHubTrigger(new TriggerOnSpecifiedImageNames("registry:5000/jplock/zookeeper")));
+        byte[] body = IOUtils.toByteArray(getClass().getResourceAsStream("/private-registry-payload-1-repository.json"));
+        DeliveryDeduplicator deduplicator = DeliveryDeduplicator.getInstance();
+        assertNotNull(deduplicator);
+        deduplicator.record(push());
+
+        WebHookJournal journal = new WebHookJournal();
+        journal.append(new WebHookDelivery(DockerRegistryWebHook.URL_NAME, null, body,
+                                           "application/json", "UTF-8", System.currentTimeMillis()));
+        journal.close();
+        journal = new WebHookJournal();
+        journal.replay();
+        j.waitUntilNoActivity();
+        assertEquals(1, project.getBuilds().size());
+        journal.close();
+    }
+
+    private PushNotification push() throws Exception {
+        PushNotification pushNotification = new DockerRegistryWebHookPayload(JSONObject.fromObject(
+                IOUtils.toString(getClass().getResourceAsStream("/private-registry-payload-1-repository.json"), StandardCharsets.UTF_8)))
+                .getPushNotifications().get(0);
+        assertNotNull(pushNotification.getDeliveryKey());
+        return pushNotification;
+    }
+
+    @Test
+    public void testSurvivesRestart() throws Exception {
+        PushNotification pushNotification = new DockerRegistryWebHookPayload(JSONObject.fromObject(
+                IOUtils.toString(getClass().getResourceAsStream("/private-registry-payload-1-repository.json"), StandardCharsets.UTF_8)))
+                .getPushNotifications().get(0);
+        assertNotNull(pushNotification.getDeliveryKey());
+
+        DeliveryDeduplicator deduplicator = new DeliveryDeduplicator();
+        assertFalse(deduplicator.isDuplicate(pushNotification));
+        assertFalse("Only triggered pushes are remembered", deduplicator.isDuplicate(pushNotification));
+        deduplicator.record(pushNotification);
+        assertTrue(deduplicator.isDuplicate(pushNotification));
+        deduplicator.save();
+
+        deduplicator = new DeliveryDeduplicator();
+        assertTrue(deduplicator.isDuplicate(pushNotification));
+        assertEquals(1, deduplicator.size());
+    }
+}
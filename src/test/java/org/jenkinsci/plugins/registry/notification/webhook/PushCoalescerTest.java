@@ -0,0 +1,101 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.webhook;
+
+import hudson.ExtensionList;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.model.TaskListener;
+import org.jenkinsci.plugins.registry.notification.DockerHubTrigger;
+import org.jenkinsci.plugins.registry.notification.opt.impl.TriggerOnSpecifiedImageNames;
+import org.jenkinsci.plugins.registry.notification.webhook.dockerregistry.DockerRegistryPushNotification;
+import org.jenkinsci.plugins.registry.notification.webhook.dockerregistry.DockerRegistryWebHook;
+import org.jenkinsci.plugins.registry.notification.webhook.dockerregistry.DockerRegistryWebHookPayload;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests for {@link PushCoalescer}.
+ */
+public class PushCoalescerTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    private long window;
+
+    @Before
+    public void enable() {
+        window = PushCoalescer.WINDOW_MILLIS;
+        PushCoalescer.WINDOW_MILLIS = 1000;
+    }
+
+    @After
+    public void disable() {
+        PushCoalescer.WINDOW_MILLIS = window;
+    }
+
+    @Test
+    public void testBurstTriggersOnce() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        project.addTrigger(new DockerHubTrigger(new TriggerOnSpecifiedImageNames("registry:5000/cb/jenkins")));
+        DockerRegistryWebHook hook = ExtensionList.lookup(DockerRegistryWebHook.class).get(0);
+
+        for (String tag : new String[]{"1.0", "latest", "1.0", "sha-abc"}) {
+            hook.trigger(push("registry:5000/cb/jenkins", tag));
+        }
+        PushCoalescer coalescer = PushCoalescer.getInstance();
+        assertNotNull(coalescer);
+        assertEquals(1, coalescer.getPendingCount());
+        while (coalescer.getPendingCount() > 0) {
+            Thread.sleep(100);
+        }
+        j.waitUntilNoActivity();
+
+        assertEquals(1, project.getBuilds().size());
+        FreeStyleBuild build = project.getLastBuild();
+        WebHookCause cause = build.getCause(WebHookCause.class);
+        assertNotNull(cause);
+        assertEquals("sha-abc", cause.getPushNotification().getTag());
+        assertEquals("1.0,latest,sha-abc", build.getEnvironment(TaskListener.NULL).get(PushNotification.KEY_TAGS));
+    }
+
+    private static PushNotification push(String repoName, final String tag) {
+        DockerRegistryWebHookPayload payload = new DockerRegistryWebHookPayload(Collections.<RegistryEventDecoder.Event>emptyList());
+        DockerRegistryPushNotification pushNotification = new DockerRegistryPushNotification(payload, repoName);
+        pushNotification.setTag(tag);
+        pushNotification.setRegistryHost("registry:5000");
+        pushNotification.setPushedAt(new Date());
+        return pushNotification;
+    }
+}
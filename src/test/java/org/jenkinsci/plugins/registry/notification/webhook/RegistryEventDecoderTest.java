@@ -0,0 +1,116 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.webhook;
+
+import net.sf.json.JSONObject;
+import org.jenkinsci.plugins.registry.notification.webhook.acr.ACRWebHookPayload;
+import org.jenkinsci.plugins.registry.notification.webhook.dockerregistry.DockerRegistryWebHookPayload;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link RegistryEventDecoder}.
+ */
+public class RegistryEventDecoderTest {
+
+    @Test
+    public void testSkipsBlobs() throws Exception {
+        List<RegistryEventDecoder.Event> events = decodeEnvelope("/private-registry-payload-blob-1-repository.json");
+        assertThat(events, hasSize(1));
+        RegistryEventDecoder.Event event = events.get(0);
+        assertEquals("push", event.getAction());
+        assertEquals("jplock/zookeeper", event.getRepository());
+        assertEquals("registry:5000", event.getHost());
+        assertEquals("2015-10-06T13:00:54.450615408Z", event.getTimestamp());
+        assertEquals("sha256:55d2be3e073109b6dfa68aa6ffbce9f5441ab8dd451834eaf0e81874a0b1b720", event.getDigest());
+        assertFalse(event.isBlob());
+    }
+
+    @Test
+    public void testSameAsJsonObject() throws Exception {
+        for (String resource : new String[]{"/private-registry-payload-2-repositories.json",
+                "/private-registry-payload-blob-1-repository.json", "/private-registry-payload-pull-1-repository.json"}) {
+            DockerRegistryWebHookPayload streamed = new DockerRegistryWebHookPayload(decodeEnvelope(resource));
+            DockerRegistryWebHookPayload full;
+            try (InputStream in = getClass().getResourceAsStream(resource)) {
+                full = new DockerRegistryWebHookPayload(JSONObject.fromObject(new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+            }
+            assertEquals(resource, full.getPushNotifications().size(), streamed.getPushNotifications().size());
+            for (int i = 0; i < full.getPushNotifications().size(); i++) {
+                assertEquals(resource, full.getPushNotifications().get(i).getRepoName(), streamed.getPushNotifications().get(i).getRepoName());
+                assertEquals(resource, full.getPushNotifications().get(i).getPushedAt(), streamed.getPushNotifications().get(i).getPushedAt());
+            }
+        }
+    }
+
+    @Test
+    public void testSingleEvent() throws Exception {
+        RegistryEventDecoder.Event event;
+        try (InputStream in = getClass().getResourceAsStream("/acr-payload-valid.json")) {
+            event = RegistryEventDecoder.decodeEvent(in, null);
+        }
+        assertNotNull(event);
+        ACRWebHookPayload payload = new ACRWebHookPayload(event);
+        assertThat(payload.getPushNotifications(), hasSize(1));
+        assertEquals("myregistry.azurecr.io/hello-world", payload.getPushNotifications().get(0).getRepoName());
+        assertNotNull(payload.getData());
+        assertEquals("v1", payload.getData().getJSONObject("target").getString("tag"));
+    }
+
+    @Test
+    public void testIgnoresUnknownStructures() throws Exception {
+        String json = "{\"version\":[1,{\"a\":null}],\"events\":[{\"id\":\"1\",\"action\":\"push\",\"actor\":{\"name\":[\"x\"]},"
+                + "\"target\":{\"repository\":\"a/b\",\"url\":\"http://host:5000/v2/a/b/manifests/latest\",\"tag\":null,"
+                + "\"references\":[{\"digest\":\"x\"}]},\"request\":{\"host\":\"host:5000\",\"useragent\":{}}}]}";
+        List<RegistryEventDecoder.Event> events = RegistryEventDecoder.decodeEnvelope(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "UTF-8");
+        assertThat(events, hasSize(1));
+        assertEquals("a/b", events.get(0).getRepository());
+        assertNull(events.get(0).getTag());
+        assertEquals("host:5000", events.get(0).getHost());
+    }
+
+    @Test(expected = IOException.class)
+    public void testNotAnObject() throws Exception {
+        RegistryEventDecoder.decodeEnvelope(new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    private List<RegistryEventDecoder.Event> decodeEnvelope(String resource) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(resource)) {
+            return RegistryEventDecoder.decodeEnvelope(in, null);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.webhook;
+
+import net.sf.json.JSONObject;
+import org.apache.commons.io.IOUtils;
+import org.jenkinsci.plugins.registry.notification.token.ApiTokens;
+import org.jenkinsci.plugins.registry.notification.webhook.dockerregistry.DockerRegistryWebHook;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link WebHookIngest}.
+ */
+public class WebHookIngestTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    private boolean enabled;
+    private int queueSize;
+    private int workers;
+    private int maxBodyBytes;
+
+    @Before
+    public void enable() {
+        enabled = WebHookIngest.ENABLED;
+        queueSize = WebHookIngest.QUEUE_SIZE;
+        workers = WebHookIngest.WORKERS;
+        maxBodyBytes = WebHookIngest.MAX_BODY_BYTES;
+        WebHookIngest.ENABLED = true;
+    }
+
+    @After
+    public void disable() {
+        WebHookIngest.ENABLED = enabled;
+        WebHookIngest.QUEUE_SIZE = queueSize;
+        WebHookIngest.WORKERS = workers;
+        WebHookIngest.MAX_BODY_BYTES = maxBodyBytes;
+    }
+
+    @Test
+    public void testQueueFull() throws Exception {
+        WebHookIngest.QUEUE_SIZE = 1;
+        WebHookIngest.WORKERS = 1;
+        WebHookIngest ingest = WebHookIngest.getInstance();
+        assertNotNull(ingest);
+        final CountDownLatch release = new CountDownLatch(1);
+        // keeps the only worker busy
+        assertTrue(ingest.submit(new DockerRegistryWebHook() {
+            @Override
+            void process(WebHookDelivery delivery, WebHookJournal.Completion completion) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, new WebHookDelivery(DockerRegistryWebHook.URL_NAME, "{}", null, null, null, System.currentTimeMillis()), -1, false));
+
+        String url = url();
+        String payload = payload();
+        try {
+            assertEquals(202, post(url, payload).getResponseCode());
+            HttpURLConnection rejected = post(url, payload);
+            assertEquals(429, rejected.getResponseCode());
+            assertEquals(String.valueOf(WebHookIngest.RETRY_AFTER_SECONDS), rejected.getHeaderField("Retry-After"));
+        } finally {
+            release.countDown();
+        }
+        j.waitUntilNoActivity();
+    }
+
+    @Test
+    public void testTooLarge() throws Exception {
+        String payload = payload();
+        WebHookIngest.MAX_BODY_BYTES = payload.length() - 1;
+        assertEquals(413, post(url(), payload).getResponseCode());
+        assertEquals(0, WebHookIngest.getInstance().getQueueLength());
+    }
+
+    private String url() throws Exception {
+        String token = ApiTokens.get().generateApiToken("test").getString("value");
+        return j.getURL() + DockerRegistryWebHook.URL_NAME + "/" + token + "/notify";
+    }
+
+    private String payload() throws Exception {
+        return JSONObject.fromObject(IOUtils.toString(getClass().getResourceAsStream("/private-registry-payload-1-repository.json"),
+                                                      StandardCharsets.UTF_8)).toString();
+    }
+
+    private static HttpURLConnection post(String url, String payload) throws Exception {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/json");
+        byte[] body = payload.getBytes(StandardCharsets.UTF_8);
+        connection.setFixedLengthStreamingMode(body.length);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body);
+        }
+        return connection;
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.registry.notification.webhook;
+
+import hudson.ExtensionList;
+import hudson.model.FreeStyleProject;
+import org.apache.commons.io.IOUtils;
+import org.jenkinsci.plugins.registry.notification.DockerHubTrigger;
+import org.jenkinsci.plugins.registry.notification.opt.impl.TriggerOnSpecifiedImageNames;
+import org.jenkinsci.plugins.registry.notification.webhook.dockerregistry.DockerRegistryWebHook;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link WebHookJournal}.
+ */
+public class WebHookJournalTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testReplayUnfinished() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        project.addTrigger(new DockerHubTrigger(new TriggerOnSpecifiedImageNames("registry:5000/jplock/zookeeper")));
+        byte[] body = IOUtils.toByteArray(getClass().getResourceAsStream("/private-registry-payload-1-repository.json"));
+
+        WebHookJournal journal = new WebHookJournal();
+        long id = journal.append(new WebHookDelivery(DockerRegistryWebHook.URL_NAME, null, body,
+                                                     "application/json", "UTF-8", System.currentTimeMillis()));
+        journal.close();
+        assertNull(project.getLastBuild());
+
+        // as if Jenkins was restarted before the delivery was processed
+        journal = new WebHookJournal();
+        journal.replay();
+        j.waitUntilNoActivity();
+        assertNotNull(project.getLastBuild());
+        assertEquals(1, project.getLastBuild().getNumber());
+        long next = journal.append(new WebHookDelivery("unknown-webhook", "{}", null, null, null, 0));
+        assertEquals(id + 1, next);
+        journal.markDone(next);
+        journal.close();
+
+        journal = new WebHookJournal();
+        journal.replay();
+        j.waitUntilNoActivity();
+        assertEquals(1, project.getLastBuild().getNumber());
+        journal.close();
+    }
+
+    @Test
+    public void testCoalescedDoneWhenBurstTriggered() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        project.addTrigger(new DockerHubTrigger(new TriggerOnSpecifiedImageNames("registry:5000/jplock/zookeeper")));
+        byte[] body = IOUtils.toByteArray(getClass().getResourceAsStream("/private-registry-payload-1-repository.json"));
+        DockerRegistryWebHook hook = ExtensionList.lookup(DockerRegistryWebHook.class).get(0);
+        PushCoalescer coalescer = PushCoalescer.getInstance();
+        assertNotNull(coalescer);
+        long window = PushCoalescer.WINDOW_MILLIS;
+        PushCoalescer.WINDOW_MILLIS = 60000;
+        try {
+            final List<Long> done = new CopyOnWriteArrayList<>();
+            WebHookJournal journal = new WebHookJournal() {
+                @Override
+                public void markDone(long id) {
+                    done.add(id);
+                    super.markDone(id);
+                }
+            };
+            long id = process(hook, journal, new WebHookDelivery(DockerRegistryWebHook.URL_NAME, null, body,
+                                                                 "application/json", "UTF-8", System.currentTimeMillis()));
+            assertEquals(1, coalescer.getPendingCount());
+            assertTrue("Must not be done before the burst is triggered", done.isEmpty());
+
+            coalescer.flush();
+            assertEquals(Collections.singletonList(id), done);
+            j.waitUntilNoActivity();
+            assertEquals(1, project.getBuilds().size());
+            journal.close();
+
+            journal = new WebHookJournal();
+            journal.replay();
+            assertEquals(0, coalescer.getPendingCount());
+            j.waitUntilNoActivity();
+            assertEquals(1, project.getBuilds().size());
+            journal.close();
+        } finally {
+            PushCoalescer.WINDOW_MILLIS = window;
+        }
+    }
+
+    /**
+     * Journals and processes the delivery like {@link WebHookIngest} does.
+     *
+     * @return the id of the delivery in the journal
+     */
+    private static long process(JSONWebHook hook, WebHookJournal journal, WebHookDelivery delivery) throws Exception {
+        long id = journal.append(delivery);
+        WebHookJournal.Completion completion = new WebHookJournal.Completion(journal, id, false);
+        try {
+            hook.process(delivery, completion);
+        } finally {
+            completion.release();
+        }
+        return id;
+    }
+
+    @Test
+    public void testDoneSegmentsAreDeleted() throws Exception {
+        WebHookJournal journal = new WebHookJournal();
+        long old = WebHookJournal.SEGMENT_SIZE;
+        WebHookJournal.SEGMENT_SIZE = 1;
+        try {
+            for (int i = 0; i < 5; i++) {
+                long id = journal.append(new WebHookDelivery("unknown-webhook", "{}", null, null, null, 0));
+                journal.markDone(id);
+            }
+            // one more write so that the last done marker has been written and old segments collected
+            journal.markDone(journal.append(new WebHookDelivery("unknown-webhook", "{}", null, null, null, 0)));
+            journal.close();
+        } finally {
+            WebHookJournal.SEGMENT_SIZE = old;
+        }
+        File[] segments = journal.getDirectory().listFiles();
+        assertNotNull(segments);
+        assertTrue("Only the latest segments should be left but found " + segments.length, segments.length <= 2);
+    }
+}